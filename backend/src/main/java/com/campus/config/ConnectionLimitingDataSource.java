@@ -0,0 +1,124 @@
+package com.campus.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Lets at most a fixed number of connections be checked out at once; further callers
+ * wait on a fair semaphore, in arrival order, until a connection is closed or the
+ * timeout runs out. Meant to sit in front of the connection pool when requests run
+ * on virtual threads, whose number is no longer bounded by the servlet thread pool.
+ * <p>
+ * Hikari already caps connections, but it does not promise to serve waiters in
+ * arrival order. This gate is strictly first come, first served, can be given a lower
+ * limit or a shorter timeout than the pool, and exposes how many callers are waiting.
+ * A caller that times out gets {@link SQLTransientConnectionException}, which the
+ * web layer answers with 503 and {@code Retry-After}.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+	private final int maxConnections;
+	private final long timeoutMs;
+
+	public ConnectionLimitingDataSource(DataSource target, int maxConnections, long timeoutMs) {
+		super(target);
+		this.permits = new Semaphore(maxConnections, true);
+		this.maxConnections = maxConnections;
+		this.timeoutMs = timeoutMs;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return guard(() -> super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return guard(() -> super.getConnection(username, password));
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public int getActiveConnections() {
+		return maxConnections - permits.availablePermits();
+	}
+
+	public int getWaitingThreads() {
+		return permits.getQueueLength();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException("No database connection available within " + timeoutMs + " ms ("
+						+ maxConnections + " in use, " + permits.getQueueLength() + " waiting)");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+		}
+	}
+
+	/**
+	 * Open a connection whose close() hands the permit back exactly once; the permit
+	 * is returned right away when opening fails.
+	 */
+	private Connection guard(ConnectionOpener opener) throws SQLException {
+		Connection connection;
+		try {
+			connection = opener.open();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(), new Class<?>[] { ConnectionProxy.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "equals":
+							return proxy == args[0];
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "getTargetConnection":
+							return connection;
+						case "close":
+							try {
+								connection.close();
+							} finally {
+								if (released.compareAndSet(false, true)) {
+									permits.release();
+								}
+							}
+							return null;
+						default:
+							break;
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+				});
+	}
+
+	@FunctionalInterface
+	private interface ConnectionOpener {
+		Connection open() throws SQLException;
+	}
+}
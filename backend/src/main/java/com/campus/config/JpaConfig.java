@@ -1,9 +1,112 @@
 package com.campus.config;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.type.SqlTypes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import com.campus.util.IdGenerator;
+
 @Configuration
 @EnableJpaAuditing
 public class JpaConfig {
+
+	// Group inserts/updates into JDBC batches, e.g. for recurring bookings
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jpa.batch-size:50}") int batchSize) {
+		return properties -> {
+			properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+			properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+			properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+		};
+	}
+
+	/**
+	 * Ids for new entities (through IdAssigner) and other generated references. The
+	 * default, v7, keeps inserts at the right edge of the primary-key index; v4 gives
+	 * random ids.
+	 */
+	@Bean
+	public IdGenerator idGenerator(@Value("${app.ids.generator:v7}") String generator) {
+		return IdGenerator.of(generator);
+	}
+
+	/**
+	 * Column type for every UUID id and reference: CHAR (36-character text, the
+	 * historical layout) or BINARY (16 bytes). Existing CHAR schemas have to be
+	 * converted with {@link UuidStorageMigration} before switching to BINARY. In CHAR
+	 * mode every UUID column is declared as char(36) explicitly, as the entities'
+	 * columnDefinition used to, rather than left to the dialect's default length.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer uuidStorageCustomizer(@Value("${app.jpa.uuid-storage:CHAR}") String uuidStorage) {
+		return switch (uuidStorage.toUpperCase()) {
+			case "CHAR" -> properties -> {
+				properties.putIfAbsent(AvailableSettings.PREFERRED_UUID_JDBC_TYPE, SqlTypes.CHAR);
+				properties.putIfAbsent(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new CharUuidColumns()));
+			};
+			case "BINARY" -> properties -> properties.putIfAbsent(AvailableSettings.PREFERRED_UUID_JDBC_TYPE, SqlTypes.BINARY);
+			default -> throw new IllegalStateException("app.jpa.uuid-storage must be CHAR or BINARY, got " + uuidStorage);
+		};
+	}
+
+	/**
+	 * Pins the SQL type of every UUID column to char(36) before the schema is created,
+	 * validated or updated.
+	 */
+	static final class CharUuidColumns implements Integrator {
+
+		static final String SQL_TYPE = "char(36)";
+
+		@Override
+		public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+			for (PersistentClass entity : metadata.getEntityBindings()) {
+				List<Property> properties = new ArrayList<>(entity.getPropertyClosure());
+				if (entity.getIdentifierProperty() != null) {
+					properties.add(entity.getIdentifierProperty());
+				}
+				for (Property property : properties) {
+					if (property.getType().getReturnedClass() == UUID.class) {
+						property.getColumns().forEach(column -> column.setSqlType(SQL_TYPE));
+					}
+				}
+			}
+		}
+	}
+
+	// Tighten the column before Hibernate maps it to an int
+	@Configuration(proxyBeanMethods = false)
+	static class TokenVersionColumnMigrationDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+		TokenVersionColumnMigrationDependency() {
+			super(TokenVersionColumnMigration.class);
+		}
+	}
+
+	// Convert the schema before Hibernate starts using it
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(name = "app.jpa.uuid-migration.enabled", havingValue = "true")
+	static class UuidStorageMigrationDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+		UuidStorageMigrationDependency() {
+			super(UuidStorageMigration.class);
+		}
+	}
 }
@@ -0,0 +1,83 @@
+package com.campus.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.campus.event.BookingEventBroadcaster;
+import com.campus.security.BoundedPasswordEncoder;
+import com.campus.security.InMemoryRateLimitStore;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/**
+ * Micrometer wiring. Service classes annotated with {@code @Timed} are timed per
+ * method, Spring Data records every repository call as
+ * {@code spring.data.repository.invocations}, and both publish percentile
+ * histograms. Everything is scraped from {@code /actuator/prometheus}, which the
+ * {@code metrics} profile exposes on the management port to a scrape account.
+ */
+@Configuration
+public class MetricsConfig {
+
+	private static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+
+	@Bean
+	public MeterFilter repositoryHistogramFilter() {
+		return new MeterFilter() {
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (!id.getName().equals(REPOSITORY_INVOCATIONS)) {
+					return config;
+				}
+				return DistributionStatisticConfig.builder()
+						.percentilesHistogram(true)
+						.build()
+						.merge(config);
+			}
+		};
+	}
+
+	// Queues and pools of our own that add latency before any timer starts
+	@Bean
+	public MeterBinder campusPoolMetrics(BoundedPasswordEncoder passwordEncoder, BookingEventBroadcaster broadcaster,
+			ObjectProvider<InMemoryRateLimitStore> rateLimitStore) {
+		return registry -> {
+			Gauge.builder("campus.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+					.description("Password hashes waiting for a worker")
+					.register(registry);
+			Gauge.builder("campus.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveHashes)
+					.description("Password hashes in progress")
+					.register(registry);
+			passwordEncoder.recordHashesWith(Timer.builder("campus.password.hash")
+					.description("Time spent computing one password hash")
+					.publishPercentileHistogram()
+					.register(registry));
+			FunctionCounter.builder("campus.password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+					.description("Password hashes refused because the queue was full")
+					.register(registry);
+			Gauge.builder("campus.events.subscribers", broadcaster, BookingEventBroadcaster::subscriberCount)
+					.description("Open server-sent event streams")
+					.register(registry);
+			Gauge.builder("campus.events.fanout.queued", broadcaster, BookingEventBroadcaster::getQueueDepth)
+					.description("Subscriber deliveries waiting for a fan-out worker")
+					.register(registry);
+			rateLimitStore.ifAvailable(store -> Gauge.builder("campus.rate-limit.keys", store, InMemoryRateLimitStore::size)
+					.description("Token buckets held in memory")
+					.register(registry));
+		};
+	}
+}
@@ -0,0 +1,35 @@
+package com.campus.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * users.token_version was first added as a nullable column, which schema updates do
+ * not tighten. Before the EntityManagerFactory starts (see {@link JpaConfig}), fill in
+ * the missing versions and make the column NOT NULL DEFAULT 0 on MySQL. Does nothing
+ * when the column is already NOT NULL or does not exist yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionColumnMigration implements InitializingBean {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void afterPropertiesSet() {
+		Integer nullable = jdbcTemplate.queryForObject("select count(*) from information_schema.columns "
+				+ "where table_schema = database() and table_name = 'users' and column_name = 'token_version' "
+				+ "and is_nullable = 'YES'", Integer.class);
+		if (nullable == null || nullable == 0) {
+			return;
+		}
+		int filled = jdbcTemplate.update("update users set token_version = 0 where token_version is null");
+		jdbcTemplate.execute("alter table users modify column token_version int not null default 0");
+		log.info("Made users.token_version NOT NULL, {} rows set to 0", filled);
+	}
+}
@@ -0,0 +1,348 @@
+package com.campus.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off conversion of the CHAR(36) UUID columns to BINARY(16) on MySQL 8. It runs
+ * before the EntityManagerFactory starts (see {@link JpaConfig}) and is idempotent:
+ * every column is judged by its own current type, so a run that stopped part-way
+ * resumes where it left off and the flag can stay on until every environment has
+ * been migrated.
+ * <p>
+ * Foreign keys on the converted columns are recorded in a holding table and dropped
+ * first, then recreated once every table is converted. Each table is converted by
+ * filling a shadow column per CHAR column in primary-key ranges of {@code chunkSize}
+ * rows, then swapping the columns, the primary key and the secondary indexes that
+ * covered them in one ALTER TABLE, which MySQL 8 applies atomically. Run it in a
+ * maintenance window: the swap rebuilds the table.
+ * <p>
+ * The schema is read through JDBC metadata rather than MySQL's information_schema,
+ * so the conversion also runs on H2 in MySQL mode, which the tests use. H2 cannot
+ * combine clauses in one ALTER TABLE and gets the swap one statement at a time.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jpa.uuid-migration.enabled", havingValue = "true")
+public class UuidStorageMigration implements InitializingBean {
+
+	private static final String SHADOW_SUFFIX = "__bin";
+
+	// Foreign keys dropped for the conversion, kept here until they are recreated
+	private static final String FOREIGN_KEY_TABLE = "uuid_migration_foreign_keys";
+
+	// UUID columns per table; the first one is the primary key
+	private static final Map<String, List<String>> UUID_COLUMNS = new LinkedHashMap<>();
+
+	static {
+		UUID_COLUMNS.put("users", List.of("id", "advisor_id"));
+		UUID_COLUMNS.put("resources", List.of("id"));
+		UUID_COLUMNS.put("bookings", List.of("id", "user_id", "resource_id", "staff_approved_by", "admin_approved_by", "decision_id"));
+		UUID_COLUMNS.put("booking_status_history", List.of("id", "booking_id", "changed_by"));
+		UUID_COLUMNS.put("otp_tokens", List.of("id"));
+		UUID_COLUMNS.put("refresh_tokens", List.of("id", "user_id", "family_id"));
+		UUID_COLUMNS.put("usage_ledger", List.of("id", "user_id"));
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String uuidStorage;
+	private final int chunkSize;
+
+	public UuidStorageMigration(
+			JdbcTemplate jdbcTemplate,
+			@Value("${app.jpa.uuid-storage:CHAR}") String uuidStorage,
+			@Value("${app.jpa.uuid-migration.chunk-size:5000}") int chunkSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.uuidStorage = uuidStorage;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!"BINARY".equalsIgnoreCase(uuidStorage)) {
+			throw new IllegalStateException("app.jpa.uuid-migration.enabled requires app.jpa.uuid-storage=BINARY");
+		}
+		boolean atomicAlter = "MySQL".equals(jdbcTemplate.execute(
+				(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+		parkForeignKeys();
+		UUID_COLUMNS.forEach((table, columns) -> migrateTable(table, columns, atomicAlter));
+		restoreForeignKeys();
+	}
+
+	private void migrateTable(String table, List<String> uuidColumns, boolean atomicAlter) {
+		Map<String, ColumnState> columns = columnStates(table);
+		List<String> pending = uuidColumns.stream()
+				.filter(column -> columns.containsKey(column) && columns.get(column).isChar())
+				.toList();
+		if (pending.isEmpty()) {
+			return;
+		}
+		String primaryKey = uuidColumns.get(0);
+		log.info("Converting {}.{} to BINARY(16)", table, pending);
+
+		List<IndexDefinition> indexes = secondaryIndexesCovering(table, primaryKey, Set.copyOf(pending));
+
+		addShadowColumns(table, pending, columns.keySet());
+		long rows = fillShadowColumns(table, primaryKey, pending);
+
+		List<String> changes = new ArrayList<>();
+		for (IndexDefinition index : indexes) {
+			changes.add("drop index " + index.name());
+		}
+		for (String column : pending) {
+			changes.add("drop column " + column);
+		}
+		for (String column : pending) {
+			String definition = " binary(16)" + (columns.get(column).nullable() ? " null" : " not null");
+			changes.add("change column " + column + SHADOW_SUFFIX + " " + column + definition);
+			if (!atomicAlter) {
+				// H2 keeps the shadow column's nullability through the rename
+				changes.add("modify column " + column + definition);
+			}
+		}
+		if (pending.contains(primaryKey)) {
+			changes.add("add primary key (" + primaryKey + ")");
+		}
+		for (IndexDefinition index : indexes) {
+			changes.add("add " + (index.unique() ? "unique " : "") + "index " + index.name()
+					+ " (" + String.join(", ", index.columns()) + ")");
+		}
+		if (atomicAlter) {
+			jdbcTemplate.execute("alter table " + table + " " + String.join(", ", changes));
+		} else {
+			changes.forEach(change -> jdbcTemplate.execute("alter table " + table + " " + change));
+		}
+		log.info("Converted {} rows of {}", rows, table);
+	}
+
+	private Map<String, ColumnState> columnStates(String table) {
+		return withMetaData(metaData -> {
+			Map<String, ColumnState> columns = new LinkedHashMap<>();
+			try (ResultSet rs = metaData.getColumns(catalog(metaData), schema(metaData), table, null)) {
+				while (rs.next()) {
+					columns.put(rs.getString("COLUMN_NAME").toLowerCase(), new ColumnState(rs.getInt("DATA_TYPE"),
+							rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+				}
+			}
+			return columns;
+		});
+	}
+
+	/**
+	 * Secondary indexes with at least one of the given columns; the primary key's own
+	 * index, reported under a different name by each database, is left out.
+	 */
+	private List<IndexDefinition> secondaryIndexesCovering(String table, String primaryKey, Set<String> columns) {
+		Map<String, IndexDefinition> indexes = new LinkedHashMap<>();
+		withMetaData(metaData -> {
+			try (ResultSet rs = metaData.getIndexInfo(catalog(metaData), schema(metaData), table, false, false)) {
+				while (rs.next()) {
+					String name = rs.getString("INDEX_NAME");
+					if (name == null) {
+						continue;
+					}
+					boolean unique = !rs.getBoolean("NON_UNIQUE");
+					indexes.computeIfAbsent(name, key -> new IndexDefinition(key, unique, new ArrayList<>()))
+							.columns().add(rs.getString("COLUMN_NAME").toLowerCase());
+				}
+			}
+			return null;
+		});
+		return indexes.values().stream()
+				.filter(index -> !(index.unique() && index.columns().equals(List.of(primaryKey))))
+				.filter(index -> index.columns().stream().anyMatch(columns::contains))
+				.toList();
+	}
+
+	private void addShadowColumns(String table, List<String> columns, Set<String> existing) {
+		for (String column : columns) {
+			// Left over from an interrupted run, it is simply refilled
+			if (!existing.contains(column + SHADOW_SUFFIX)) {
+				jdbcTemplate.execute("alter table " + table + " add column " + column + SHADOW_SUFFIX + " binary(16) null");
+			}
+		}
+	}
+
+	/**
+	 * Copy every pending UUID column into its shadow column, walking the primary key
+	 * so each statement touches at most {@code chunkSize} rows and is index-bounded.
+	 * The key is walked in whatever type it currently has: bounds are read and bound
+	 * back as returned by the driver, and the first chunk has no lower bound at all.
+	 */
+	private long fillShadowColumns(String table, String primaryKey, List<String> columns) {
+		String assignments = columns.stream()
+				.map(column -> column + SHADOW_SUFFIX + " = uuid_to_bin(" + column + ")")
+				.collect(Collectors.joining(", "));
+		String firstBound = "select max(" + primaryKey + ") from (select " + primaryKey + " from " + table
+				+ " order by " + primaryKey + " limit " + chunkSize + ") chunk";
+		String nextBound = "select max(" + primaryKey + ") from (select " + primaryKey + " from " + table
+				+ " where " + primaryKey + " > ? order by " + primaryKey + " limit " + chunkSize + ") chunk";
+		String firstUpdate = "update " + table + " set " + assignments + " where " + primaryKey + " <= ?";
+		String nextUpdate = "update " + table + " set " + assignments
+				+ " where " + primaryKey + " > ? and " + primaryKey + " <= ?";
+
+		Object upper = jdbcTemplate.queryForObject(firstBound, (rs, rowNum) -> rs.getObject(1));
+		if (upper == null) {
+			return 0;
+		}
+		long rows = jdbcTemplate.update(firstUpdate, upper);
+		while (true) {
+			Object lower = upper;
+			upper = jdbcTemplate.queryForObject(nextBound, (rs, rowNum) -> rs.getObject(1), lower);
+			if (upper == null) {
+				return rows;
+			}
+			rows += jdbcTemplate.update(nextUpdate, lower, upper);
+		}
+	}
+
+	/**
+	 * Record and drop every foreign key that has a still-CHAR UUID column on either
+	 * side; MySQL refuses to change the type of a column a foreign key uses. Keys
+	 * recorded by an earlier, interrupted run stay recorded.
+	 */
+	private void parkForeignKeys() {
+		jdbcTemplate.execute("create table if not exists " + FOREIGN_KEY_TABLE + " ("
+				+ "constraint_name varchar(64) not null, table_name varchar(64) not null, column_names varchar(1024) not null, "
+				+ "referenced_table_name varchar(64) not null, referenced_column_names varchar(1024) not null, "
+				+ "update_rule varchar(32) not null, delete_rule varchar(32) not null, "
+				+ "primary key (table_name, constraint_name))");
+
+		Map<String, ForeignKeyDefinition> foreignKeys = foreignKeys(null);
+
+		Map<String, Map<String, ColumnState>> states = new LinkedHashMap<>();
+		for (ForeignKeyDefinition foreignKey : foreignKeys.values()) {
+			if (!touchesCharUuid(foreignKey.table(), foreignKey.columns(), states)
+					&& !touchesCharUuid(foreignKey.referencedTable(), foreignKey.referencedColumns(), states)) {
+				continue;
+			}
+			log.info("Dropping foreign key {}.{} until the conversion finishes", foreignKey.table(), foreignKey.name());
+			jdbcTemplate.update("insert ignore into " + FOREIGN_KEY_TABLE + " values (?, ?, ?, ?, ?, ?, ?)",
+					foreignKey.name(), foreignKey.table(), String.join(",", foreignKey.columns()),
+					foreignKey.referencedTable(), String.join(",", foreignKey.referencedColumns()),
+					foreignKey.updateRule(), foreignKey.deleteRule());
+			jdbcTemplate.execute("alter table " + foreignKey.table() + " drop foreign key " + foreignKey.name());
+		}
+	}
+
+	private boolean touchesCharUuid(String table, List<String> columns, Map<String, Map<String, ColumnState>> states) {
+		List<String> uuidColumns = UUID_COLUMNS.getOrDefault(table, List.of());
+		Map<String, ColumnState> tableStates = states.computeIfAbsent(table, this::columnStates);
+		return columns.stream().anyMatch(column -> uuidColumns.contains(column)
+				&& tableStates.containsKey(column) && tableStates.get(column).isChar());
+	}
+
+	private void restoreForeignKeys() {
+		List<ForeignKeyDefinition> parked = jdbcTemplate.query("select constraint_name, table_name, column_names, "
+				+ "referenced_table_name, referenced_column_names, update_rule, delete_rule from " + FOREIGN_KEY_TABLE,
+				(rs, rowNum) -> new ForeignKeyDefinition(rs.getString(1), rs.getString(2), List.of(rs.getString(3).split(",")),
+						rs.getString(4), List.of(rs.getString(5).split(",")), rs.getString(6), rs.getString(7)));
+		for (ForeignKeyDefinition foreignKey : parked) {
+			if (!foreignKeys(foreignKey.table()).containsKey(foreignKey.table() + "." + foreignKey.name().toLowerCase())) {
+				log.info("Recreating foreign key {}.{}", foreignKey.table(), foreignKey.name());
+				jdbcTemplate.execute("alter table " + foreignKey.table() + " add constraint " + foreignKey.name()
+						+ " foreign key (" + String.join(", ", foreignKey.columns()) + ") references "
+						+ foreignKey.referencedTable() + " (" + String.join(", ", foreignKey.referencedColumns()) + ")"
+						+ " on update " + foreignKey.updateRule() + " on delete " + foreignKey.deleteRule());
+			}
+		}
+		jdbcTemplate.execute("drop table " + FOREIGN_KEY_TABLE);
+	}
+
+	/**
+	 * Foreign keys declared by one table, or by every table when it is null, keyed by
+	 * table and lower-cased constraint name.
+	 */
+	private Map<String, ForeignKeyDefinition> foreignKeys(String onlyTable) {
+		return withMetaData(metaData -> {
+			List<String> tables = new ArrayList<>();
+			if (onlyTable != null) {
+				tables.add(onlyTable);
+			} else {
+				try (ResultSet rs = metaData.getTables(catalog(metaData), schema(metaData), "%", new String[] {"TABLE"})) {
+					while (rs.next()) {
+						tables.add(rs.getString("TABLE_NAME"));
+					}
+				}
+			}
+			Map<String, ForeignKeyDefinition> foreignKeys = new LinkedHashMap<>();
+			for (String table : tables) {
+				// Rows come ordered by referenced table and key position
+				try (ResultSet rs = metaData.getImportedKeys(catalog(metaData), schema(metaData), table)) {
+					while (rs.next()) {
+						String owner = rs.getString("FKTABLE_NAME").toLowerCase();
+						String name = rs.getString("FK_NAME");
+						String referencedTable = rs.getString("PKTABLE_NAME").toLowerCase();
+						String updateRule = referentialAction(rs.getShort("UPDATE_RULE"));
+						String deleteRule = referentialAction(rs.getShort("DELETE_RULE"));
+						ForeignKeyDefinition foreignKey = foreignKeys.computeIfAbsent(owner + "." + name.toLowerCase(),
+								key -> new ForeignKeyDefinition(name, owner, new ArrayList<>(), referencedTable, new ArrayList<>(),
+										updateRule, deleteRule));
+						foreignKey.columns().add(rs.getString("FKCOLUMN_NAME").toLowerCase());
+						foreignKey.referencedColumns().add(rs.getString("PKCOLUMN_NAME").toLowerCase());
+					}
+				}
+			}
+			return foreignKeys;
+		});
+	}
+
+	private static String referentialAction(short rule) {
+		return switch (rule) {
+			case DatabaseMetaData.importedKeyCascade -> "CASCADE";
+			case DatabaseMetaData.importedKeySetNull -> "SET NULL";
+			case DatabaseMetaData.importedKeySetDefault -> "SET DEFAULT";
+			case DatabaseMetaData.importedKeyRestrict -> "RESTRICT";
+			default -> "NO ACTION";
+		};
+	}
+
+	private <T> T withMetaData(MetaDataCallback<T> callback) {
+		return jdbcTemplate.execute((ConnectionCallback<T>) connection -> callback.apply(connection.getMetaData()));
+	}
+
+	// MySQL reports the database as the catalog, H2 has a schema inside one
+	private static String catalog(DatabaseMetaData metaData) throws SQLException {
+		return metaData.getConnection().getCatalog();
+	}
+
+	private static String schema(DatabaseMetaData metaData) throws SQLException {
+		return metaData.getConnection().getSchema();
+	}
+
+	private interface MetaDataCallback<T> {
+
+		T apply(DatabaseMetaData metaData) throws SQLException;
+	}
+
+	private record ColumnState(int sqlType, boolean nullable) {
+
+		boolean isChar() {
+			return sqlType == Types.CHAR;
+		}
+	}
+
+	private record IndexDefinition(String name, boolean unique, List<String> columns) {
+	}
+
+	private record ForeignKeyDefinition(String name, String table, List<String> columns, String referencedTable,
+			List<String> referencedColumns, String updateRule, String deleteRule) {
+	}
+}
@@ -0,0 +1,73 @@
+package com.campus.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual-thread mode, switched on with {@code spring.threads.virtual.enabled=true}
+ * (Java 21). Spring Boot then runs Tomcat requests, {@code @Async} tasks and
+ * {@code @Scheduled} jobs on virtual threads, so a request blocked on JDBC no longer
+ * ties up a platform thread.
+ * <p>
+ * The request count is then only bounded by memory, so this configuration puts a
+ * {@link ConnectionLimitingDataSource} in front of the pool. It admits as many
+ * callers as the pool has connections ({@code app.datasource.max-concurrent-connections},
+ * defaulting to Hikari's maximum pool size) and queues the rest fairly for up to
+ * {@code app.datasource.acquire-timeout-ms} (defaulting to Hikari's connection timeout).
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+	@Bean
+	static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+					return bean;
+				}
+				int poolSize = 10;
+				long poolTimeoutMs = 30_000;
+				if (bean instanceof HikariDataSource hikari) {
+					poolSize = hikari.getMaximumPoolSize();
+					poolTimeoutMs = hikari.getConnectionTimeout();
+				}
+				int maxConnections = environment.getProperty("app.datasource.max-concurrent-connections", Integer.class, poolSize);
+				long timeoutMs = environment.getProperty("app.datasource.acquire-timeout-ms", Long.class, poolTimeoutMs);
+				log.info("Virtual threads enabled; limiting DataSource '{}' to {} concurrent connections", beanName, maxConnections);
+				return new ConnectionLimitingDataSource(dataSource, maxConnections, timeoutMs);
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSources) {
+		return registry -> dataSources.orderedStream()
+				.filter(ConnectionLimitingDataSource.class::isInstance)
+				.map(ConnectionLimitingDataSource.class::cast)
+				.findFirst()
+				.ifPresent(limiter -> {
+					Gauge.builder("campus.datasource.admitted", limiter, ConnectionLimitingDataSource::getActiveConnections)
+							.description("Connections checked out through the admission gate")
+							.register(registry);
+					Gauge.builder("campus.datasource.waiting", limiter, ConnectionLimitingDataSource::getWaitingThreads)
+							.description("Callers queued for a database connection")
+							.register(registry);
+				});
+	}
+}
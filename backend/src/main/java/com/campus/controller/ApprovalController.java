@@ -8,13 +8,19 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.campus.dto.request.BulkDecisionRequest;
 import com.campus.dto.response.BookingResponse;
 import com.campus.dto.response.BookingStatsResponse;
+import com.campus.dto.response.BulkDecisionResponse;
+import com.campus.dto.response.CursorPageResponse;
 import com.campus.service.ApprovalService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -42,12 +48,26 @@ public class ApprovalController {
 		return ResponseEntity.ok(approvalService.staffReject(bookingId));
 	}
 
+	@PutMapping("/staff/bulk")
+	@PreAuthorize("hasRole('STAFF')")
+	public ResponseEntity<BulkDecisionResponse> staffDecideAll(@Valid @RequestBody BulkDecisionRequest request) {
+		return ResponseEntity.ok(approvalService.staffDecideAll(request));
+	}
+
 	@GetMapping("/staff/student-bookings")
 	@PreAuthorize("hasRole('STAFF')")
 	public ResponseEntity<List<BookingResponse>> staffStudentBookings() {
 		return ResponseEntity.ok(approvalService.getStaffStudentBookings());
 	}
 
+	@GetMapping("/staff/student-bookings/page")
+	@PreAuthorize("hasRole('STAFF')")
+	public ResponseEntity<CursorPageResponse<BookingResponse>> staffStudentBookingsPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(approvalService.getStaffStudentBookingsPage(cursor, limit));
+	}
+
 	@GetMapping("/staff/stats")
 	@PreAuthorize("hasRole('STAFF')")
 	public ResponseEntity<BookingStatsResponse> staffBookingStats() {
@@ -60,6 +80,14 @@ public class ApprovalController {
 		return ResponseEntity.ok(approvalService.getPendingForAdmin());
 	}
 
+	@GetMapping("/admin/pending/page")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<CursorPageResponse<BookingResponse>> pendingForAdminPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(approvalService.getPendingForAdminPage(cursor, limit));
+	}
+
 	@PutMapping("/admin/{bookingId}")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<BookingResponse> adminApprove(@PathVariable UUID bookingId) {
@@ -71,4 +99,10 @@ public class ApprovalController {
 	public ResponseEntity<BookingResponse> adminReject(@PathVariable UUID bookingId) {
 		return ResponseEntity.ok(approvalService.adminReject(bookingId));
 	}
+
+	@PutMapping("/admin/bulk")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<BulkDecisionResponse> adminDecideAll(@Valid @RequestBody BulkDecisionRequest request) {
+		return ResponseEntity.ok(approvalService.adminDecideAll(request));
+	}
 }
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.campus.dto.request.ForgotPasswordRequest;
 import com.campus.dto.request.LoginRequest;
+import com.campus.dto.request.RefreshTokenRequest;
 import com.campus.dto.request.RegisterRequest;
 import com.campus.dto.request.ResetPasswordRequest;
 import com.campus.dto.request.VerifyOtpRequest;
@@ -44,6 +45,16 @@ public class AuthController {
 		return ResponseEntity.ok(authService.login(request));
 	}
 
+	@PostMapping("/refresh")
+	public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+		return ResponseEntity.ok(authService.refresh(request));
+	}
+
+	@PostMapping("/logout")
+	public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+		return ResponseEntity.ok(authService.logout(request));
+	}
+
 	@GetMapping("/advisors")
 	public ResponseEntity<List<AdvisorResponse>> advisors() {
 		List<AdvisorResponse> advisors = userRepository.findAllByRoleAndStatus(Role.STAFF, UserStatus.ACTIVE).stream()
@@ -5,7 +5,9 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,12 +17,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.campus.dto.request.CreateBookingRequest;
+import com.campus.dto.request.CreateRecurringBookingRequest;
+import com.campus.dto.response.AvailabilityMatrixResponse;
 import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.dto.response.RecurringBookingResponse;
 import com.campus.dto.response.TimeSlotResponse;
 import com.campus.service.BookingService;
 import com.campus.service.SlotService;
+import com.campus.service.SlotService.SlotAvailability;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +48,12 @@ public class BookingController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(request));
 	}
 
+	@PostMapping("/recurring")
+	@PreAuthorize("hasAnyRole('STUDENT','STAFF','ADMIN')")
+	public ResponseEntity<RecurringBookingResponse> createRecurring(@Valid @RequestBody CreateRecurringBookingRequest request) {
+		return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createRecurringBooking(request));
+	}
+
 	@GetMapping("/my")
 	public ResponseEntity<List<BookingResponse>> myBookings() {
 		return ResponseEntity.ok(bookingService.getMyBookings());
@@ -50,10 +65,51 @@ public class BookingController {
 		return ResponseEntity.ok(bookingService.getAllBookings());
 	}
 
+	@GetMapping("/my/page")
+	public ResponseEntity<CursorPageResponse<BookingResponse>> myBookingsPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(bookingService.getMyBookingsPage(cursor, limit));
+	}
+
+	@GetMapping("/all/page")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<CursorPageResponse<BookingResponse>> allBookingsPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(bookingService.getAllBookingsPage(cursor, limit));
+	}
+
+	@GetMapping(value = "/all/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportAllBookings() {
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(bookingService::exportAllBookings);
+	}
+
+	@GetMapping("/slots/matrix")
+	public ResponseEntity<AvailabilityMatrixResponse> getAvailabilityMatrix(
+			@RequestParam(required = false) List<UUID> resourceIds,
+			@RequestParam(required = false) String type,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(defaultValue = "false") boolean bitmask) {
+		return ResponseEntity.ok(slotService.getAvailabilityMatrix(resourceIds, type, startDate, endDate, bitmask));
+	}
+
 	@GetMapping("/slots/{resourceId}")
 	public ResponseEntity<List<TimeSlotResponse>> getAvailableSlots(
 			@PathVariable UUID resourceId,
-			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-		return ResponseEntity.ok(slotService.getAvailableSlots(resourceId, date));
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+			WebRequest webRequest) {
+		SlotAvailability availability = slotService.getSlotAvailability(resourceId, date);
+		// Answers 304 and sets the ETag header when the client's copy is still current
+		if (availability.etag() != null && webRequest.checkNotModified(availability.etag())) {
+			return null;
+		}
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.noCache())
+				.body(availability.slots());
 	}
 }
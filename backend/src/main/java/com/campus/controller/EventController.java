@@ -0,0 +1,40 @@
+package com.campus.controller;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.campus.event.BookingEventBroadcaster;
+import com.campus.util.SecurityUtil;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+	private final BookingEventBroadcaster broadcaster;
+
+	@GetMapping(value = "/approvals", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+	public SseEmitter approvals() {
+		return broadcaster.subscribeApprovals(SecurityUtil.requireCurrentUser());
+	}
+
+	@GetMapping(value = "/slots/{resourceId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter slots(
+			@PathVariable UUID resourceId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		return broadcaster.subscribeSlots(SecurityUtil.requireCurrentUser(), resourceId, date);
+	}
+}
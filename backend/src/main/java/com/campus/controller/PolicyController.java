@@ -1,29 +1,57 @@
 package com.campus.controller;
 
+import com.campus.dto.request.UpdatePolicyRequest;
+import com.campus.dto.response.BookingPolicyResponse;
 import com.campus.dto.response.PolicyRemainingResponse;
 import com.campus.entity.User;
-import com.campus.exception.ResourceNotFoundException;
-import com.campus.repository.UserRepository;
+import com.campus.enums.Role;
 import com.campus.service.PolicyService;
 import com.campus.util.SecurityUtil;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/policy")
 @RequiredArgsConstructor
 public class PolicyController {
 
 	private final PolicyService policyService;
-	private final UserRepository userRepository;
 
 	@GetMapping("/remaining")
 	public ResponseEntity<PolicyRemainingResponse> remaining() {
-		String email = SecurityUtil.requireCurrentUsername();
-		User user = userRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		User user = SecurityUtil.requireCurrentUser();
 		return ResponseEntity.ok(policyService.remainingForUser(user));
 	}
+
+	@GetMapping
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<List<BookingPolicyResponse>> all() {
+		return ResponseEntity.ok(policyService.getAllPolicies());
+	}
+
+	@PutMapping("/{role}")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<BookingPolicyResponse> update(@PathVariable Role role, @Valid @RequestBody UpdatePolicyRequest request) {
+		return ResponseEntity.ok(policyService.updatePolicy(role, request));
+	}
+
+	// Reloads the policies cached by the node that receives it, e.g. after another
+	// node edited them; call it on every node that should see the change
+	@PostMapping("/refresh")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<Void> refresh() {
+		policyService.refreshPolicies();
+		return ResponseEntity.noContent().build();
+	}
 }
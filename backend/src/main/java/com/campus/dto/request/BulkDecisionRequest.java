@@ -0,0 +1,20 @@
+package com.campus.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.campus.enums.BookingDecision;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BulkDecisionRequest {
+
+	@NotEmpty
+	private List<@NotNull UUID> bookingIds;
+
+	@NotNull
+	private BookingDecision decision;
+}
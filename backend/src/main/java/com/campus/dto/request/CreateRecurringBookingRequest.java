@@ -0,0 +1,34 @@
+package com.campus.dto.request;
+
+import com.campus.enums.RecurrenceFrequency;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+public class CreateRecurringBookingRequest {
+
+	@NotNull
+	private UUID resourceId;
+
+	// Date of the first occurrence
+	@NotNull
+	private LocalDate startDate;
+
+	// Last date an occurrence may fall on, inclusive
+	@NotNull
+	private LocalDate untilDate;
+
+	@NotNull
+	private RecurrenceFrequency frequency;
+
+	@NotNull
+	private LocalTime startTime;
+
+	@NotNull
+	private LocalTime endTime;
+}
@@ -0,0 +1,11 @@
+package com.campus.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+
+	@NotBlank
+	private String refreshToken;
+}
@@ -0,0 +1,22 @@
+package com.campus.dto.request;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class UpdatePolicyRequest {
+
+	@Min(0)
+	private Integer maxBookingsPerDay;
+
+	@Min(0)
+	private Integer maxBookingsPerMonth;
+
+	@Min(0)
+	private Integer maxHoursPerDay;
+
+	@Min(0)
+	private Integer maxHoursPerMonth;
+
+	private Boolean isUnlimited;
+}
@@ -10,11 +10,14 @@ public class AuthResponse {
 	private String tokenType;
 	private UserResponse user;
 	private Long expiresAt;
+	// Opaque token for POST /api/auth/refresh; single use, each refresh returns a new one
+	private String refreshToken;
 
 	public AuthResponse(String token, String tokenType, UserResponse user) {
-		this.token = token;
-		this.tokenType = tokenType;
-		this.user = user;
-		this.expiresAt = null;
+		this(token, tokenType, user, null, null);
+	}
+
+	public AuthResponse(String token, String tokenType, UserResponse user, Long expiresAt) {
+		this(token, tokenType, user, expiresAt, null);
 	}
 }
@@ -0,0 +1,21 @@
+package com.campus.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixResponse {
+	private LocalDate startDate;
+	private LocalDate endDate;
+	// Slot columns shared by every day; index i is bit i of a bitmask row
+	private List<TimeSlotResponse> slots;
+	private List<ResourceAvailabilityResponse> resources;
+}
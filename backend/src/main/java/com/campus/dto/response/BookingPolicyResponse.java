@@ -0,0 +1,15 @@
+package com.campus.dto.response;
+
+import com.campus.enums.Role;
+
+import lombok.Data;
+
+@Data
+public class BookingPolicyResponse {
+	private Role role;
+	private Integer maxBookingsPerDay;
+	private Integer maxBookingsPerMonth;
+	private Integer maxHoursPerDay;
+	private Integer maxHoursPerMonth;
+	private Boolean isUnlimited;
+}
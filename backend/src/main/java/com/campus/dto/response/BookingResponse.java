@@ -8,9 +8,13 @@ import java.util.UUID;
 import com.campus.enums.ApprovalStage;
 import com.campus.enums.VisibilityType;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingResponse {
 	private UUID id;
 	private UUID userId;
@@ -0,0 +1,18 @@
+package com.campus.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionResponse {
+	private int requestedCount;
+	private int appliedCount;
+	private List<BulkDecisionResultResponse> results;
+}
@@ -0,0 +1,22 @@
+package com.campus.dto.response;
+
+import java.util.UUID;
+
+import com.campus.enums.DecisionStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionResultResponse {
+	private UUID bookingId;
+	private DecisionStatus status;
+	// Why the decision was not applied, null when it was
+	private String message;
+	private BookingResponse booking;
+}
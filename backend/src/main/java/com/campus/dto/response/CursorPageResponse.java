@@ -0,0 +1,14 @@
+package com.campus.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+	private List<T> items;
+	// Opaque cursor for the next page, null on the last page
+	private String nextCursor;
+}
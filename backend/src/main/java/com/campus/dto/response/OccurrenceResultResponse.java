@@ -0,0 +1,22 @@
+package com.campus.dto.response;
+
+import java.time.LocalDate;
+
+import com.campus.enums.OccurrenceStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceResultResponse {
+	private LocalDate bookingDate;
+	private OccurrenceStatus status;
+	// Why the occurrence was skipped, null when it was created
+	private String message;
+	private BookingResponse booking;
+}
@@ -0,0 +1,26 @@
+package com.campus.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.campus.enums.ResourceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResourceAvailabilityResponse {
+	private UUID resourceId;
+	private String resourceName;
+	private ResourceStatus status;
+	// One entry per day from startDate to endDate; exactly one of the two is set
+	private List<List<Boolean>> days;
+	private List<Long> masks;
+}
@@ -0,0 +1,21 @@
+package com.campus.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotChangeResponse {
+	private UUID resourceId;
+	private LocalDate bookingDate;
+	private LocalTime startTime;
+	private LocalTime endTime;
+}
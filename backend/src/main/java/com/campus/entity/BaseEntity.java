@@ -0,0 +1,26 @@
+package com.campus.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UUID primary key shared by the entities, assigned by {@link IdAssigner} on first
+ * persist. JPA runs entity listeners before the entities' own {@code prePersist}
+ * hooks, so those already see the id.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+@EntityListeners(IdAssigner.class)
+public abstract class BaseEntity {
+
+	@Id
+	@Column(name = "id", nullable = false, updatable = false)
+	private UUID id;
+}
@@ -5,9 +5,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.UUID;
 
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
-
 import com.campus.enums.ApprovalStage;
 import com.campus.enums.VisibilityType;
 
@@ -15,7 +12,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -34,21 +30,16 @@ import lombok.Setter;
 @Entity
 @Table(name = "bookings", indexes = {
 		@Index(name = "idx_booking_user_date", columnList = "user_id,booking_date"),
-		@Index(name = "idx_booking_resource_date", columnList = "resource_id,booking_date")
+		@Index(name = "idx_booking_resource_date", columnList = "resource_id,booking_date"),
+		@Index(name = "idx_booking_created", columnList = "created_at,id"),
+		@Index(name = "idx_booking_stage_user", columnList = "approval_stage,user_id")
 })
-public class Booking {
-
-	@Id
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "id", length = 36, nullable = false, updatable = false, columnDefinition = "CHAR(36)")
-	private UUID id;
+public class Booking extends BaseEntity {
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "user_id", length = 36, nullable = false, columnDefinition = "CHAR(36)")
+	@Column(name = "user_id", nullable = false)
 	private UUID userId;
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "resource_id", length = 36, nullable = false, columnDefinition = "CHAR(36)")
+	@Column(name = "resource_id", nullable = false)
 	private UUID resourceId;
 
 	@Column(name = "booking_date", nullable = false)
@@ -71,20 +62,23 @@ public class Booking {
 	@Column(name = "visibility", nullable = false, length = 20)
 	private VisibilityType visibility;
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "staff_approved_by", length = 36, columnDefinition = "CHAR(36)")
+	@Column(name = "staff_approved_by")
 	private UUID staffApprovedBy;
 
 	@Column(name = "staff_approved_at")
 	private Instant staffApprovedAt;
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "admin_approved_by", length = 36, columnDefinition = "CHAR(36)")
+	@Column(name = "admin_approved_by")
 	private UUID adminApprovedBy;
 
 	@Column(name = "admin_approved_at")
 	private Instant adminApprovedAt;
 
+	// Set by the approval transition that last moved the booking, so a bulk decision
+	// can read back exactly which of its rows it updated
+	@Column(name = "decision_id")
+	private UUID decisionId;
+
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private Instant createdAt;
 
@@ -93,9 +87,6 @@ public class Booking {
 
 	@PrePersist
 	public void prePersist() {
-		if (id == null) {
-			id = UUID.randomUUID();
-		}
 		Instant now = Instant.now();
 		createdAt = now;
 		updatedAt = now;
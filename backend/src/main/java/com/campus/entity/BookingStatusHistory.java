@@ -3,16 +3,12 @@ package com.campus.entity;
 import java.time.Instant;
 import java.util.UUID;
 
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
-
 import com.campus.enums.ApprovalStage;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -28,15 +24,9 @@ import lombok.Setter;
 @AllArgsConstructor
 @Entity
 @Table(name = "booking_status_history")
-public class BookingStatusHistory {
-
-	@Id
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "id", length = 36, nullable = false, updatable = false, columnDefinition = "CHAR(36)")
-	private UUID id;
+public class BookingStatusHistory extends BaseEntity {
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "booking_id", length = 36, nullable = false, columnDefinition = "CHAR(36)")
+	@Column(name = "booking_id", nullable = false)
 	private UUID bookingId;
 
 	@Enumerated(EnumType.STRING)
@@ -46,15 +36,11 @@ public class BookingStatusHistory {
 	@Column(name = "changed_at", nullable = false)
 	private Instant changedAt;
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "changed_by", length = 36, columnDefinition = "CHAR(36)")
+	@Column(name = "changed_by")
 	private UUID changedBy;
 
 	@PrePersist
 	public void prePersist() {
-		if (id == null) {
-			id = UUID.randomUUID();
-		}
 		if (changedAt == null) {
 			changedAt = Instant.now();
 		}
@@ -0,0 +1,24 @@
+package com.campus.entity;
+
+import com.campus.util.IdGenerator;
+
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entity listener that gives new entities an id from the configured
+ * {@link IdGenerator}. Hibernate obtains listeners from the Spring bean container,
+ * so the generator is injected per application context rather than held in a static.
+ */
+@RequiredArgsConstructor
+public class IdAssigner {
+
+	private final IdGenerator idGenerator;
+
+	@PrePersist
+	void assignId(BaseEntity entity) {
+		if (entity.getId() == null) {
+			entity.setId(idGenerator.next());
+		}
+	}
+}
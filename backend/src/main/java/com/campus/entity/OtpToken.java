@@ -1,14 +1,10 @@
 package com.campus.entity;
 
 import java.time.Instant;
-import java.util.UUID;
-
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -23,13 +19,11 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "otp_tokens")
-public class OtpToken {
-
-    @Id
-    @JdbcTypeCode(SqlTypes.CHAR)
-    @Column(name = "id", length = 36, nullable = false, updatable = false, columnDefinition = "CHAR(36)")
-    private UUID id;
+@Table(name = "otp_tokens", indexes = {
+        @Index(name = "idx_otp_phone_created", columnList = "phone,created_at"),
+        @Index(name = "idx_otp_expires", columnList = "expires_at")
+})
+public class OtpToken extends BaseEntity {
 
     @Column(name = "phone", nullable = false, length = 30)
     private String phone;
@@ -40,6 +34,10 @@ public class OtpToken {
     @Column(name = "verified", nullable = false)
     private Boolean verified;
 
+    // Wrong codes tried against this token
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
@@ -48,8 +46,8 @@ public class OtpToken {
 
     @PrePersist
     public void prePersist() {
-        if (id == null) id = UUID.randomUUID();
         if (createdAt == null) createdAt = Instant.now();
         if (verified == null) verified = false;
+        if (attempts == null) attempts = 0;
     }
 }
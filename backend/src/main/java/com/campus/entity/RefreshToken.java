@@ -0,0 +1,67 @@
+package com.campus.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A refresh token, stored only as the SHA-256 hash of the value handed to the
+ * client. Every rotation creates a new token in the same family and marks the old
+ * one used; presenting a used or revoked token revokes the whole family.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+		@Index(name = "uk_refresh_token_hash", columnList = "token_hash", unique = true),
+		@Index(name = "idx_refresh_token_family", columnList = "family_id"),
+		@Index(name = "idx_refresh_token_expires", columnList = "expires_at"),
+		@Index(name = "idx_refresh_token_revoked", columnList = "revoked_at")
+})
+public class RefreshToken extends BaseEntity {
+
+	@Column(name = "token_hash", nullable = false, length = 64)
+	private String tokenHash;
+
+	@Column(name = "user_id", nullable = false)
+	private UUID userId;
+
+	@Column(name = "family_id", nullable = false)
+	private UUID familyId;
+
+	// User token version at issue time; a later bump retires the token
+	@Column(name = "token_version", nullable = false)
+	private Integer tokenVersion;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	@Column(name = "used_at")
+	private Instant usedAt;
+
+	@Column(name = "revoked_at")
+	private Instant revokedAt;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+
+	@PrePersist
+	public void prePersist() {
+		if (createdAt == null) {
+			createdAt = Instant.now();
+		}
+	}
+}
@@ -1,10 +1,6 @@
 package com.campus.entity;
 
 import java.time.Instant;
-import java.util.UUID;
-
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import com.campus.enums.ResourceStatus;
 
@@ -12,7 +8,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -29,12 +24,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Entity
 @Table(name = "resources")
-public class Resource {
-
-	@Id
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "id", length = 36, nullable = false, updatable = false, columnDefinition = "CHAR(36)")
-	private UUID id;
+public class Resource extends BaseEntity {
 
 	@Column(name = "name", nullable = false)
 	private String name;
@@ -57,9 +47,6 @@ public class Resource {
 
 	@PrePersist
 	public void prePersist() {
-		if (id == null) {
-			id = UUID.randomUUID();
-		}
 		Instant now = Instant.now();
 		createdAt = now;
 		updatedAt = now;
@@ -0,0 +1,51 @@
+package com.campus.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.campus.enums.UsagePeriod;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A user's active booking count and hours for one day or one month, kept up to date
+ * as bookings are created and released so quota checks do not have to aggregate the
+ * bookings table. Month rows are keyed by the first day of the month.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "usage_ledger", indexes = {
+		@Index(name = "uk_usage_ledger_user_period", columnList = "user_id, period_start, period", unique = true)
+})
+public class UsageLedgerEntry extends BaseEntity {
+
+	@Column(name = "user_id", nullable = false)
+	private UUID userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "period", nullable = false, length = 10)
+	private UsagePeriod period;
+
+	@Column(name = "period_start", nullable = false)
+	private LocalDate periodStart;
+
+	@Column(name = "bookings", nullable = false)
+	private long bookings;
+
+	@Column(name = "hours", nullable = false)
+	private long hours;
+}
@@ -3,8 +3,7 @@ package com.campus.entity;
 import java.time.Instant;
 import java.util.UUID;
 
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.ColumnDefault;
 
 import com.campus.enums.Role;
 import com.campus.enums.UserStatus;
@@ -13,7 +12,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -29,13 +28,10 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
-public class User {
-
-	@Id
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "id", length = 36, nullable = false, updatable = false, columnDefinition = "CHAR(36)")
-	private UUID id;
+@Table(name = "users", indexes = {
+		@Index(name = "idx_user_advisor", columnList = "advisor_id")
+})
+public class User extends BaseEntity {
 
 	@Column(name = "name", nullable = false)
 	private String name;
@@ -53,14 +49,18 @@ public class User {
 	@Column(name = "role", nullable = false, length = 20)
 	private Role role;
 
-	@JdbcTypeCode(SqlTypes.CHAR)
-	@Column(name = "advisor_id", length = 36, columnDefinition = "CHAR(36)")
+	@Column(name = "advisor_id")
 	private UUID advisorId;
 
 	@Enumerated(EnumType.STRING)
 	@Column(name = "status", nullable = false, length = 20)
 	private UserStatus status;
 
+	// Bumped whenever role, status, advisor or password change to retire previously issued tokens
+	@ColumnDefault("0")
+	@Column(name = "token_version", nullable = false)
+	private int tokenVersion;
+
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private Instant createdAt;
 
@@ -69,9 +69,6 @@ public class User {
 
 	@PrePersist
 	public void prePersist() {
-		if (id == null) {
-			id = UUID.randomUUID();
-		}
 		Instant now = Instant.now();
 		createdAt = now;
 		updatedAt = now;
@@ -0,0 +1,55 @@
+package com.campus.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Every approval step a booking can take, as data: who may take it, the stage it
+ * starts from and ends in, what it stamps on the booking and which owners it
+ * applies to. ApprovalServiceImpl runs a transition as one conditional update.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ApprovalTransition {
+
+	STAFF_APPROVE(Role.STAFF, "approve", ApprovalStage.PENDING_STAFF, ApprovalStage.PENDING_ADMIN, null, Approver.STAFF, OwnerRule.ADVISEE_OF_ACTOR),
+	STAFF_REJECT(Role.STAFF, "reject", ApprovalStage.PENDING_STAFF, ApprovalStage.REJECTED, null, Approver.NONE, OwnerRule.ADVISEE_OF_ACTOR),
+	ADMIN_APPROVE_STAFF_BOOKING(Role.ADMIN, "approve", ApprovalStage.PENDING_ADMIN, ApprovalStage.APPROVED_STAFF_ONLY, VisibilityType.STAFF_ONLY, Approver.ADMIN, OwnerRule.STAFF_OWNER),
+	ADMIN_APPROVE(Role.ADMIN, "approve", ApprovalStage.PENDING_ADMIN, ApprovalStage.APPROVED, VisibilityType.PUBLIC, Approver.ADMIN, OwnerRule.ANY),
+	ADMIN_REJECT(Role.ADMIN, "reject", ApprovalStage.PENDING_ADMIN, ApprovalStage.REJECTED, null, Approver.NONE, OwnerRule.ANY);
+
+	/**
+	 * Which approver columns the transition fills in.
+	 */
+	public enum Approver {
+		NONE,
+		STAFF,
+		ADMIN
+	}
+
+	/**
+	 * Condition on the booking owner, checked inside the update.
+	 */
+	public enum OwnerRule {
+		ANY,
+		// Students' bookings only by their assigned advisor; other owners by any staff
+		ADVISEE_OF_ACTOR,
+		STAFF_OWNER
+	}
+
+	private final Role actorRole;
+	private final String action;
+	private final ApprovalStage from;
+	private final ApprovalStage to;
+	// Null keeps the current visibility
+	private final VisibilityType visibility;
+	private final Approver approver;
+	private final OwnerRule ownerRule;
+
+	/**
+	 * Whether the booking stops holding its slot.
+	 */
+	public boolean releasesSlot() {
+		return to == ApprovalStage.REJECTED || to == ApprovalStage.CANCELLED;
+	}
+}
@@ -0,0 +1,7 @@
+package com.campus.enums;
+
+public enum DecisionStatus {
+	APPLIED,
+	NOT_FOUND,
+	CONFLICT
+}
@@ -0,0 +1,8 @@
+package com.campus.enums;
+
+public enum OccurrenceStatus {
+	CREATED,
+	CONFLICT,
+	LIMIT_EXCEEDED,
+	INVALID
+}
@@ -0,0 +1,6 @@
+package com.campus.enums;
+
+public enum RecurrenceFrequency {
+	DAILY,
+	WEEKLY
+}
@@ -0,0 +1,6 @@
+package com.campus.enums;
+
+public enum UsagePeriod {
+	DAY,
+	MONTH
+}
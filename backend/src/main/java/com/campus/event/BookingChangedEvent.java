@@ -0,0 +1,22 @@
+package com.campus.event;
+
+import java.util.UUID;
+
+import com.campus.dto.response.BookingResponse;
+import com.campus.enums.ApprovalStage;
+
+/**
+ * Published when a booking is created or moves to another stage. Listeners that
+ * talk to clients should only act on it after the publishing transaction commits.
+ *
+ * @param booking       the booking as it is after the change
+ * @param previousStage the stage before the change, null for a new booking
+ * @param advisorId     the advisor of the booking owner, null when the owner has none
+ *                      or the change does not concern advisors
+ */
+public record BookingChangedEvent(BookingResponse booking, ApprovalStage previousStage, UUID advisorId) {
+
+	public boolean created() {
+		return previousStage == null;
+	}
+}
@@ -0,0 +1,336 @@
+package com.campus.event;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.SlotChangeResponse;
+import com.campus.entity.User;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.Role;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes booking changes to connected dashboards over server-sent events, so that
+ * approvers and slot viewers no longer have to poll.
+ * <ul>
+ * <li>Approval subscribers get {@code pending-added} when a booking enters their
+ * queue and {@code stage-changed} when it leaves it, with the booking as data.
+ * Staff only hear about their advisees, admins about the admin queue.</li>
+ * <li>Slot subscribers of a resource (optionally one day of it) get
+ * {@code slot-taken} and {@code slot-freed} with the affected time range.</li>
+ * </ul>
+ * Each user keeps at most a few open streams; opening another closes the oldest.
+ * <p>
+ * The committing request thread only picks the recipients and queues the event;
+ * sends run on a small bounded pool. Each subscriber has its own queue, drained by
+ * one task at a time so events stay in order, and is dropped when that queue
+ * overflows, when a send fails or when a send has been stuck for longer than
+ * {@code app.events.send-timeout-ms}. A dropped client simply reconnects.
+ */
+@Slf4j
+@Component
+public class BookingEventBroadcaster implements DisposableBean {
+
+	private static final String PENDING_ADDED = "pending-added";
+	private static final String STAGE_CHANGED = "stage-changed";
+	private static final String SLOT_TAKEN = "slot-taken";
+	private static final String SLOT_FREED = "slot-freed";
+
+	private final Map<UUID, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+	private final ThreadPoolExecutor executor;
+	private final int maxPerUser;
+	private final long timeoutMs;
+	private final int maxPending;
+	private final long sendTimeoutNanos;
+
+	public BookingEventBroadcaster(
+			@Value("${app.events.max-per-user:3}") int maxPerUser,
+			@Value("${app.events.timeout-ms:1800000}") long timeoutMs,
+			@Value("${app.events.threads:2}") int threads,
+			@Value("${app.events.queue-capacity:1000}") int queueCapacity,
+			@Value("${app.events.max-pending-per-subscriber:64}") int maxPending,
+			@Value("${app.events.send-timeout-ms:10000}") long sendTimeoutMs) {
+		this.maxPerUser = Math.max(1, maxPerUser);
+		this.timeoutMs = timeoutMs;
+		this.maxPending = Math.max(1, maxPending);
+		this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+		AtomicInteger counter = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+				runnable -> {
+					Thread thread = new Thread(runnable, "sse-fanout-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	public SseEmitter subscribeApprovals(User user) {
+		return subscribe(new Subscription(user.getId(), user.getRole(), null, null, newEmitter()));
+	}
+
+	public SseEmitter subscribeSlots(User user, UUID resourceId, LocalDate date) {
+		return subscribe(new Subscription(user.getId(), null, resourceId, date, newEmitter()));
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		BookingResponse booking = event.booking();
+		String slotEvent = slotEvent(event);
+		SlotChangeResponse slot = slotEvent == null ? null : SlotChangeResponse.builder()
+				.resourceId(booking.getResourceId())
+				.bookingDate(booking.getBookingDate())
+				.startTime(booking.getStartTime())
+				.endTime(booking.getEndTime())
+				.build();
+
+		for (List<Subscription> own : subscriptions.values()) {
+			for (Subscription subscription : own) {
+				if (subscription.watchesSlots()) {
+					if (slotEvent != null && subscription.watches(booking)) {
+						enqueue(subscription, SseEmitter.event().name(slotEvent).data(slot));
+					}
+				} else {
+					String approvalEvent = approvalEvent(subscription, event);
+					if (approvalEvent != null) {
+						enqueue(subscription, SseEmitter.event().name(approvalEvent).id(booking.getId().toString()).data(booking));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Comment lines keep idle connections from being closed by proxies, and flush out
+	 * subscribers whose connection is already gone or whose send is stuck.
+	 */
+	@Scheduled(fixedDelayString = "${app.events.heartbeat-ms:25000}", initialDelayString = "${app.events.heartbeat-ms:25000}")
+	public void heartbeat() {
+		long now = System.nanoTime();
+		for (List<Subscription> own : subscriptions.values()) {
+			for (Subscription subscription : own) {
+				if (subscription.sendingFor(now) > sendTimeoutNanos) {
+					drop(subscription, new TimeoutException("Send did not complete in time"));
+				} else {
+					enqueue(subscription, SseEmitter.event().comment("keep-alive"));
+				}
+			}
+		}
+	}
+
+	public int subscriberCount() {
+		return subscriptions.values().stream().mapToInt(List::size).sum();
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	SseEmitter newEmitter() {
+		return new SseEmitter(timeoutMs);
+	}
+
+	private SseEmitter subscribe(Subscription subscription) {
+		List<Subscription> evicted = new ArrayList<>();
+		subscriptions.compute(subscription.userId(), (userId, own) -> {
+			List<Subscription> updated = own == null ? new CopyOnWriteArrayList<>() : own;
+			updated.add(subscription);
+			while (updated.size() > maxPerUser) {
+				evicted.add(updated.remove(0));
+			}
+			return updated;
+		});
+		// Completed outside compute(): completion callbacks remove from the same map
+		evicted.forEach(old -> old.emitter().complete());
+
+		SseEmitter emitter = subscription.emitter();
+		emitter.onCompletion(() -> remove(subscription));
+		emitter.onTimeout(() -> remove(subscription));
+		emitter.onError(e -> remove(subscription));
+		// Sends the response headers right away so the client sees the stream open
+		send(subscription, SseEmitter.event().comment("connected"));
+		return emitter;
+	}
+
+	/**
+	 * Queue an event for one subscriber and make sure a task is draining its queue.
+	 */
+	private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+		boolean overflow = false;
+		boolean schedule = false;
+		synchronized (subscription) {
+			if (subscription.closed) {
+				return;
+			}
+			if (subscription.pending.size() >= maxPending) {
+				overflow = true;
+			} else {
+				subscription.pending.add(event);
+				schedule = !subscription.draining;
+				subscription.draining = true;
+			}
+		}
+		if (overflow) {
+			drop(subscription, new IllegalStateException("Subscriber is not keeping up"));
+			return;
+		}
+		if (schedule) {
+			try {
+				executor.execute(() -> drain(subscription));
+			} catch (RejectedExecutionException e) {
+				drop(subscription, new IllegalStateException("Event fan-out is saturated"));
+			}
+		}
+	}
+
+	private void drain(Subscription subscription) {
+		while (true) {
+			SseEmitter.SseEventBuilder event;
+			synchronized (subscription) {
+				event = subscription.closed ? null : subscription.pending.poll();
+				if (event == null) {
+					subscription.draining = false;
+					return;
+				}
+				subscription.sendingSince = System.nanoTime();
+			}
+			send(subscription, event);
+			synchronized (subscription) {
+				subscription.sendingSince = 0;
+			}
+		}
+	}
+
+	private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+		try {
+			subscription.emitter().send(event);
+		} catch (IOException | IllegalStateException e) {
+			drop(subscription, e);
+		}
+	}
+
+	private void drop(Subscription subscription, Exception reason) {
+		log.debug("Dropping event subscriber {}: {}", subscription.userId(), reason.getMessage());
+		synchronized (subscription) {
+			subscription.closed = true;
+			subscription.pending.clear();
+		}
+		remove(subscription);
+		subscription.emitter().completeWithError(reason);
+	}
+
+	private void remove(Subscription subscription) {
+		subscriptions.computeIfPresent(subscription.userId(), (userId, own) -> {
+			own.remove(subscription);
+			return own.isEmpty() ? null : own;
+		});
+	}
+
+	private static String approvalEvent(Subscription subscription, BookingChangedEvent event) {
+		ApprovalStage queue;
+		if (subscription.role() == Role.ADMIN) {
+			queue = ApprovalStage.PENDING_ADMIN;
+		} else if (subscription.role() == Role.STAFF && subscription.userId().equals(event.advisorId())) {
+			queue = ApprovalStage.PENDING_STAFF;
+		} else {
+			return null;
+		}
+		if (event.booking().getApprovalStage() == queue) {
+			return PENDING_ADDED;
+		}
+		return event.previousStage() == queue ? STAGE_CHANGED : null;
+	}
+
+	private static String slotEvent(BookingChangedEvent event) {
+		boolean holds = holdsSlot(event.booking().getApprovalStage());
+		if (event.created()) {
+			return holds ? SLOT_TAKEN : null;
+		}
+		return !holds && holdsSlot(event.previousStage()) ? SLOT_FREED : null;
+	}
+
+	private static boolean holdsSlot(ApprovalStage stage) {
+		return stage != ApprovalStage.REJECTED && stage != ApprovalStage.CANCELLED;
+	}
+
+	/**
+	 * One open stream. Approval streams carry the subscriber's role; slot streams the
+	 * resource and, when given, the day they watch. The delivery state is guarded by
+	 * the subscription's monitor.
+	 */
+	private static final class Subscription {
+
+		private final UUID userId;
+		private final Role role;
+		private final UUID resourceId;
+		private final LocalDate date;
+		private final SseEmitter emitter;
+
+		private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+		private boolean draining;
+		private boolean closed;
+		// System.nanoTime() when the send in progress started, 0 when idle
+		private long sendingSince;
+
+		Subscription(UUID userId, Role role, UUID resourceId, LocalDate date, SseEmitter emitter) {
+			this.userId = userId;
+			this.role = role;
+			this.resourceId = resourceId;
+			this.date = date;
+			this.emitter = emitter;
+		}
+
+		UUID userId() {
+			return userId;
+		}
+
+		Role role() {
+			return role;
+		}
+
+		SseEmitter emitter() {
+			return emitter;
+		}
+
+		boolean watchesSlots() {
+			return resourceId != null;
+		}
+
+		boolean watches(BookingResponse booking) {
+			return resourceId.equals(booking.getResourceId()) && (date == null || date.equals(booking.getBookingDate()));
+		}
+
+		synchronized long sendingFor(long now) {
+			return sendingSince == 0 ? 0 : now - sendingSince;
+		}
+	}
+}
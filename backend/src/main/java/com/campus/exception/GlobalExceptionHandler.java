@@ -3,11 +3,14 @@ package com.campus.exception;
 import java.time.Instant;
 import java.util.List;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,6 +26,9 @@ import lombok.extern.slf4j.Slf4j;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+	// A connection usually frees up within a request's time
+	private static final int DATABASE_BUSY_RETRY_AFTER_SECONDS = 1;
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ApiErrorResponse> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
 		List<FieldErrorItem> fieldErrors = ex.getBindingResult().getFieldErrors().stream()
@@ -101,6 +107,18 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
 	}
 
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<ApiErrorResponse> handleBadRequest(BadRequestException ex, HttpServletRequest request) {
+		ApiErrorResponse body = ApiErrorResponse.builder()
+				.timestamp(Instant.now())
+				.status(HttpStatus.BAD_REQUEST.value())
+				.error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+				.message(ex.getMessage())
+				.path(request.getRequestURI())
+				.build();
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+	}
+
 	@ExceptionHandler(ConflictException.class)
 	public ResponseEntity<ApiErrorResponse> handleConflict(ConflictException ex, HttpServletRequest request) {
 		ApiErrorResponse body = ApiErrorResponse.builder()
@@ -113,6 +131,40 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
 	}
 
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ApiErrorResponse> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+		ApiErrorResponse body = ApiErrorResponse.builder()
+				.timestamp(Instant.now())
+				.status(HttpStatus.TOO_MANY_REQUESTS.value())
+				.error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+				.message(ex.getMessage())
+				.path(request.getRequestURI())
+				.build();
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(body);
+	}
+
+	/**
+	 * No database connection within the acquire timeout, from the pool or from
+	 * {@link com.campus.config.ConnectionLimitingDataSource}: shed the request instead
+	 * of reporting a server fault.
+	 */
+	@ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+	public ResponseEntity<ApiErrorResponse> handleDatabaseBusy(Exception ex, HttpServletRequest request) {
+		log.warn("No database connection for {}: {}", request.getRequestURI(), ex.getMessage());
+		ApiErrorResponse body = ApiErrorResponse.builder()
+				.timestamp(Instant.now())
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+				.message("Server is busy, please retry")
+				.path(request.getRequestURI())
+				.build();
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(DATABASE_BUSY_RETRY_AFTER_SECONDS))
+				.body(body);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiErrorResponse> handleAny(Exception ex, HttpServletRequest request) {
 		log.error("Unhandled error", ex);
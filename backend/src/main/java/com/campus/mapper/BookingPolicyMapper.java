@@ -0,0 +1,10 @@
+package com.campus.mapper;
+
+import com.campus.dto.response.BookingPolicyResponse;
+import com.campus.entity.BookingPolicy;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface BookingPolicyMapper {
+	BookingPolicyResponse toResponse(BookingPolicy policy);
+}
@@ -1,5 +1,6 @@
 package com.campus.repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Collection;
@@ -7,18 +8,20 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.campus.entity.Booking;
 import com.campus.enums.ApprovalStage;
+import com.campus.enums.Role;
+import com.campus.enums.VisibilityType;
+import com.campus.repository.projection.BookingUsage;
+import com.campus.repository.projection.DailyUsage;
+import com.campus.repository.projection.StageCount;
 
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
-	List<Booking> findByUserIdOrderByCreatedAtDesc(UUID userId);
-
-	List<Booking> findAllByOrderByCreatedAtDesc();
-
 	boolean existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
 			UUID resourceId,
 			LocalDate bookingDate,
@@ -27,20 +30,16 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 			Collection<ApprovalStage> excludedStages
 	);
 
-	long countByUserIdAndBookingDateAndApprovalStageNotIn(UUID userId, LocalDate bookingDate, Collection<ApprovalStage> excludedStages);
-
-	long countByUserIdAndBookingDateBetweenAndApprovalStageNotIn(UUID userId, LocalDate startDate, LocalDate endDate, Collection<ApprovalStage> excludedStages);
-
-	@Query("select coalesce(sum(b.durationHours), 0) from Booking b where b.userId = :userId and b.bookingDate = :bookingDate and b.approvalStage not in :excluded")
-	long sumHoursByUserAndDate(@Param("userId") UUID userId, @Param("bookingDate") LocalDate bookingDate, @Param("excluded") Collection<ApprovalStage> excluded);
-
-	@Query("select coalesce(sum(b.durationHours), 0) from Booking b where b.userId = :userId and b.bookingDate between :startDate and :endDate and b.approvalStage not in :excluded")
-	long sumHoursByUserAndDateRange(@Param("userId") UUID userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("excluded") Collection<ApprovalStage> excluded);
+	@Query("select count(case when b.bookingDate = :bookingDate then 1 end) as bookingsDay, "
+			+ "coalesce(sum(case when b.bookingDate = :bookingDate then b.durationHours else 0 end), 0) as hoursDay, "
+			+ "count(b) as bookingsRange, coalesce(sum(b.durationHours), 0) as hoursRange "
+			+ "from Booking b where b.userId = :userId and b.bookingDate between :startDate and :endDate and b.approvalStage not in :excluded")
+	BookingUsage usageByUserForDateAndRange(@Param("userId") UUID userId, @Param("bookingDate") LocalDate bookingDate, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("excluded") Collection<ApprovalStage> excluded);
 
-	@Query("select b from Booking b where b.approvalStage = :stage and b.userId in (select u.id from User u where u.advisorId = :advisorId)")
-	List<Booking> findByApprovalStageAndAdvisorId(@Param("stage") ApprovalStage stage, @Param("advisorId") UUID advisorId);
-
-	List<Booking> findByApprovalStageOrderByCreatedAtDesc(ApprovalStage approvalStage);
+	@Query("select b.bookingDate as bookingDate, count(b) as bookings, coalesce(sum(b.durationHours), 0) as hours "
+			+ "from Booking b where b.userId = :userId and b.bookingDate between :startDate and :endDate and b.approvalStage not in :excluded "
+			+ "group by b.bookingDate")
+	List<DailyUsage> dailyUsageByUser(@Param("userId") UUID userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("excluded") Collection<ApprovalStage> excluded);
 
 	List<Booking> findByResourceIdAndBookingDateAndApprovalStageNotIn(
 			UUID resourceId,
@@ -48,15 +47,68 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 			Collection<ApprovalStage> excludedStages
 	);
 
-	// Find all bookings by students assigned to a specific advisor
-	@Query("select b from Booking b where b.userId in (select u.id from User u where u.advisorId = :advisorId) order by b.createdAt desc")
-	List<Booking> findAllByAdvisorId(@Param("advisorId") UUID advisorId);
-
-	// Count bookings by approval stage for students of a specific advisor
-	@Query("select count(b) from Booking b where b.approvalStage = :stage and b.userId in (select u.id from User u where u.advisorId = :advisorId)")
-	long countByApprovalStageAndAdvisorId(@Param("stage") ApprovalStage stage, @Param("advisorId") UUID advisorId);
+	List<Booking> findByResourceIdInAndBookingDateBetweenAndApprovalStageNotIn(
+			Collection<UUID> resourceIds,
+			LocalDate startDate,
+			LocalDate endDate,
+			Collection<ApprovalStage> excludedStages
+	);
 
-	// Count total bookings for students of a specific advisor
-	@Query("select count(b) from Booking b where b.userId in (select u.id from User u where u.advisorId = :advisorId)")
-	long countAllByAdvisorId(@Param("advisorId") UUID advisorId);
+	List<Booking> findByBookingDateGreaterThanEqualAndApprovalStageNotIn(LocalDate fromDate, Collection<ApprovalStage> excludedStages);
+
+	/**
+	 * Admin approval of a booking pending admin review in one statement: the owner's
+	 * role picks the outcome inside the update, staff bookings becoming approved for
+	 * staff only and all others public. Returns the affected rows; the stage the row
+	 * ended in tells which of the two applied.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Booking b set "
+			+ "b.approvalStage = case when exists (select o.id from User o where o.id = b.userId "
+			+ "and o.role = com.campus.enums.Role.STAFF) "
+			+ "then com.campus.enums.ApprovalStage.APPROVED_STAFF_ONLY else com.campus.enums.ApprovalStage.APPROVED end, "
+			+ "b.visibility = case when exists (select o.id from User o where o.id = b.userId "
+			+ "and o.role = com.campus.enums.Role.STAFF) "
+			+ "then com.campus.enums.VisibilityType.STAFF_ONLY else com.campus.enums.VisibilityType.PUBLIC end, "
+			+ "b.adminApprovedBy = :adminId, "
+			+ "b.adminApprovedAt = :now, "
+			+ "b.updatedAt = :now, "
+			+ "b.decisionId = null "
+			+ "where b.id = :id and b.approvalStage = com.campus.enums.ApprovalStage.PENDING_ADMIN")
+	int approveByAdmin(@Param("id") UUID id, @Param("adminId") UUID adminId, @Param("now") Instant now);
+
+	/**
+	 * Move bookings from one stage to the next, but only those still in the expected
+	 * stage whose owner satisfies the given condition; returns the affected rows.
+	 * Null values leave the corresponding column (or condition) out. Every moved row
+	 * is stamped with the decision id, see {@link #findIdsByDecision}.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Booking b set b.approvalStage = :to, "
+			+ "b.visibility = coalesce(:visibility, b.visibility), "
+			+ "b.staffApprovedBy = coalesce(:staffApprovedBy, b.staffApprovedBy), "
+			+ "b.staffApprovedAt = coalesce(:staffApprovedAt, b.staffApprovedAt), "
+			+ "b.adminApprovedBy = coalesce(:adminApprovedBy, b.adminApprovedBy), "
+			+ "b.adminApprovedAt = coalesce(:adminApprovedAt, b.adminApprovedAt), "
+			+ "b.updatedAt = :now, "
+			+ "b.decisionId = :decisionId "
+			+ "where b.id in :ids and b.approvalStage = :from "
+			+ "and (:ownerRole is null or exists (select o.id from User o where o.id = b.userId and o.role = :ownerRole)) "
+			+ "and (:advisorId is null or exists (select o.id from User o where o.id = b.userId "
+			+ "and (o.role <> com.campus.enums.Role.STUDENT or o.advisorId = :advisorId)))")
+	int transitionAll(@Param("ids") Collection<UUID> ids, @Param("from") ApprovalStage from, @Param("to") ApprovalStage to,
+			@Param("visibility") VisibilityType visibility,
+			@Param("staffApprovedBy") UUID staffApprovedBy, @Param("staffApprovedAt") Instant staffApprovedAt,
+			@Param("adminApprovedBy") UUID adminApprovedBy, @Param("adminApprovedAt") Instant adminApprovedAt,
+			@Param("now") Instant now, @Param("decisionId") UUID decisionId,
+			@Param("ownerRole") Role ownerRole, @Param("advisorId") UUID advisorId);
+
+	// Which of the given bookings a transition with this decision id moved
+	@Query("select b.id from Booking b where b.id in :ids and b.decisionId = :decisionId")
+	List<UUID> findIdsByDecision(@Param("ids") Collection<UUID> ids, @Param("decisionId") UUID decisionId);
+
+	// Booking counts per approval stage for students of a specific advisor
+	@Query("select b.approvalStage as stage, count(b) as total from Booking b join User u on u.id = b.userId "
+			+ "where u.advisorId = :advisorId group by b.approvalStage")
+	List<StageCount> countByStageForAdvisor(@Param("advisorId") UUID advisorId);
 }
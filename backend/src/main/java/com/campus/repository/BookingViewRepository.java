@@ -0,0 +1,83 @@
+package com.campus.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.campus.dto.response.BookingResponse;
+import com.campus.entity.Booking;
+import com.campus.enums.ApprovalStage;
+
+/**
+ * Read-only booking listings projected straight into {@link BookingResponse}, with the
+ * owner, resource and approver names joined in by the same query.
+ */
+public interface BookingViewRepository extends Repository<Booking, UUID> {
+
+	String SELECT_VIEW = "select new com.campus.dto.response.BookingResponse("
+			+ "b.id, b.userId, owner.name, b.resourceId, r.name, b.bookingDate, b.startTime, b.endTime, b.durationHours, "
+			+ "b.approvalStage, b.visibility, b.staffApprovedBy, staff.name, b.staffApprovedAt, "
+			+ "b.adminApprovedBy, admin.name, b.adminApprovedAt, b.createdAt, b.updatedAt) "
+			+ "from Booking b "
+			+ "left join User owner on owner.id = b.userId "
+			+ "left join Resource r on r.id = b.resourceId "
+			+ "left join User staff on staff.id = b.staffApprovedBy "
+			+ "left join User admin on admin.id = b.adminApprovedBy ";
+
+	// Keyset condition on (createdAt, id) for every page after the first
+	String AFTER_CURSOR = "(b.createdAt < :cursorCreatedAt or (b.createdAt = :cursorCreatedAt and b.id < :cursorId)) ";
+
+	String NEWEST_FIRST = "order by b.createdAt desc, b.id desc";
+
+	@Query(SELECT_VIEW + "where b.id = :id")
+	Optional<BookingResponse> findViewById(@Param("id") UUID id);
+
+	@Query(SELECT_VIEW + "where b.id in :ids")
+	List<BookingResponse> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+	@Query(SELECT_VIEW + "where b.userId = :userId " + NEWEST_FIRST)
+	List<BookingResponse> findByUserId(@Param("userId") UUID userId);
+
+	@Query(SELECT_VIEW + NEWEST_FIRST)
+	List<BookingResponse> findAllViews();
+
+	@Query(SELECT_VIEW + "where b.approvalStage = :stage " + NEWEST_FIRST)
+	List<BookingResponse> findByApprovalStage(@Param("stage") ApprovalStage stage);
+
+	@Query(SELECT_VIEW + "where b.approvalStage = :stage and owner.advisorId = :advisorId " + NEWEST_FIRST)
+	List<BookingResponse> findByApprovalStageAndAdvisorId(@Param("stage") ApprovalStage stage, @Param("advisorId") UUID advisorId);
+
+	@Query(SELECT_VIEW + "where owner.advisorId = :advisorId " + NEWEST_FIRST)
+	List<BookingResponse> findByAdvisorId(@Param("advisorId") UUID advisorId);
+
+	@Query(SELECT_VIEW + "where b.userId = :userId " + NEWEST_FIRST)
+	List<BookingResponse> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+	@Query(SELECT_VIEW + "where b.userId = :userId and " + AFTER_CURSOR + NEWEST_FIRST)
+	List<BookingResponse> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("cursorCreatedAt") Instant cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+
+	@Query(SELECT_VIEW + NEWEST_FIRST)
+	List<BookingResponse> findFirstPage(Pageable pageable);
+
+	@Query(SELECT_VIEW + "where " + AFTER_CURSOR + NEWEST_FIRST)
+	List<BookingResponse> findPageAfter(@Param("cursorCreatedAt") Instant cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+
+	@Query(SELECT_VIEW + "where b.approvalStage = :stage " + NEWEST_FIRST)
+	List<BookingResponse> findFirstPageByApprovalStage(@Param("stage") ApprovalStage stage, Pageable pageable);
+
+	@Query(SELECT_VIEW + "where b.approvalStage = :stage and " + AFTER_CURSOR + NEWEST_FIRST)
+	List<BookingResponse> findPageByApprovalStageAfter(@Param("stage") ApprovalStage stage, @Param("cursorCreatedAt") Instant cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+
+	@Query(SELECT_VIEW + "where owner.advisorId = :advisorId " + NEWEST_FIRST)
+	List<BookingResponse> findFirstPageByAdvisorId(@Param("advisorId") UUID advisorId, Pageable pageable);
+
+	@Query(SELECT_VIEW + "where owner.advisorId = :advisorId and " + AFTER_CURSOR + NEWEST_FIRST)
+	List<BookingResponse> findPageByAdvisorIdAfter(@Param("advisorId") UUID advisorId, @Param("cursorCreatedAt") Instant cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+}
@@ -1,17 +1,39 @@
 package com.campus.repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.campus.entity.OtpToken;
 
+import jakarta.persistence.LockModeType;
+
 public interface OtpTokenRepository extends JpaRepository<OtpToken, UUID> {
 
+    // Row lock held until commit, so concurrent guesses against a code are counted one by one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<OtpToken> findTopByPhoneAndVerifiedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
             String phone, Instant now);
 
-    void deleteByExpiresAtBefore(Instant now);
+    @Query("select t.id from OtpToken t where t.expiresAt < :now")
+    List<UUID> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Delete the given tokens in a transaction of its own; the purge feeds it one
+     * chunk of {@link #findExpiredIds} at a time.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OtpToken t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,33 @@
+package com.campus.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.campus.entity.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+	Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+	/**
+	 * Mark a token used if nobody has used or revoked it yet; returns the affected rows,
+	 * so of two concurrent rotations only one wins.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null and t.revokedAt is null")
+	int markUsed(@Param("id") UUID id, @Param("now") Instant now);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+	int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+	@Modifying
+	@Query("delete from RefreshToken t where t.expiresAt < :now or t.revokedAt < :revokedBefore")
+	int deleteExpiredOrRevoked(@Param("now") Instant now, @Param("revokedBefore") Instant revokedBefore);
+}
@@ -1,9 +1,28 @@
 package com.campus.repository;
 
 import com.campus.entity.Resource;
+import com.campus.repository.projection.IdName;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
+
 public interface ResourceRepository extends JpaRepository<Resource, UUID> {
+
+	List<Resource> findByTypeOrderByNameAsc(String type, Pageable pageable);
+
+	// Row lock held until commit, so booking admissions for one resource are checked one by one
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<Resource> findForUpdateById(UUID id);
+
+	@Query("select r.id as id, r.name as name from Resource r where r.id in :ids")
+	List<IdName> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,26 @@
+package com.campus.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.campus.entity.UsageLedgerEntry;
+import com.campus.enums.UsagePeriod;
+
+public interface UsageLedgerRepository extends JpaRepository<UsageLedgerEntry, UUID> {
+
+	List<UsageLedgerEntry> findByUserIdAndPeriodStartIn(UUID userId, Collection<LocalDate> periodStarts);
+
+	// Returns 0 when the user has no row for the period yet
+	@Modifying(flushAutomatically = true)
+	@Query("update UsageLedgerEntry e set e.bookings = e.bookings + :bookings, e.hours = e.hours + :hours "
+			+ "where e.userId = :userId and e.period = :period and e.periodStart = :periodStart")
+	int addUsage(@Param("userId") UUID userId, @Param("period") UsagePeriod period, @Param("periodStart") LocalDate periodStart,
+			@Param("bookings") long bookings, @Param("hours") long hours);
+}
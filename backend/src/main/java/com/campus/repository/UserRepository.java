@@ -1,14 +1,23 @@
 package com.campus.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.campus.entity.User;
 import com.campus.enums.Role;
 import com.campus.enums.UserStatus;
+import com.campus.repository.projection.IdName;
+import com.campus.repository.projection.IdVersion;
+import com.campus.repository.projection.StatusCount;
+
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 	Optional<User> findByEmail(String email);
@@ -25,7 +34,20 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
 	List<User> findByAdvisorIdAndStatus(UUID advisorId, UserStatus status);
 
-	long countByAdvisorId(UUID advisorId);
+	@Query("select u.status as status, count(u) as total from User u where u.advisorId = :advisorId group by u.status")
+	List<StatusCount> countByStatusForAdvisor(@Param("advisorId") UUID advisorId);
+
+	@Query("select u.advisorId from User u where u.id = :id")
+	Optional<UUID> findAdvisorIdById(@Param("id") UUID id);
+
+	@Query("select u.id as id, u.name as name from User u where u.id in :ids")
+	List<IdName> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
+
+	@Query("select u.id as id, u.tokenVersion as version from User u where u.tokenVersion > 0")
+	List<IdVersion> findBumpedTokenVersions();
 
-	long countByAdvisorIdAndStatus(UUID advisorId, UserStatus status);
+	// Row locks serializing changes to the users' usage ledger, taken in id order
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select u from User u where u.id in :ids order by u.id")
+	List<User> lockAllById(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,15 @@
+package com.campus.repository.projection;
+
+/**
+ * A user's active booking counts and hours for one day and for the range
+ * (usually the month) containing it.
+ */
+public interface BookingUsage {
+	long getBookingsDay();
+
+	long getHoursDay();
+
+	long getBookingsRange();
+
+	long getHoursRange();
+}
@@ -0,0 +1,14 @@
+package com.campus.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A user's active booking count and hours on one day.
+ */
+public interface DailyUsage {
+	LocalDate getBookingDate();
+
+	long getBookings();
+
+	long getHours();
+}
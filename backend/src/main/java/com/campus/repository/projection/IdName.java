@@ -0,0 +1,12 @@
+package com.campus.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Id and display name only, for lookups that must not hydrate whole entities.
+ */
+public interface IdName {
+	UUID getId();
+
+	String getName();
+}
@@ -0,0 +1,12 @@
+package com.campus.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A user's id and current token version.
+ */
+public interface IdVersion {
+	UUID getId();
+
+	int getVersion();
+}
@@ -0,0 +1,12 @@
+package com.campus.repository.projection;
+
+import com.campus.enums.ApprovalStage;
+
+/**
+ * Number of bookings in one approval stage.
+ */
+public interface StageCount {
+	ApprovalStage getStage();
+
+	long getTotal();
+}
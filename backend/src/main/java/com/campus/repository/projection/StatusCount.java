@@ -0,0 +1,12 @@
+package com.campus.repository.projection;
+
+import com.campus.enums.UserStatus;
+
+/**
+ * Number of users with one status.
+ */
+public interface StatusCount {
+	UserStatus getStatus();
+
+	long getTotal();
+}
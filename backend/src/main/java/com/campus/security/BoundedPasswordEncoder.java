@@ -0,0 +1,133 @@
+package com.campus.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.campus.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BCrypt encoder that caps how many hashes run at once. Hashes run on a small
+ * dedicated pool with a bounded queue; once the queue is full, callers are turned
+ * away at once with a {@link TooManyRequestsException} (HTTP 429), so a burst of
+ * logins cannot take over the CPU that booking traffic needs.
+ * <p>
+ * The pool only sheds load, it does not free the request thread: an admitted caller
+ * still waits for its hash. Admission is decided at submit time only, because BCrypt
+ * cannot be interrupted and a hash given up on would keep burning a worker anyway.
+ * The wait is bounded by the queue, to about {@code queueCapacity / threads + 1}
+ * hash times.
+ * <p>
+ * Hashes made with a lower cost than the configured one report
+ * {@link #upgradeEncoding} so that a successful login rehashes them. Each hash is
+ * timed on its worker once a timer is handed in, see {@link #recordHashesWith}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long retryAfterSeconds;
+
+	private final LongAdder rejected = new LongAdder();
+	private volatile Timer hashTimer;
+
+	public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long retryAfterSeconds) {
+		this(new BCryptPasswordEncoder(strength), threads, queueCapacity, retryAfterSeconds);
+	}
+
+	BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterSeconds) {
+		this.delegate = delegate;
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger counter = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+				runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hash(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hash(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveHashes() {
+		return executor.getActiveCount();
+	}
+
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Time every hash from here on with the given timer. Only the hash itself is
+	 * measured, not the wait in the queue.
+	 */
+	public void recordHashesWith(Timer timer) {
+		this.hashTimer = timer;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private <T> T hash(Callable<T> work) {
+		Future<T> result;
+		try {
+			result = executor.submit(() -> {
+				Timer timer = hashTimer;
+				return timer != null ? timer.recordCallable(work) : work.call();
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw busy();
+		}
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			// The hash still runs to completion; only this caller stops waiting
+			Thread.currentThread().interrupt();
+			throw busy();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Password hashing failed", e.getCause());
+		}
+	}
+
+	private TooManyRequestsException busy() {
+		return new TooManyRequestsException("Too many sign-in requests, please try again shortly", retryAfterSeconds);
+	}
+}
@@ -5,13 +5,15 @@ import com.campus.enums.UserStatus;
 import com.campus.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 	private final UserRepository userRepository;
 
@@ -24,4 +26,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 		}
 		return UserPrincipal.from(user);
 	}
+
+	/**
+	 * Store a rehashed password after a successful login. The password itself is
+	 * unchanged, so issued tokens stay valid.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		User user = userRepository.findByEmail(userDetails.getUsername().toLowerCase())
+				.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+		user.setPassword(newPassword);
+		userRepository.save(user);
+		return UserPrincipal.from(user);
+	}
 }
@@ -0,0 +1,116 @@
+package com.campus.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets of a single node. Each bucket is updated with compare-and-set, so
+ * concurrent requests for the same key never block each other. Buckets that have
+ * refilled completely are indistinguishable from new ones and are evicted; the map is
+ * also capped at {@code app.rate-limit.max-keys}.
+ * <p>
+ * Only refilled buckets are ever evicted, since dropping one that is still draining
+ * would hand its key a fresh allowance. When the map is full of draining buckets, new
+ * keys are refused for one refill period rather than tracked, and the map is rescanned
+ * at most once per {@code app.rate-limit.full-rescan-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final int maxKeys;
+	private final long fullRescanNanos;
+	// System.nanoTime() before which a full map is not scanned again
+	private volatile long nextRescanAt;
+
+	public InMemoryRateLimitStore(
+			@Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+			@Value("${app.rate-limit.full-rescan-ms:1000}") long fullRescanMs) {
+		this.maxKeys = maxKeys;
+		this.fullRescanNanos = TimeUnit.MILLISECONDS.toNanos(fullRescanMs);
+		this.nextRescanAt = System.nanoTime();
+	}
+
+	@Override
+	public long tryConsume(String key, Limit limit) {
+		long now = System.nanoTime();
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			if (buckets.size() >= maxKeys && !makeRoom(now)) {
+				return Math.max(1, limit.refillPeriod().toMillis());
+			}
+			bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+		}
+		return bucket.tryConsume(now);
+	}
+
+	@Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+	public void evictIdle() {
+		long now = System.nanoTime();
+		buckets.values().removeIf(bucket -> bucket.isIdle(now));
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+	/**
+	 * Evict refilled buckets from a full map; returns whether there is room now.
+	 */
+	private boolean makeRoom(long now) {
+		if (now - nextRescanAt < 0) {
+			return buckets.size() < maxKeys;
+		}
+		buckets.values().removeIf(bucket -> bucket.isIdle(now));
+		if (buckets.size() >= maxKeys) {
+			nextRescanAt = now + fullRescanNanos;
+			return false;
+		}
+		return true;
+	}
+
+	private static final class Bucket {
+
+		private final int capacity;
+		private final long refillNanos;
+		private final AtomicReference<State> state;
+
+		Bucket(Limit limit, long now) {
+			this.capacity = limit.capacity();
+			this.refillNanos = Math.max(1, limit.refillPeriod().toNanos());
+			this.state = new AtomicReference<>(new State(capacity, now));
+		}
+
+		long tryConsume(long now) {
+			while (true) {
+				State current = state.get();
+				double tokens = available(current, now);
+				if (tokens < 1) {
+					return Math.max(1, (long) Math.ceil((1 - tokens) * refillNanos / 1_000_000d));
+				}
+				if (state.compareAndSet(current, new State(tokens - 1, now))) {
+					return 0;
+				}
+			}
+		}
+
+		boolean isIdle(long now) {
+			return available(state.get(), now) >= capacity;
+		}
+
+		private double available(State current, long now) {
+			return Math.min(capacity, current.tokens() + (double) (now - current.updatedAt()) / refillNanos);
+		}
+	}
+
+	private record State(double tokens, long updatedAt) {
+	}
+}
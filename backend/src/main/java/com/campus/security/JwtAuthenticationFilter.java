@@ -1,5 +1,7 @@
 package com.campus.security;
 
+import com.campus.enums.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +11,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -23,7 +24,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private final JwtTokenProvider jwtTokenProvider;
-	private final UserDetailsService userDetailsService;
+	private final TokenVersionRegistry tokenVersions;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,14 +32,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		try {
 			String token = resolveToken(request);
-			if (token != null && jwtTokenProvider.validateToken(token)) {
-				String username = jwtTokenProvider.getUsernameFromToken(token);
-				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+			Claims claims = token == null ? null : jwtTokenProvider.parseClaims(token);
+			UserPrincipal principal = claims == null ? null : principalFrom(claims);
+			if (principal != null) {
 				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-						userDetails,
+						principal,
 						null,
-						userDetails.getAuthorities()
+						principal.getAuthorities()
 				);
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -50,6 +50,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	/**
+	 * Build the principal from the signed claims alone. Tokens carry the token version
+	 * they were issued with; a role, status, advisor or password change bumps the
+	 * user's version, which retires every token issued before it.
+	 */
+	private UserPrincipal principalFrom(Claims claims) {
+		String userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, String.class);
+		String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+		Integer tokenVersion = claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class);
+		if (userId == null || role == null || tokenVersion == null || claims.getSubject() == null) {
+			return null;
+		}
+		UUID id = UUID.fromString(userId);
+		if (!tokenVersions.isCurrent(id, tokenVersion)) {
+			return null;
+		}
+		return UserPrincipal.fromToken(id, claims.getSubject(), Role.valueOf(role), tokenVersion);
+	}
+
 	private String resolveToken(HttpServletRequest request) {
 		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
 		if (header == null || header.isBlank()) {
@@ -1,6 +1,8 @@
 package com.campus.security;
 
+import com.campus.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -18,6 +20,10 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
+	public static final String CLAIM_USER_ID = "uid";
+	public static final String CLAIM_ROLE = "role";
+	public static final String CLAIM_TOKEN_VERSION = "ver";
+
 	@Value("${app.jwt.secret}")
 	private String jwtSecret;
 
@@ -27,6 +33,9 @@ public class JwtTokenProvider {
 
 	private Key key;
 
+	// Immutable and thread-safe, so one instance serves every request
+	private JwtParser parser;
+
 	@PostConstruct
 	void init() {
 		byte[] bytes;
@@ -36,17 +45,23 @@ public class JwtTokenProvider {
 			bytes = jwtSecret.getBytes();
 		}
 		key = Keys.hmacShaKeyFor(bytes);
+		parser = Jwts.parserBuilder()
+				.setSigningKey(key)
+				.build();
 	}
 
-	public String generateToken(String subject) {
-		return generateToken(subject, jwtExpirationMs);
+	public String generateToken(User user) {
+		return generateToken(user, jwtExpirationMs);
 	}
 
-	public String generateToken(String subject, long expirationMs) {
+	public String generateToken(User user, long expirationMs) {
 		Date now = new Date();
 		Date expiry = new Date(now.getTime() + expirationMs);
 		return Jwts.builder()
-				.setSubject(subject)
+				.setSubject(user.getEmail())
+				.claim(CLAIM_USER_ID, user.getId().toString())
+				.claim(CLAIM_ROLE, user.getRole().name())
+				.claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
 				.setIssuedAt(now)
 				.setExpiration(expiry)
 				.signWith(key, SignatureAlgorithm.HS256)
@@ -57,25 +72,25 @@ public class JwtTokenProvider {
 		return System.currentTimeMillis() + expirationMs;
 	}
 
-	public String getUsernameFromToken(String token) {
-		return getAllClaims(token).getSubject();
-	}
-
-	public boolean validateToken(String token) {
+	/**
+	 * Validate the token and return its claims in a single parse, or null when the
+	 * token is malformed, expired or has a bad signature.
+	 */
+	public Claims parseClaims(String token) {
 		try {
-			getAllClaims(token);
-			return true;
+			return parser.parseClaimsJws(token).getBody();
 		} catch (Exception e) {
 			log.debug("Invalid JWT: {}", e.getMessage());
-			return false;
+			return null;
 		}
 	}
 
-	private Claims getAllClaims(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token)
-				.getBody();
+	public String getUsernameFromToken(String token) {
+		Claims claims = parseClaims(token);
+		return claims == null ? null : claims.getSubject();
+	}
+
+	public boolean validateToken(String token) {
+		return parseClaims(token) != null;
 	}
 }
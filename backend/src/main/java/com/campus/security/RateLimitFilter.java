@@ -0,0 +1,265 @@
+package com.campus.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.campus.dto.response.ApiErrorResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Token-bucket throttling for the endpoints a script could use to burn CPU or fill
+ * tables: login (BCrypt), OTP sending and booking creation. Runs ahead of JWT
+ * authentication, so requests are keyed by client address and, where the body names
+ * one, by the email or phone the request is for. Rejected requests get 429 with
+ * Retry-After.
+ * <p>
+ * Limits are configured per endpoint as {@code app.rate-limit.<endpoint>.capacity} and
+ * {@code app.rate-limit.<endpoint>.refill-period-ms}; {@code app.rate-limit.enabled=false}
+ * turns throttling off.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	// Bodies of the throttled endpoints are small; anything larger is not parsed for a key
+	private static final int MAX_BODY_BYTES = 8 * 1024;
+
+	private final RateLimitStore store;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final Map<Endpoint, RateLimitStore.Limit> limits = new EnumMap<>(Endpoint.class);
+
+	public RateLimitFilter(RateLimitStore store, ObjectMapper objectMapper, Environment environment) {
+		this.store = store;
+		this.objectMapper = objectMapper;
+		this.enabled = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+		for (Endpoint endpoint : Endpoint.values()) {
+			String prefix = "app.rate-limit." + endpoint.property + ".";
+			limits.put(endpoint, new RateLimitStore.Limit(
+					environment.getProperty(prefix + "capacity", Integer.class, endpoint.defaultCapacity),
+					Duration.ofMillis(environment.getProperty(prefix + "refill-period-ms", Long.class, endpoint.defaultRefillMs))));
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || Endpoint.match(request) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Endpoint endpoint = Endpoint.match(request);
+		HttpServletRequest forwarded = request;
+		List<String> keys = new ArrayList<>(2);
+		keys.add(endpoint.property + ":ip:" + request.getRemoteAddr());
+		// A body announced as larger than the cap is not read at all; it is keyed by address only
+		if (endpoint.bodyField != null && request.getContentLengthLong() <= MAX_BODY_BYTES) {
+			CachedBodyRequest cached = new CachedBodyRequest(request);
+			forwarded = cached;
+			String value = cached.isComplete() ? bodyField(cached.head, endpoint.bodyField) : null;
+			if (value != null) {
+				keys.add(endpoint.property + ":" + endpoint.bodyField + ":" + value.trim().toLowerCase());
+			}
+		}
+
+		RateLimitStore.Limit limit = limits.get(endpoint);
+		for (String key : keys) {
+			long waitMs = store.tryConsume(key, limit);
+			if (waitMs > 0) {
+				reject(request, response, waitMs);
+				return;
+			}
+		}
+		filterChain.doFilter(forwarded, response);
+	}
+
+	private String bodyField(byte[] body, String field) {
+		if (body.length == 0) {
+			return null;
+		}
+		try {
+			JsonNode value = objectMapper.readTree(body).get(field);
+			return value == null || !value.isString() ? null : value.asString();
+		} catch (RuntimeException e) {
+			// Malformed bodies are left for request validation to report
+			return null;
+		}
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, long waitMs) throws IOException {
+		long retryAfterSeconds = Math.max(1, (waitMs + 999) / 1000);
+		log.debug("Rate limit hit for {} {} from {}", request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+		ApiErrorResponse body = ApiErrorResponse.builder()
+				.timestamp(Instant.now())
+				.status(HttpStatus.TOO_MANY_REQUESTS.value())
+				.error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+				.message("Too many requests, please try again later")
+				.path(request.getRequestURI())
+				.build();
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), body);
+	}
+
+	/**
+	 * The throttled endpoints with their default limits: a burst of {@code capacity}
+	 * requests, then one more per refill period.
+	 */
+	private enum Endpoint {
+		LOGIN("login", "POST", "/api/auth/login", "email", 10, 6_000),
+		SEND_OTP("send-otp", "POST", "/api/auth/forgot-password/send-otp", "phone", 3, 120_000),
+		CREATE_BOOKING("booking", "POST", "/api/bookings", null, 30, 1_000),
+		CREATE_RECURRING_BOOKING("booking", "POST", "/api/bookings/recurring", null, 30, 1_000);
+
+		private final String property;
+		private final String method;
+		private final String path;
+		// JSON field that identifies the account the request targets
+		private final String bodyField;
+		private final int defaultCapacity;
+		private final long defaultRefillMs;
+
+		Endpoint(String property, String method, String path, String bodyField, int defaultCapacity, long defaultRefillMs) {
+			this.property = property;
+			this.method = method;
+			this.path = path;
+			this.bodyField = bodyField;
+			this.defaultCapacity = defaultCapacity;
+			this.defaultRefillMs = defaultRefillMs;
+		}
+
+		static Endpoint match(HttpServletRequest request) {
+			String uri = request.getRequestURI().substring(request.getContextPath().length());
+			for (Endpoint endpoint : values()) {
+				if (endpoint.method.equals(request.getMethod()) && endpoint.path.equals(uri)) {
+					return endpoint;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Reads up to {@link #MAX_BODY_BYTES} + 1 bytes of the body so that they can be
+	 * inspected here, and replays them to the controller. When the body turns out to be
+	 * longer (no Content-Length was sent), the bytes read are followed by the rest of
+	 * the original stream.
+	 */
+	private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] head;
+
+		CachedBodyRequest(HttpServletRequest request) throws IOException {
+			super(request);
+			this.head = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+		}
+
+		boolean isComplete() {
+			return head.length <= MAX_BODY_BYTES;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() throws IOException {
+			return new ReplayingInputStream(head, isComplete() ? null : super.getInputStream());
+		}
+	}
+
+	private static final class ReplayingInputStream extends ServletInputStream {
+
+		private final ByteArrayInputStream head;
+		// Unread remainder of the original body, null when the head holds all of it
+		private final ServletInputStream rest;
+
+		ReplayingInputStream(byte[] head, ServletInputStream rest) {
+			this.head = new ByteArrayInputStream(head);
+			this.rest = rest;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int next = head.read();
+			return next >= 0 || rest == null ? next : rest.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int read = head.read(b, off, len);
+			if (read > 0 || rest == null) {
+				return read;
+			}
+			return rest.read(b, off, len);
+		}
+
+		@Override
+		public boolean isFinished() {
+			return head.available() == 0 && (rest == null || rest.isFinished());
+		}
+
+		@Override
+		public boolean isReady() {
+			return head.available() > 0 || rest == null || rest.isReady();
+		}
+
+		@Override
+		public void setReadListener(ReadListener listener) {
+			if (rest != null) {
+				// The container signals the remainder; the head is replayed on the first callback
+				rest.setReadListener(new ReadListener() {
+					@Override
+					public void onDataAvailable() throws IOException {
+						listener.onDataAvailable();
+					}
+
+					@Override
+					public void onAllDataRead() throws IOException {
+						if (head.available() > 0) {
+							listener.onDataAvailable();
+						}
+						listener.onAllDataRead();
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						listener.onError(t);
+					}
+				});
+				return;
+			}
+			// Everything is in memory already: it is available now and then all read
+			try {
+				listener.onDataAvailable();
+				listener.onAllDataRead();
+			} catch (IOException e) {
+				listener.onError(e);
+			}
+		}
+	}
+}
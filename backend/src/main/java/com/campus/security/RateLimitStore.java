@@ -0,0 +1,26 @@
+package com.campus.security;
+
+import java.time.Duration;
+
+/**
+ * Token buckets behind {@link RateLimitFilter}. Selected with
+ * {@code app.rate-limit.store}; {@code memory} (default) keeps the buckets of one
+ * node. Deployments with several nodes can plug in an implementation backed by
+ * shared state under another value.
+ */
+public interface RateLimitStore {
+
+	/**
+	 * Take one token from the bucket of the given key.
+	 *
+	 * @return 0 when a token was taken, otherwise the milliseconds until the next one
+	 */
+	long tryConsume(String key, Limit limit);
+
+	/**
+	 * A bucket holding up to {@code capacity} tokens that regains one every
+	 * {@code refillPeriod}.
+	 */
+	record Limit(int capacity, Duration refillPeriod) {
+	}
+}
@@ -0,0 +1,41 @@
+package com.campus.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Checks the scrape account's password against a SHA-256 digest held in memory. The
+ * Prometheus server sends it on every scrape, so it must not cost a BCrypt hash or
+ * wait in the {@link BoundedPasswordEncoder} queue behind logins. A fast digest is
+ * enough here: the password is an operator-set secret that never leaves the
+ * configuration, not a user's guessable password sitting in the database.
+ */
+class ScrapeCredentialEncoder implements PasswordEncoder {
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return HexFormat.of().formatHex(digest(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+			return false;
+		}
+		// Constant time, so the comparison does not leak how much of the digest matched
+		return MessageDigest.isEqual(encode(rawPassword).getBytes(StandardCharsets.US_ASCII),
+				encodedPassword.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static byte[] digest(CharSequence rawPassword) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
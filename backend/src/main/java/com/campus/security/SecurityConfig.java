@@ -2,16 +2,21 @@ package com.campus.security;
 
 import com.campus.config.CorsConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -20,22 +25,69 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+	private static final String METRICS_ROLE = "METRICS";
+
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final RateLimitFilter rateLimitFilter;
 	private final CustomUserDetailsService customUserDetailsService;
 	private final CorsConfig corsConfig;
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public BoundedPasswordEncoder passwordEncoder(
+			@Value("${app.security.bcrypt.strength:10}") int strength,
+			@Value("${app.security.password-hashing.threads:0}") int threads,
+			@Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${app.security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+		return new BoundedPasswordEncoder(strength, threads, queueCapacity, retryAfterSeconds);
 	}
 
 	@Bean
 	public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
 		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailsService);
 		provider.setPasswordEncoder(passwordEncoder);
+		// Rehashes passwords stored with a lower bcrypt strength on successful login
+		provider.setUserDetailsPasswordService(customUserDetailsService);
 		return new ProviderManager(provider);
 	}
 
+	/**
+	 * Actuator endpoints, on whichever port they are served. Health is public; the
+	 * rest, the Prometheus scrape included, takes HTTP Basic credentials of the scrape
+	 * account set with {@code app.metrics.username} and {@code app.metrics.password}.
+	 * Without that account nobody can read them. The account is checked with its own
+	 * digest rather than the bounded BCrypt encoder, so scrapes keep working while
+	 * logins saturate the hash pool.
+	 */
+	@Bean
+	@Order(1)
+	public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+			@Value("${app.metrics.username:}") String username,
+			@Value("${app.metrics.password:}") String password) throws Exception {
+		PasswordEncoder passwordEncoder = new ScrapeCredentialEncoder();
+		InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+		if (!username.isBlank() && !password.isBlank()) {
+			scrapers.createUser(User.withUsername(username)
+					.password(passwordEncoder.encode(password))
+					.roles(METRICS_ROLE)
+					.build());
+		}
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(scrapers);
+		provider.setPasswordEncoder(passwordEncoder);
+
+		http
+				.securityMatcher(EndpointRequest.toAnyEndpoint())
+				.csrf(csrf -> csrf.disable())
+				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.authorizeHttpRequests(auth -> auth
+						.requestMatchers(EndpointRequest.to("health")).permitAll()
+						.anyRequest().hasRole(METRICS_ROLE)
+				)
+				.httpBasic(Customizer.withDefaults())
+				.authenticationManager(new ProviderManager(provider));
+
+		return http.build();
+	}
+
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 		http
@@ -48,14 +100,15 @@ public class SecurityConfig {
 						.requestMatchers("/api/users/my-students/**").hasRole("STAFF")
 						.requestMatchers("/api/users/**").hasRole("ADMIN")
 						.requestMatchers("/api/resources/**").authenticated()
-						.requestMatchers("/api/bookings/all").hasRole("ADMIN")
+						.requestMatchers("/api/bookings/all", "/api/bookings/all/**").hasRole("ADMIN")
 						.requestMatchers("/api/bookings/**").authenticated()
 						.requestMatchers("/api/approvals/staff/**").hasRole("STAFF")
 						.requestMatchers("/api/approvals/admin/**").hasRole("ADMIN")
 						.requestMatchers("/api/policy/**").authenticated()
 						.anyRequest().authenticated()
 				)
-				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
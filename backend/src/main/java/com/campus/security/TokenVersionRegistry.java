@@ -0,0 +1,47 @@
+package com.campus.security;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.campus.repository.UserRepository;
+import com.campus.util.TransactionUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Current token version of every user whose version has ever been bumped, so the
+ * JWT filter can reject retired tokens from the signed claims alone. Loaded once at
+ * startup and kept current as versions are bumped; users missing from the map are at
+ * version 0. Bumps made by another application node are not seen.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry implements InitializingBean {
+
+	private final UserRepository userRepository;
+
+	private final Map<UUID, Integer> versions = new ConcurrentHashMap<>();
+
+	@Override
+	public void afterPropertiesSet() {
+		userRepository.findBumpedTokenVersions().forEach(row -> versions.put(row.getId(), row.getVersion()));
+		log.info("Loaded token versions of {} users", versions.size());
+	}
+
+	public boolean isCurrent(UUID userId, int tokenVersion) {
+		return versions.getOrDefault(userId, 0) == tokenVersion;
+	}
+
+	/**
+	 * Record a bumped version once the current transaction commits.
+	 */
+	public void bumped(UUID userId, int tokenVersion) {
+		TransactionUtil.afterCommit(() -> versions.merge(userId, tokenVersion, Math::max));
+	}
+}
@@ -22,17 +22,36 @@ public class UserPrincipal implements UserDetails {
 	private final String password;
 	private final Role role;
 	private final UserStatus status;
+	// Detached snapshot of the user, carried on the request so services need not reload it
+	private final User user;
 
-	public UserPrincipal(UUID id, String email, String password, Role role, UserStatus status) {
+	public UserPrincipal(UUID id, String email, String password, Role role, UserStatus status, User user) {
 		this.id = id;
 		this.email = email;
 		this.password = password;
 		this.role = role;
 		this.status = status;
+		this.user = user;
 	}
 
 	public static UserPrincipal from(User user) {
-		return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getStatus());
+		return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getStatus(), user);
+	}
+
+	/**
+	 * Principal for a verified access token. The user carries only the identity the
+	 * token was signed with; a token whose version is still current belongs to an
+	 * active user.
+	 */
+	public static UserPrincipal fromToken(UUID id, String email, Role role, int tokenVersion) {
+		User user = User.builder()
+				.email(email)
+				.role(role)
+				.status(UserStatus.ACTIVE)
+				.tokenVersion(tokenVersion)
+				.build();
+		user.setId(id);
+		return new UserPrincipal(id, email, null, role, UserStatus.ACTIVE, user);
 	}
 
 	@Override
@@ -3,8 +3,11 @@ package com.campus.service;
 import java.util.List;
 import java.util.UUID;
 
+import com.campus.dto.request.BulkDecisionRequest;
 import com.campus.dto.response.BookingResponse;
 import com.campus.dto.response.BookingStatsResponse;
+import com.campus.dto.response.BulkDecisionResponse;
+import com.campus.dto.response.CursorPageResponse;
 
 public interface ApprovalService {
 	BookingResponse staffApprove(UUID bookingId);
@@ -15,6 +18,10 @@ public interface ApprovalService {
 
 	BookingResponse adminReject(UUID bookingId);
 
+	BulkDecisionResponse staffDecideAll(BulkDecisionRequest request);
+
+	BulkDecisionResponse adminDecideAll(BulkDecisionRequest request);
+
 	List<BookingResponse> getPendingForStaff();
 
 	List<BookingResponse> getPendingForAdmin();
@@ -22,4 +29,8 @@ public interface ApprovalService {
 	List<BookingResponse> getStaffStudentBookings();
 
 	BookingStatsResponse getStaffBookingStats();
+
+	CursorPageResponse<BookingResponse> getPendingForAdminPage(String cursor, Integer limit);
+
+	CursorPageResponse<BookingResponse> getStaffStudentBookingsPage(String cursor, Integer limit);
 }
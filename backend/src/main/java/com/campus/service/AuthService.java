@@ -4,6 +4,7 @@ import java.util.Map;
 
 import com.campus.dto.request.ForgotPasswordRequest;
 import com.campus.dto.request.LoginRequest;
+import com.campus.dto.request.RefreshTokenRequest;
 import com.campus.dto.request.RegisterRequest;
 import com.campus.dto.request.ResetPasswordRequest;
 import com.campus.dto.request.VerifyOtpRequest;
@@ -14,6 +15,10 @@ public interface AuthService {
 
 	AuthResponse login(LoginRequest request);
 
+	AuthResponse refresh(RefreshTokenRequest request);
+
+	Map<String, String> logout(RefreshTokenRequest request);
+
 	Map<String, String> sendOtp(ForgotPasswordRequest request);
 
 	Map<String, String> verifyOtp(VerifyOtpRequest request);
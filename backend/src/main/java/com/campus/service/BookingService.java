@@ -1,14 +1,27 @@
 package com.campus.service;
 
 import com.campus.dto.request.CreateBookingRequest;
+import com.campus.dto.request.CreateRecurringBookingRequest;
 import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.dto.response.RecurringBookingResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
 	BookingResponse createBooking(CreateBookingRequest request);
 
+	RecurringBookingResponse createRecurringBooking(CreateRecurringBookingRequest request);
+
 	List<BookingResponse> getMyBookings();
 
 	List<BookingResponse> getAllBookings();
+
+	CursorPageResponse<BookingResponse> getMyBookingsPage(String cursor, Integer limit);
+
+	CursorPageResponse<BookingResponse> getAllBookingsPage(String cursor, Integer limit);
+
+	void exportAllBookings(OutputStream out) throws IOException;
 }
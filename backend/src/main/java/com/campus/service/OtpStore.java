@@ -0,0 +1,38 @@
+package com.campus.service;
+
+import java.time.Instant;
+
+/**
+ * Holds the one-time codes sent for password resets. At most one code per phone is
+ * live: saving a new code replaces the previous one. Each live code accepts a limited
+ * number of wrong guesses before it is locked.
+ * <p>
+ * Selected with {@code app.otp.store}: {@code database} (default) keeps codes in the
+ * {@code otp_tokens} table, {@code memory} keeps them on the heap for single-node
+ * deployments.
+ */
+public interface OtpStore {
+
+	void save(String phone, String otp, Instant expiresAt);
+
+	/**
+	 * Check a code without using it up, so that it can still be redeemed with
+	 * {@link #verify}. A wrong code counts as an attempt.
+	 */
+	Result check(String phone, String otp);
+
+	/**
+	 * Redeem a code. A matching code is consumed, a wrong one counts as an attempt.
+	 */
+	Result verify(String phone, String otp);
+
+	enum Result {
+		VERIFIED,
+		// A code is live but this one does not match it
+		MISMATCH,
+		// No live code for the phone, or it expired
+		MISSING,
+		// Too many wrong attempts; a new code has to be requested
+		LOCKED
+	}
+}
@@ -1,5 +1,9 @@
 package com.campus.service;
 
+import java.util.List;
+
+import com.campus.dto.request.UpdatePolicyRequest;
+import com.campus.dto.response.BookingPolicyResponse;
 import com.campus.dto.response.PolicyRemainingResponse;
 import com.campus.entity.BookingPolicy;
 import com.campus.entity.User;
@@ -9,4 +13,14 @@ public interface PolicyService {
 	BookingPolicy getPolicy(Role role);
 
 	PolicyRemainingResponse remainingForUser(User user);
+
+	List<BookingPolicyResponse> getAllPolicies();
+
+	BookingPolicyResponse updatePolicy(Role role, UpdatePolicyRequest request);
+
+	/**
+	 * Reload the cached policies from the database. Only this node's cache is
+	 * refreshed; other nodes keep their snapshot until they are refreshed themselves.
+	 */
+	void refreshPolicies();
 }
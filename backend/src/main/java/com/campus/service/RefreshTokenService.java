@@ -0,0 +1,24 @@
+package com.campus.service;
+
+import com.campus.entity.User;
+
+public interface RefreshTokenService {
+
+	/**
+	 * Start a new token family for a user and return the raw token for the client.
+	 */
+	String issue(User user);
+
+	/**
+	 * Exchange a refresh token for the next one in its family.
+	 */
+	Rotation rotate(String rawToken);
+
+	/**
+	 * Revoke the family the token belongs to; unknown tokens are ignored.
+	 */
+	void revoke(String rawToken);
+
+	record Rotation(User user, String refreshToken) {
+	}
+}
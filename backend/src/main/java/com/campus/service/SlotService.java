@@ -1,11 +1,28 @@
 package com.campus.service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import com.campus.dto.response.AvailabilityMatrixResponse;
 import com.campus.dto.response.TimeSlotResponse;
 
 public interface SlotService {
-	List<TimeSlotResponse> getAvailableSlots(UUID resourceId, LocalDate date);
+
+	/**
+	 * Slots of a resource-day along with an entity tag that changes whenever the
+	 * answer could; the tag is null when it cannot be derived yet.
+	 */
+	SlotAvailability getSlotAvailability(UUID resourceId, LocalDate date);
+
+	/**
+	 * Availability of every slot for a set of resources (by id, or all of a type) over
+	 * an inclusive date range, optionally packed as one bitmask per day.
+	 */
+	AvailabilityMatrixResponse getAvailabilityMatrix(Collection<UUID> resourceIds, String type,
+			LocalDate startDate, LocalDate endDate, boolean bitmask);
+
+	record SlotAvailability(String etag, List<TimeSlotResponse> slots) {
+	}
 }
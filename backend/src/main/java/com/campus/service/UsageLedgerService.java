@@ -0,0 +1,65 @@
+package com.campus.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.campus.entity.Booking;
+
+/**
+ * Per-user booking usage by day and month, maintained incrementally as bookings are
+ * created and released. Changes for a user are serialized by a lock on the user's row.
+ */
+public interface UsageLedgerService {
+
+	/**
+	 * Lock the user's ledger for the rest of the transaction and return the usage of
+	 * the given days and of the months containing them. Missing rows are seeded from
+	 * the bookings table first.
+	 */
+	UsageSnapshot lockUsage(UUID userId, Collection<LocalDate> dates);
+
+	/**
+	 * Read the usage of a day and its month without locking.
+	 */
+	UsageSnapshot readUsage(UUID userId, LocalDate date);
+
+	/**
+	 * Apply changes that have already been written to the bookings table in the
+	 * current transaction.
+	 */
+	void record(List<Change> changes);
+
+	record Totals(long bookings, long hours) {
+
+		public static final Totals NONE = new Totals(0, 0);
+	}
+
+	record UsageSnapshot(Map<LocalDate, Totals> days, Map<YearMonth, Totals> months) {
+
+		public Totals day(LocalDate date) {
+			return days.getOrDefault(date, Totals.NONE);
+		}
+
+		public Totals month(YearMonth month) {
+			return months.getOrDefault(month, Totals.NONE);
+		}
+	}
+
+	/**
+	 * One booking starting or stopping to count towards its owner's usage.
+	 */
+	record Change(UUID userId, LocalDate date, int bookings, int hours) {
+
+		public static Change added(Booking booking) {
+			return new Change(booking.getUserId(), booking.getBookingDate(), 1, booking.getDurationHours());
+		}
+
+		public static Change released(UUID userId, LocalDate date, int hours) {
+			return new Change(userId, date, -1, -hours);
+		}
+	}
+}
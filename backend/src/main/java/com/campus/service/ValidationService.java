@@ -1,10 +1,33 @@
 package com.campus.service;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
 import com.campus.dto.request.CreateBookingRequest;
 import com.campus.entity.User;
+import com.campus.enums.OccurrenceStatus;
 
 public interface ValidationService {
 	int calculateDurationHours(CreateBookingRequest request);
 
+	int calculateDurationHours(LocalTime startTime, LocalTime endTime);
+
 	void validateBookingCreation(User user, CreateBookingRequest request, int durationHours);
+
+	/**
+	 * Check each date of a recurring booking, counting earlier accepted occurrences
+	 * towards the quotas of later ones. Request-wide problems (time window, resource)
+	 * are thrown; per-date ones are reported in the verdicts, in the order given.
+	 */
+	List<OccurrenceVerdict> validateOccurrences(User user, UUID resourceId, List<LocalDate> dates,
+			LocalTime startTime, LocalTime endTime, int durationHours);
+
+	record OccurrenceVerdict(LocalDate date, OccurrenceStatus status, String message) {
+
+		public boolean accepted() {
+			return status == OccurrenceStatus.CREATED;
+		}
+	}
 }
@@ -1,178 +1,128 @@
 package com.campus.service.impl;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.campus.dto.request.BulkDecisionRequest;
 import com.campus.dto.response.BookingResponse;
 import com.campus.dto.response.BookingStatsResponse;
+import com.campus.dto.response.BulkDecisionResponse;
+import com.campus.dto.response.BulkDecisionResultResponse;
+import com.campus.dto.response.CursorPageResponse;
 import com.campus.entity.Booking;
 import com.campus.entity.BookingStatusHistory;
 import com.campus.entity.User;
 import com.campus.enums.ApprovalStage;
+import com.campus.enums.ApprovalTransition;
+import com.campus.enums.BookingDecision;
+import com.campus.enums.DecisionStatus;
 import com.campus.enums.Role;
-import com.campus.enums.VisibilityType;
+import com.campus.event.BookingChangedEvent;
+import com.campus.exception.BadRequestException;
 import com.campus.exception.ConflictException;
 import com.campus.exception.ResourceNotFoundException;
-import com.campus.mapper.BookingMapper;
 import com.campus.repository.BookingRepository;
 import com.campus.repository.BookingStatusHistoryRepository;
+import com.campus.repository.BookingViewRepository;
 import com.campus.repository.UserRepository;
+import com.campus.repository.projection.StageCount;
 import com.campus.service.ApprovalService;
-import com.campus.util.BookingResponseEnricher;
+import com.campus.service.UsageLedgerService;
+import com.campus.service.UsageLedgerService.Change;
+import com.campus.util.BookingMetrics;
+import com.campus.util.BookingOccupancyIndex;
+import com.campus.util.CursorUtil;
+import com.campus.util.CursorUtil.Cursor;
+import com.campus.util.IdGenerator;
 import com.campus.util.SecurityUtil;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "campus.service", histogram = true)
 @RequiredArgsConstructor
 public class ApprovalServiceImpl implements ApprovalService {
 
 	private final BookingRepository bookingRepository;
+	private final BookingViewRepository bookingViewRepository;
 	private final BookingStatusHistoryRepository historyRepository;
 	private final UserRepository userRepository;
-	private final BookingMapper bookingMapper;
-	private final BookingResponseEnricher enricher;
+	private final BookingOccupancyIndex occupancyIndex;
+	private final UsageLedgerService usageLedgerService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final BookingMetrics bookingMetrics;
+	private final IdGenerator idGenerator;
+
+	@Value("${app.approvals.bulk.max-size:500}")
+	private int maxBulkSize;
 
 	@Override
 	@Transactional
 	public BookingResponse staffApprove(UUID bookingId) {
-		User staff = currentUser();
-		if (staff.getRole() != Role.STAFF) {
-			throw new ConflictException("Only STAFF can approve at staff stage");
-		}
-
-		Booking booking = bookingRepository.findById(bookingId)
-				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-		if (booking.getApprovalStage() != ApprovalStage.PENDING_STAFF) {
-			throw new ConflictException("Booking is not pending staff approval");
-		}
-
-		User bookingOwner = userRepository.findById(booking.getUserId())
-				.orElseThrow(() -> new ResourceNotFoundException("Booking user not found"));
-		if (bookingOwner.getRole() == Role.STUDENT) {
-			if (bookingOwner.getAdvisorId() == null) {
-				throw new ConflictException("Student has no advisor assigned");
-			}
-			if (!bookingOwner.getAdvisorId().equals(staff.getId())) {
-				throw new ConflictException("Only the assigned advisor can approve this booking");
-			}
-		}
-
-		booking.setStaffApprovedBy(staff.getId());
-		booking.setStaffApprovedAt(Instant.now());
-		booking.setApprovalStage(ApprovalStage.PENDING_ADMIN);
-
-		Booking saved = bookingRepository.save(booking);
-		historyRepository.save(BookingStatusHistory.builder()
-				.bookingId(saved.getId())
-				.stage(saved.getApprovalStage())
-				.changedBy(staff.getId())
-				.build());
-		return enricher.enrich(bookingMapper.toResponse(saved));
+		return transition(bookingId, ApprovalTransition.STAFF_APPROVE);
 	}
 
 	@Override
 	@Transactional
 	public BookingResponse staffReject(UUID bookingId) {
-		User staff = currentUser();
-		if (staff.getRole() != Role.STAFF) {
-			throw new ConflictException("Only STAFF can reject at staff stage");
-		}
-
-		Booking booking = bookingRepository.findById(bookingId)
-				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-		if (booking.getApprovalStage() != ApprovalStage.PENDING_STAFF) {
-			throw new ConflictException("Booking is not pending staff approval");
-		}
-
-		User bookingOwner = userRepository.findById(booking.getUserId())
-				.orElseThrow(() -> new ResourceNotFoundException("Booking user not found"));
-		if (bookingOwner.getRole() == Role.STUDENT) {
-			if (bookingOwner.getAdvisorId() == null) {
-				throw new ConflictException("Student has no advisor assigned");
-			}
-			if (!bookingOwner.getAdvisorId().equals(staff.getId())) {
-				throw new ConflictException("Only the assigned advisor can reject this booking");
-			}
-		}
-
-		booking.setApprovalStage(ApprovalStage.REJECTED);
-
-		Booking saved = bookingRepository.save(booking);
-		historyRepository.save(BookingStatusHistory.builder()
-				.bookingId(saved.getId())
-				.stage(saved.getApprovalStage())
-				.changedBy(staff.getId())
-				.build());
-		return enricher.enrich(bookingMapper.toResponse(saved));
+		return transition(bookingId, ApprovalTransition.STAFF_REJECT);
 	}
 
 	@Override
 	@Transactional
 	public BookingResponse adminApprove(UUID bookingId) {
-		User admin = currentUser();
-		if (admin.getRole() != Role.ADMIN) {
-			throw new ConflictException("Only ADMIN can approve at admin stage");
-		}
+		User actor = currentUser();
+		requireActor(actor, ApprovalTransition.ADMIN_APPROVE);
 
-		Booking booking = bookingRepository.findById(bookingId)
-				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-		if (booking.getApprovalStage() != ApprovalStage.PENDING_ADMIN) {
-			throw new ConflictException("Booking is not pending admin approval");
+		// The update itself checks the owner's role and picks the outcome, so the stage
+		// the booking ended in says which approval it took
+		Instant now = Instant.now();
+		if (bookingRepository.approveByAdmin(bookingId, actor.getId(), now) != 1) {
+			throw transitionFailure(bookingId, ApprovalTransition.ADMIN_APPROVE, actor);
 		}
-
-		User bookingOwner = userRepository.findById(booking.getUserId())
-				.orElseThrow(() -> new ResourceNotFoundException("Booking user not found"));
-
-		booking.setAdminApprovedBy(admin.getId());
-		booking.setAdminApprovedAt(Instant.now());
-
-		if (bookingOwner.getRole() == Role.STAFF) {
-			booking.setApprovalStage(ApprovalStage.APPROVED_STAFF_ONLY);
-			booking.setVisibility(VisibilityType.STAFF_ONLY);
-		} else {
-			booking.setApprovalStage(ApprovalStage.APPROVED);
-			booking.setVisibility(VisibilityType.PUBLIC);
-		}
-
-		Booking saved = bookingRepository.save(booking);
-		historyRepository.save(BookingStatusHistory.builder()
-				.bookingId(saved.getId())
-				.stage(saved.getApprovalStage())
-				.changedBy(admin.getId())
-				.build());
-		return enricher.enrich(bookingMapper.toResponse(saved));
+		BookingResponse response = view(bookingId);
+		return applied(response, response.getApprovalStage() == ApprovalStage.APPROVED_STAFF_ONLY
+				? ApprovalTransition.ADMIN_APPROVE_STAFF_BOOKING
+				: ApprovalTransition.ADMIN_APPROVE, actor, now);
 	}
 
 	@Override
 	@Transactional
 	public BookingResponse adminReject(UUID bookingId) {
-		User admin = currentUser();
-		if (admin.getRole() != Role.ADMIN) {
-			throw new ConflictException("Only ADMIN can reject at admin stage");
-		}
-
-		Booking booking = bookingRepository.findById(bookingId)
-				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-		if (booking.getApprovalStage() != ApprovalStage.PENDING_ADMIN) {
-			throw new ConflictException("Booking is not pending admin approval");
-		}
+		return transition(bookingId, ApprovalTransition.ADMIN_REJECT);
+	}
 
-		booking.setApprovalStage(ApprovalStage.REJECTED);
+	@Override
+	@Transactional
+	public BulkDecisionResponse staffDecideAll(BulkDecisionRequest request) {
+		return decideAll(Role.STAFF, request);
+	}
 
-		Booking saved = bookingRepository.save(booking);
-		historyRepository.save(BookingStatusHistory.builder()
-				.bookingId(saved.getId())
-				.stage(saved.getApprovalStage())
-				.changedBy(admin.getId())
-				.build());
-		return enricher.enrich(bookingMapper.toResponse(saved));
+	@Override
+	@Transactional
+	public BulkDecisionResponse adminDecideAll(BulkDecisionRequest request) {
+		return decideAll(Role.ADMIN, request);
 	}
 
 	@Override
@@ -182,9 +132,7 @@ public class ApprovalServiceImpl implements ApprovalService {
 		if (staff.getRole() != Role.STAFF) {
 			throw new ConflictException("Only STAFF can view pending staff approvals");
 		}
-		List<Booking> bookings = bookingRepository.findByApprovalStageAndAdvisorId(
-				ApprovalStage.PENDING_STAFF, staff.getId());
-		return enricher.enrichAll(bookings.stream().map(bookingMapper::toResponse).toList());
+		return bookingViewRepository.findByApprovalStageAndAdvisorId(ApprovalStage.PENDING_STAFF, staff.getId());
 	}
 
 	@Override
@@ -194,9 +142,7 @@ public class ApprovalServiceImpl implements ApprovalService {
 		if (admin.getRole() != Role.ADMIN) {
 			throw new ConflictException("Only ADMIN can view pending admin approvals");
 		}
-		List<Booking> bookings = bookingRepository.findByApprovalStageOrderByCreatedAtDesc(
-				ApprovalStage.PENDING_ADMIN);
-		return enricher.enrichAll(bookings.stream().map(bookingMapper::toResponse).toList());
+		return bookingViewRepository.findByApprovalStage(ApprovalStage.PENDING_ADMIN);
 	}
 
 	@Override
@@ -206,8 +152,7 @@ public class ApprovalServiceImpl implements ApprovalService {
 		if (staff.getRole() != Role.STAFF) {
 			throw new ConflictException("Only STAFF can view student bookings");
 		}
-		List<Booking> bookings = bookingRepository.findAllByAdvisorId(staff.getId());
-		return enricher.enrichAll(bookings.stream().map(bookingMapper::toResponse).toList());
+		return bookingViewRepository.findByAdvisorId(staff.getId());
 	}
 
 	@Override
@@ -218,13 +163,17 @@ public class ApprovalServiceImpl implements ApprovalService {
 			throw new ConflictException("Only STAFF can view booking stats");
 		}
 		
-		long total = bookingRepository.countAllByAdvisorId(staff.getId());
-		long pending = bookingRepository.countByApprovalStageAndAdvisorId(ApprovalStage.PENDING_STAFF, staff.getId())
-				+ bookingRepository.countByApprovalStageAndAdvisorId(ApprovalStage.PENDING_ADMIN, staff.getId());
-		long approved = bookingRepository.countByApprovalStageAndAdvisorId(ApprovalStage.APPROVED, staff.getId())
-				+ bookingRepository.countByApprovalStageAndAdvisorId(ApprovalStage.APPROVED_STAFF_ONLY, staff.getId());
-		long rejected = bookingRepository.countByApprovalStageAndAdvisorId(ApprovalStage.REJECTED, staff.getId());
-		
+		Map<ApprovalStage, Long> byStage = new EnumMap<>(ApprovalStage.class);
+		for (StageCount count : bookingRepository.countByStageForAdvisor(staff.getId())) {
+			byStage.put(count.getStage(), count.getTotal());
+		}
+		long total = byStage.values().stream().mapToLong(Long::longValue).sum();
+		long pending = byStage.getOrDefault(ApprovalStage.PENDING_STAFF, 0L)
+				+ byStage.getOrDefault(ApprovalStage.PENDING_ADMIN, 0L);
+		long approved = byStage.getOrDefault(ApprovalStage.APPROVED, 0L)
+				+ byStage.getOrDefault(ApprovalStage.APPROVED_STAFF_ONLY, 0L);
+		long rejected = byStage.getOrDefault(ApprovalStage.REJECTED, 0L);
+
 		return BookingStatsResponse.builder()
 				.totalBookings(total)
 				.pendingBookings(pending)
@@ -233,9 +182,274 @@ public class ApprovalServiceImpl implements ApprovalService {
 				.build();
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<BookingResponse> getPendingForAdminPage(String cursor, Integer limit) {
+		User admin = currentUser();
+		if (admin.getRole() != Role.ADMIN) {
+			throw new ConflictException("Only ADMIN can view pending admin approvals");
+		}
+		Cursor after = CursorUtil.decode(cursor);
+		int pageSize = CursorUtil.pageSize(limit);
+		Pageable pageable = PageRequest.of(0, pageSize + 1);
+		List<BookingResponse> rows = after == null
+				? bookingViewRepository.findFirstPageByApprovalStage(ApprovalStage.PENDING_ADMIN, pageable)
+				: bookingViewRepository.findPageByApprovalStageAfter(ApprovalStage.PENDING_ADMIN, after.createdAt(), after.id(), pageable);
+		return toPage(rows, pageSize);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<BookingResponse> getStaffStudentBookingsPage(String cursor, Integer limit) {
+		User staff = currentUser();
+		if (staff.getRole() != Role.STAFF) {
+			throw new ConflictException("Only STAFF can view student bookings");
+		}
+		Cursor after = CursorUtil.decode(cursor);
+		int pageSize = CursorUtil.pageSize(limit);
+		Pageable pageable = PageRequest.of(0, pageSize + 1);
+		List<BookingResponse> rows = after == null
+				? bookingViewRepository.findFirstPageByAdvisorId(staff.getId(), pageable)
+				: bookingViewRepository.findPageByAdvisorIdAfter(staff.getId(), after.createdAt(), after.id(), pageable);
+		return toPage(rows, pageSize);
+	}
+
+	private CursorPageResponse<BookingResponse> toPage(List<BookingResponse> rows, int pageSize) {
+		return CursorUtil.toPage(rows, pageSize, response -> CursorUtil.encode(response.getCreatedAt(), response.getId()));
+	}
+
+	/**
+	 * Apply the transition as one conditional update. Only when it does not match is
+	 * the booking read to explain why.
+	 */
+	private BookingResponse transition(UUID bookingId, ApprovalTransition transition) {
+		User actor = currentUser();
+		requireActor(actor, transition);
+
+		Instant now = Instant.now();
+		if (apply(List.of(bookingId), transition, actor, now, null) != 1) {
+			throw transitionFailure(bookingId, transition, actor);
+		}
+		return applied(view(bookingId), transition, actor, now);
+	}
+
+	/**
+	 * The booking as the response and event carry it. Read back after the update since
+	 * the view joins in the owner and resource details that the update never sees.
+	 */
+	private BookingResponse view(UUID bookingId) {
+		return bookingViewRepository.findViewById(bookingId)
+				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+	}
+
+	/**
+	 * Everything that follows an applied transition: metrics, history, released usage
+	 * and the change event.
+	 */
+	private BookingResponse applied(BookingResponse response, ApprovalTransition transition, User actor, Instant now) {
+		bookingMetrics.transitioned(transition, 1);
+		historyRepository.save(history(response.getId(), transition, actor, now));
+		if (transition.releasesSlot()) {
+			usageLedgerService.record(List.of(Change.released(response.getUserId(), response.getBookingDate(), response.getDurationHours())));
+			occupancyIndex.release(response.getId(), response.getResourceId(), response.getBookingDate());
+		}
+		eventPublisher.publishEvent(new BookingChangedEvent(response, transition.getFrom(), advisorFor(transition, actor)));
+		return response;
+	}
+
+	/**
+	 * Apply one decision to many bookings. Bookings and their owners are loaded with one
+	 * query each, each transition is applied to its whole group in a single update and
+	 * the history rows go in as one batch. Bookings that cannot take the decision are
+	 * reported per id rather than failing the rest.
+	 */
+	private BulkDecisionResponse decideAll(Role actorRole, BulkDecisionRequest request) {
+		User actor = currentUser();
+		requireActor(actor, transitionFor(actorRole, request.getDecision(), null));
+
+		Set<UUID> ids = new LinkedHashSet<>(request.getBookingIds());
+		if (ids.size() > maxBulkSize) {
+			throw new BadRequestException("A bulk decision cannot cover more than " + maxBulkSize + " bookings");
+		}
+
+		Map<UUID, Booking> bookings = new HashMap<>();
+		bookingRepository.findAllById(ids).forEach(booking -> bookings.put(booking.getId(), booking));
+		Map<UUID, User> owners = new HashMap<>();
+		userRepository.findAllById(bookings.values().stream().map(Booking::getUserId).collect(Collectors.toSet()))
+				.forEach(owner -> owners.put(owner.getId(), owner));
+
+		Map<UUID, BulkDecisionResultResponse> results = new HashMap<>();
+		Map<ApprovalTransition, Map<UUID, Booking>> groups = new EnumMap<>(ApprovalTransition.class);
+		for (UUID id : ids) {
+			Booking booking = bookings.get(id);
+			if (booking == null) {
+				results.put(id, failure(id, DecisionStatus.NOT_FOUND, "Booking not found"));
+				continue;
+			}
+			User owner = owners.get(booking.getUserId());
+			if (owner == null) {
+				results.put(id, failure(id, DecisionStatus.NOT_FOUND, "Booking user not found"));
+				continue;
+			}
+			ApprovalTransition transition = transitionFor(actorRole, request.getDecision(), owner);
+			String violation = booking.getApprovalStage() != transition.getFrom()
+					? "Booking is not pending " + stageName(transition) + " approval"
+					: ownerViolation(transition, owner, actor);
+			if (violation != null) {
+				results.put(id, failure(id, DecisionStatus.CONFLICT, violation));
+				continue;
+			}
+			groups.computeIfAbsent(transition, t -> new LinkedHashMap<>()).put(id, booking);
+		}
+
+		Instant now = Instant.now();
+		UUID decisionId = idGenerator.next();
+		List<BookingStatusHistory> historyRows = new ArrayList<>();
+		List<Change> released = new ArrayList<>();
+		for (Map.Entry<ApprovalTransition, Map<UUID, Booking>> group : groups.entrySet()) {
+			ApprovalTransition transition = group.getKey();
+			Map<UUID, Booking> members = group.getValue();
+			// A competing decision may have moved some rows first; only rows carrying this
+			// decision's id were moved by it
+			Set<UUID> applied = apply(members.keySet(), transition, actor, now, decisionId) == members.size()
+					? members.keySet()
+					: Set.copyOf(bookingRepository.findIdsByDecision(members.keySet(), decisionId));
+			for (UUID id : members.keySet()) {
+				if (!applied.contains(id)) {
+					results.put(id, failure(id, DecisionStatus.CONFLICT, "Booking was changed concurrently, please try again"));
+				}
+			}
+			if (applied.isEmpty()) {
+				continue;
+			}
+			bookingMetrics.transitioned(transition, applied.size());
+			for (BookingResponse view : bookingViewRepository.findViewsByIdIn(applied)) {
+				historyRows.add(history(view.getId(), transition, actor, now));
+				if (transition.releasesSlot()) {
+					Booking booking = members.get(view.getId());
+					released.add(Change.released(booking.getUserId(), booking.getBookingDate(), booking.getDurationHours()));
+					occupancyIndex.release(booking.getId(), booking.getResourceId(), booking.getBookingDate());
+				}
+				eventPublisher.publishEvent(new BookingChangedEvent(view, transition.getFrom(), advisorFor(transition, actor)));
+				results.put(view.getId(), BulkDecisionResultResponse.builder()
+						.bookingId(view.getId())
+						.status(DecisionStatus.APPLIED)
+						.booking(view)
+						.build());
+			}
+		}
+		// Inserted as JDBC batches at commit (see JpaConfig)
+		historyRepository.saveAll(historyRows);
+		usageLedgerService.record(released);
+
+		List<BulkDecisionResultResponse> ordered = ids.stream()
+				.map(id -> results.getOrDefault(id, failure(id, DecisionStatus.NOT_FOUND, "Booking not found")))
+				.toList();
+		return BulkDecisionResponse.builder()
+				.requestedCount(ids.size())
+				.appliedCount(historyRows.size())
+				.results(ordered)
+				.build();
+	}
+
+	/**
+	 * The transition a decision maps to for the actor's role. Admin approvals depend
+	 * on the owner; without one the public approval is returned.
+	 */
+	private static ApprovalTransition transitionFor(Role actorRole, BookingDecision decision, User owner) {
+		if (actorRole == Role.STAFF) {
+			return decision == BookingDecision.APPROVE ? ApprovalTransition.STAFF_APPROVE : ApprovalTransition.STAFF_REJECT;
+		}
+		if (decision == BookingDecision.REJECT) {
+			return ApprovalTransition.ADMIN_REJECT;
+		}
+		return owner != null && owner.getRole() == Role.STAFF
+				? ApprovalTransition.ADMIN_APPROVE_STAFF_BOOKING
+				: ApprovalTransition.ADMIN_APPROVE;
+	}
+
+	private void requireActor(User actor, ApprovalTransition transition) {
+		if (actor.getRole() != transition.getActorRole()) {
+			throw new ConflictException("Only " + transition.getActorRole() + " can " + transition.getAction()
+					+ " at " + stageName(transition) + " stage");
+		}
+	}
+
+	private int apply(Collection<UUID> bookingIds, ApprovalTransition transition, User actor, Instant now, UUID decisionId) {
+		boolean staffApproval = transition.getApprover() == ApprovalTransition.Approver.STAFF;
+		boolean adminApproval = transition.getApprover() == ApprovalTransition.Approver.ADMIN;
+		return bookingRepository.transitionAll(bookingIds, transition.getFrom(), transition.getTo(),
+				transition.getVisibility(),
+				staffApproval ? actor.getId() : null, staffApproval ? now : null,
+				adminApproval ? actor.getId() : null, adminApproval ? now : null,
+				now, decisionId,
+				transition.getOwnerRule() == ApprovalTransition.OwnerRule.STAFF_OWNER ? Role.STAFF : null,
+				transition.getOwnerRule() == ApprovalTransition.OwnerRule.ADVISEE_OF_ACTOR ? actor.getId() : null);
+	}
+
+	private RuntimeException transitionFailure(UUID bookingId, ApprovalTransition transition, User actor) {
+		Booking booking = bookingRepository.findById(bookingId)
+				.orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+		if (booking.getApprovalStage() != transition.getFrom()) {
+			return new ConflictException("Booking is not pending " + stageName(transition) + " approval");
+		}
+		if (transition.getOwnerRule() == ApprovalTransition.OwnerRule.ADVISEE_OF_ACTOR) {
+			User bookingOwner = userRepository.findById(booking.getUserId())
+					.orElseThrow(() -> new ResourceNotFoundException("Booking user not found"));
+			String violation = ownerViolation(transition, bookingOwner, actor);
+			if (violation != null) {
+				return new ConflictException(violation);
+			}
+		}
+		return new ConflictException("Booking was changed concurrently, please try again");
+	}
+
+	/**
+	 * Why the owner rules out the transition for this actor, or null when it does not.
+	 */
+	private static String ownerViolation(ApprovalTransition transition, User owner, User actor) {
+		if (transition.getOwnerRule() != ApprovalTransition.OwnerRule.ADVISEE_OF_ACTOR || owner.getRole() != Role.STUDENT) {
+			return null;
+		}
+		if (owner.getAdvisorId() == null) {
+			return "Student has no advisor assigned";
+		}
+		if (!owner.getAdvisorId().equals(actor.getId())) {
+			return "Only the assigned advisor can " + transition.getAction() + " this booking";
+		}
+		return null;
+	}
+
+	/**
+	 * Staff decisions only ever reach their own advisees, so the acting staff member
+	 * is the advisor whose queue changed; admin decisions leave staff queues alone.
+	 */
+	private static UUID advisorFor(ApprovalTransition transition, User actor) {
+		return transition.getActorRole() == Role.STAFF ? actor.getId() : null;
+	}
+
+	private static BookingStatusHistory history(UUID bookingId, ApprovalTransition transition, User actor, Instant now) {
+		return BookingStatusHistory.builder()
+				.bookingId(bookingId)
+				.stage(transition.getTo())
+				.changedBy(actor.getId())
+				.changedAt(now)
+				.build();
+	}
+
+	private static BulkDecisionResultResponse failure(UUID bookingId, DecisionStatus status, String message) {
+		return BulkDecisionResultResponse.builder()
+				.bookingId(bookingId)
+				.status(status)
+				.message(message)
+				.build();
+	}
+
+	private static String stageName(ApprovalTransition transition) {
+		return transition.getActorRole().name().toLowerCase();
+	}
+
 	private User currentUser() {
-		String email = SecurityUtil.requireCurrentUsername();
-		return userRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		return SecurityUtil.requireCurrentUser();
 	}
 }
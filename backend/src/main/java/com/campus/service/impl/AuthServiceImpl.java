@@ -14,28 +14,32 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.campus.dto.request.ForgotPasswordRequest;
 import com.campus.dto.request.LoginRequest;
+import com.campus.dto.request.RefreshTokenRequest;
 import com.campus.dto.request.RegisterRequest;
 import com.campus.dto.request.ResetPasswordRequest;
 import com.campus.dto.request.VerifyOtpRequest;
 import com.campus.dto.response.AuthResponse;
 import com.campus.dto.response.UserResponse;
-import com.campus.entity.OtpToken;
 import com.campus.entity.User;
 import com.campus.enums.Role;
 import com.campus.enums.UserStatus;
 import com.campus.exception.ConflictException;
 import com.campus.exception.ResourceNotFoundException;
 import com.campus.mapper.UserMapper;
-import com.campus.repository.OtpTokenRepository;
 import com.campus.repository.UserRepository;
 import com.campus.security.JwtTokenProvider;
+import com.campus.security.TokenVersionRegistry;
 import com.campus.service.AuthService;
+import com.campus.service.OtpStore;
+import com.campus.service.RefreshTokenService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "campus.service", histogram = true)
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
@@ -43,11 +47,13 @@ public class AuthServiceImpl implements AuthService {
 	private static final Random RANDOM = new Random();
 
 	private final UserRepository userRepository;
-	private final OtpTokenRepository otpTokenRepository;
+	private final OtpStore otpStore;
 	private final PasswordEncoder passwordEncoder;
 	private final AuthenticationManager authenticationManager;
 	private final JwtTokenProvider jwtTokenProvider;
 	private final UserMapper userMapper;
+	private final TokenVersionRegistry tokenVersions;
+	private final RefreshTokenService refreshTokenService;
 
 	@Override
 	@Transactional
@@ -86,9 +92,9 @@ public class AuthServiceImpl implements AuthService {
 				.build();
 
 		User saved = userRepository.save(user);
-		String token = jwtTokenProvider.generateToken(saved.getEmail());
+		String token = jwtTokenProvider.generateToken(saved);
 		UserResponse userResponse = userMapper.toResponse(saved);
-		return new AuthResponse(token, "Bearer", userResponse);
+		return new AuthResponse(token, "Bearer", userResponse, null, refreshTokenService.issue(saved));
 	}
 
 	@Override
@@ -106,17 +112,19 @@ public class AuthServiceImpl implements AuthService {
 			throw new ConflictException("This account is not authorized for " + portalName + " login. Please use the correct login portal.");
 		}
 
-		// Role-based session expiration
-		// STUDENT: 5 minutes, STAFF: 10 minutes, ADMIN: 1 day
-		long expirationMs = switch (user.getRole()) {
-			case STUDENT -> 5 * 60 * 1000L;      // 5 minutes
-			case STAFF -> 10 * 60 * 1000L;       // 10 minutes
-			case ADMIN -> 24 * 60 * 60 * 1000L;  // 1 day
-		};
+		return issueTokens(user, refreshTokenService.issue(user));
+	}
 
-		String token = jwtTokenProvider.generateToken(authentication.getName(), expirationMs);
-		long expiresAt = jwtTokenProvider.getExpirationTime(expirationMs);
-		return new AuthResponse(token, "Bearer", userMapper.toResponse(user), expiresAt);
+	@Override
+	public AuthResponse refresh(RefreshTokenRequest request) {
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+		return issueTokens(rotation.user(), rotation.refreshToken());
+	}
+
+	@Override
+	public Map<String, String> logout(RefreshTokenRequest request) {
+		refreshTokenService.revoke(request.getRefreshToken());
+		return Map.of("message", "Logged out successfully");
 	}
 
 	@Override
@@ -134,13 +142,7 @@ public class AuthServiceImpl implements AuthService {
 		// Generate 6-digit OTP
 		String otp = String.format("%06d", RANDOM.nextInt(999999));
 
-		OtpToken otpToken = OtpToken.builder()
-				.phone(phone)
-				.otp(otp)
-				.verified(false)
-				.expiresAt(Instant.now().plusSeconds(OTP_EXPIRY_MINUTES * 60L))
-				.build();
-		otpTokenRepository.save(otpToken);
+		otpStore.save(phone, otp, Instant.now().plusSeconds(OTP_EXPIRY_MINUTES * 60L));
 
 		// TODO: Integrate with SMS gateway (e.g., Twilio) to send OTP via SMS
 		// For now, logging the OTP for development/testing purposes
@@ -155,42 +157,26 @@ public class AuthServiceImpl implements AuthService {
 	}
 
 	@Override
-	@Transactional
+	// A wrong code still has to count as an attempt
+	@Transactional(noRollbackFor = ConflictException.class)
 	public Map<String, String> verifyOtp(VerifyOtpRequest request) {
 		String phone = request.getPhone().trim();
 		String otp = request.getOtp().trim();
 
-		OtpToken otpToken = otpTokenRepository
-				.findTopByPhoneAndVerifiedFalseAndExpiresAtAfterOrderByCreatedAtDesc(phone, Instant.now())
-				.orElseThrow(() -> new ConflictException("Invalid or expired OTP"));
-
-		if (!otpToken.getOtp().equals(otp)) {
-			throw new ConflictException("Invalid OTP");
-		}
-
-		otpToken.setVerified(true);
-		otpTokenRepository.save(otpToken);
+		// Only checked here; the code is redeemed by the reset that follows
+		requireVerified(otpStore.check(phone, otp));
 
 		return Map.of("message", "OTP verified successfully. You can now reset your password.");
 	}
 
 	@Override
-	@Transactional
+	@Transactional(noRollbackFor = ConflictException.class)
 	public Map<String, String> resetPassword(ResetPasswordRequest request) {
 		String phone = request.getPhone().trim();
 		String otp = request.getOtp().trim();
 
-		// Verify the OTP was previously verified
-		OtpToken otpToken = otpTokenRepository
-				.findTopByPhoneAndVerifiedFalseAndExpiresAtAfterOrderByCreatedAtDesc(phone, Instant.now())
-				.orElse(null);
-
-		// Check for a verified OTP token
-		if (otpToken != null && otpToken.getOtp().equals(otp)) {
-			// OTP exists but not verified yet - verify inline
-			otpToken.setVerified(true);
-			otpTokenRepository.save(otpToken);
-		}
+		// Redeem the code; without a live matching one nothing is changed
+		requireVerified(otpStore.verify(phone, otp));
 
 		// Find user by phone
 		User user = userRepository.findByPhone(phone)
@@ -198,10 +184,36 @@ public class AuthServiceImpl implements AuthService {
 
 		// Update password
 		user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+		user.setTokenVersion(user.getTokenVersion() + 1);
 		userRepository.save(user);
+		tokenVersions.bumped(user.getId(), user.getTokenVersion());
 
 		log.info("Password reset successfully for phone: {}", phone);
 
 		return Map.of("message", "Password has been reset successfully. You can now login with your new password.");
 	}
+
+	private static void requireVerified(OtpStore.Result result) {
+		switch (result) {
+			case MISSING -> throw new ConflictException("Invalid or expired OTP");
+			case MISMATCH -> throw new ConflictException("Invalid OTP");
+			case LOCKED -> throw new ConflictException("Too many invalid attempts, please request a new OTP");
+			case VERIFIED -> {
+			}
+		}
+	}
+
+	private AuthResponse issueTokens(User user, String refreshToken) {
+		// Role-based session expiration
+		// STUDENT: 5 minutes, STAFF: 10 minutes, ADMIN: 1 day
+		long expirationMs = switch (user.getRole()) {
+			case STUDENT -> 5 * 60 * 1000L;      // 5 minutes
+			case STAFF -> 10 * 60 * 1000L;       // 10 minutes
+			case ADMIN -> 24 * 60 * 60 * 1000L;  // 1 day
+		};
+
+		String token = jwtTokenProvider.generateToken(user, expirationMs);
+		long expiresAt = jwtTokenProvider.getExpirationTime(expirationMs);
+		return new AuthResponse(token, "Bearer", userMapper.toResponse(user), expiresAt, refreshToken);
+	}
 }
@@ -1,51 +1,103 @@
 package com.campus.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.campus.dto.request.CreateBookingRequest;
+import com.campus.dto.request.CreateRecurringBookingRequest;
 import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.dto.response.OccurrenceResultResponse;
+import com.campus.dto.response.RecurringBookingResponse;
 import com.campus.entity.Booking;
 import com.campus.entity.BookingStatusHistory;
 import com.campus.entity.User;
 import com.campus.enums.ApprovalStage;
+import com.campus.enums.RecurrenceFrequency;
+import com.campus.enums.Role;
 import com.campus.enums.VisibilityType;
-import com.campus.exception.ResourceNotFoundException;
+import com.campus.event.BookingChangedEvent;
+import com.campus.exception.ConflictException;
 import com.campus.mapper.BookingMapper;
 import com.campus.repository.BookingRepository;
 import com.campus.repository.BookingStatusHistoryRepository;
+import com.campus.repository.BookingViewRepository;
 import com.campus.repository.UserRepository;
 import com.campus.service.BookingService;
+import com.campus.service.UsageLedgerService;
+import com.campus.service.UsageLedgerService.Change;
 import com.campus.service.ValidationService;
+import com.campus.service.ValidationService.OccurrenceVerdict;
+import com.campus.util.BookingAdmissionLocks;
+import com.campus.util.BookingAdmissionLocks.Admission;
+import com.campus.util.BookingOccupancyIndex;
 import com.campus.util.BookingResponseEnricher;
+import com.campus.util.CursorUtil;
+import com.campus.util.CursorUtil.Cursor;
 import com.campus.util.SecurityUtil;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
 
 @Slf4j
 @Service
+@Timed(value = "campus.service", histogram = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
-	private final UserRepository userRepository;
+	private static final int EXPORT_CHUNK_SIZE = 500;
+
 	private final BookingRepository bookingRepository;
+	private final BookingViewRepository bookingViewRepository;
+	private final UserRepository userRepository;
 	private final BookingStatusHistoryRepository historyRepository;
 	private final ValidationService validationService;
+	private final UsageLedgerService usageLedgerService;
 	private final BookingMapper bookingMapper;
 	private final BookingResponseEnricher enricher;
+	private final BookingOccupancyIndex occupancyIndex;
+	private final BookingAdmissionLocks admissionLocks;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
 
+	@Value("${app.booking.recurring.max-occurrences:60}")
+	private int maxOccurrences;
+
+	/**
+	 * Admission for the resource-day is taken before the transaction opens and released
+	 * after it has completed, so requests queued behind a competing one wait without
+	 * holding a pooled connection.
+	 */
 	@Override
-	@Transactional
 	public BookingResponse createBooking(CreateBookingRequest request) {
-		String email = SecurityUtil.requireCurrentUsername();
-		User user = userRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		User user = SecurityUtil.requireCurrentUser();
 
 		int durationHours = validationService.calculateDurationHours(request);
+
+		try (Admission admission = admissionLocks.acquire(request.getResourceId(), request.getBookingDate())) {
+			return transactionTemplate.execute(status -> insertBooking(user, request, durationHours));
+		}
+	}
+
+	private BookingResponse insertBooking(User user, CreateBookingRequest request, int durationHours) {
 		validationService.validateBookingCreation(user, request, durationHours);
 
 		Booking booking = Booking.builder()
@@ -57,6 +109,149 @@ public class BookingServiceImpl implements BookingService {
 				.durationHours(durationHours)
 				.build();
 
+		applyInitialStage(booking, user);
+
+		Booking saved = bookingRepository.save(booking);
+		historyRepository.save(BookingStatusHistory.builder()
+				.bookingId(saved.getId())
+				.stage(saved.getApprovalStage())
+				.changedBy(user.getId())
+				.build());
+		usageLedgerService.record(List.of(Change.added(saved)));
+		occupancyIndex.occupy(saved);
+
+		BookingResponse response = enricher.enrich(bookingMapper.toResponse(saved));
+		eventPublisher.publishEvent(new BookingChangedEvent(response, null, advisorOf(user)));
+		return response;
+	}
+
+	@Override
+	public RecurringBookingResponse createRecurringBooking(CreateRecurringBookingRequest request) {
+		List<LocalDate> dates = expandOccurrences(request);
+		User user = SecurityUtil.requireCurrentUser();
+
+		int durationHours = validationService.calculateDurationHours(request.getStartTime(), request.getEndTime());
+		// Admission outside the transaction, as in createBooking
+		try (Admission admission = admissionLocks.acquireAll(request.getResourceId(), dates)) {
+			return transactionTemplate.execute(status -> insertSeries(user, request, dates, durationHours));
+		}
+	}
+
+	private RecurringBookingResponse insertSeries(User user, CreateRecurringBookingRequest request, List<LocalDate> dates,
+			int durationHours) {
+		List<OccurrenceVerdict> verdicts = validationService.validateOccurrences(user, request.getResourceId(), dates,
+				request.getStartTime(), request.getEndTime(), durationHours);
+
+		List<Booking> bookings = new ArrayList<>();
+		for (OccurrenceVerdict verdict : verdicts) {
+			if (verdict.accepted()) {
+				Booking booking = Booking.builder()
+						.userId(user.getId())
+						.resourceId(request.getResourceId())
+						.bookingDate(verdict.date())
+						.startTime(request.getStartTime())
+						.endTime(request.getEndTime())
+						.durationHours(durationHours)
+						.build();
+				applyInitialStage(booking, user);
+				bookings.add(booking);
+			}
+		}
+
+		// Inserts are flushed as JDBC batches at commit (see JpaConfig)
+		List<Booking> saved = bookingRepository.saveAll(bookings);
+		historyRepository.saveAll(saved.stream()
+				.map(booking -> BookingStatusHistory.builder()
+						.bookingId(booking.getId())
+						.stage(booking.getApprovalStage())
+						.changedBy(user.getId())
+						.build())
+				.toList());
+		usageLedgerService.record(saved.stream().map(Change::added).toList());
+		saved.forEach(occupancyIndex::occupy);
+
+		Map<LocalDate, BookingResponse> created = new HashMap<>();
+		UUID advisorId = saved.isEmpty() ? null : advisorOf(user);
+		for (BookingResponse response : enricher.enrichAll(saved.stream().map(bookingMapper::toResponse).toList())) {
+			created.put(response.getBookingDate(), response);
+			eventPublisher.publishEvent(new BookingChangedEvent(response, null, advisorId));
+		}
+		List<OccurrenceResultResponse> occurrences = verdicts.stream()
+				.map(verdict -> OccurrenceResultResponse.builder()
+						.bookingDate(verdict.date())
+						.status(verdict.status())
+						.message(verdict.message())
+						.booking(created.get(verdict.date()))
+						.build())
+				.toList();
+
+		return RecurringBookingResponse.builder()
+				.requestedCount(dates.size())
+				.createdCount(saved.size())
+				.occurrences(occurrences)
+				.build();
+	}
+
+	@Override
+	public List<BookingResponse> getMyBookings() {
+		User user = SecurityUtil.requireCurrentUser();
+		return bookingViewRepository.findByUserId(user.getId());
+	}
+
+	@Override
+	public List<BookingResponse> getAllBookings() {
+		return bookingViewRepository.findAllViews();
+	}
+
+	@Override
+	public CursorPageResponse<BookingResponse> getMyBookingsPage(String cursor, Integer limit) {
+		User user = SecurityUtil.requireCurrentUser();
+		Cursor after = CursorUtil.decode(cursor);
+		int pageSize = CursorUtil.pageSize(limit);
+		Pageable pageable = PageRequest.of(0, pageSize + 1);
+		List<BookingResponse> rows = after == null
+				? bookingViewRepository.findFirstPageByUserId(user.getId(), pageable)
+				: bookingViewRepository.findPageByUserIdAfter(user.getId(), after.createdAt(), after.id(), pageable);
+		return toPage(rows, pageSize);
+	}
+
+	@Override
+	public CursorPageResponse<BookingResponse> getAllBookingsPage(String cursor, Integer limit) {
+		Cursor after = CursorUtil.decode(cursor);
+		int pageSize = CursorUtil.pageSize(limit);
+		Pageable pageable = PageRequest.of(0, pageSize + 1);
+		List<BookingResponse> rows = after == null
+				? bookingViewRepository.findFirstPage(pageable)
+				: bookingViewRepository.findPageAfter(after.createdAt(), after.id(), pageable);
+		return toPage(rows, pageSize);
+	}
+
+	/**
+	 * Write every booking as newline-delimited JSON, newest first. Rows are read in
+	 * keyset chunks and flushed as they go, so memory stays flat however long the
+	 * history is. All chunks are read in one read-only transaction so the export is
+	 * a single consistent snapshot.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportAllBookings(OutputStream out) throws IOException {
+		Pageable chunk = PageRequest.of(0, EXPORT_CHUNK_SIZE);
+		List<BookingResponse> rows = bookingViewRepository.findFirstPage(chunk);
+		while (!rows.isEmpty()) {
+			for (BookingResponse response : rows) {
+				out.write(objectMapper.writeValueAsBytes(response));
+				out.write('\n');
+			}
+			out.flush();
+			BookingResponse last = rows.get(rows.size() - 1);
+			rows = bookingViewRepository.findPageAfter(last.getCreatedAt(), last.getId(), chunk);
+		}
+	}
+
+	/**
+	 * Set the stage and visibility a new booking starts with for the creator's role.
+	 */
+	private void applyInitialStage(Booking booking, User user) {
 		switch (user.getRole()) {
 			case STUDENT -> {
 				booking.setApprovalStage(ApprovalStage.PENDING_STAFF);
@@ -74,27 +269,35 @@ public class BookingServiceImpl implements BookingService {
 			}
 			default -> throw new IllegalStateException("Unsupported role: " + user.getRole());
 		}
+	}
 
-		Booking saved = bookingRepository.save(booking);
-		historyRepository.save(BookingStatusHistory.builder()
-				.bookingId(saved.getId())
-				.stage(saved.getApprovalStage())
-				.changedBy(user.getId())
-				.build());
-
-		return enricher.enrich(bookingMapper.toResponse(saved));
+	/**
+	 * The advisor who is notified of a student's new booking, read from the database
+	 * because the request's user snapshot only guarantees identity.
+	 */
+	private UUID advisorOf(User user) {
+		if (user.getRole() != Role.STUDENT) {
+			return null;
+		}
+		return userRepository.findAdvisorIdById(user.getId()).orElse(null);
 	}
 
-	@Override
-	public List<BookingResponse> getMyBookings() {
-		String email = SecurityUtil.requireCurrentUsername();
-		User user = userRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
-		return enricher.enrichAll(bookingRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream().map(bookingMapper::toResponse).toList());
+	private List<LocalDate> expandOccurrences(CreateRecurringBookingRequest request) {
+		if (request.getUntilDate().isBefore(request.getStartDate())) {
+			throw new ConflictException("untilDate must not be before startDate");
+		}
+		int step = request.getFrequency() == RecurrenceFrequency.WEEKLY ? 7 : 1;
+		List<LocalDate> dates = new ArrayList<>();
+		for (LocalDate date = request.getStartDate(); !date.isAfter(request.getUntilDate()); date = date.plusDays(step)) {
+			if (dates.size() == maxOccurrences) {
+				throw new ConflictException("A recurring booking cannot have more than " + maxOccurrences + " occurrences");
+			}
+			dates.add(date);
+		}
+		return dates;
 	}
 
-	@Override
-	public List<BookingResponse> getAllBookings() {
-		return enricher.enrichAll(bookingRepository.findAllByOrderByCreatedAtDesc().stream().map(bookingMapper::toResponse).toList());
+	private CursorPageResponse<BookingResponse> toPage(List<BookingResponse> rows, int pageSize) {
+		return CursorUtil.toPage(rows, pageSize, response -> CursorUtil.encode(response.getCreatedAt(), response.getId()));
 	}
 }
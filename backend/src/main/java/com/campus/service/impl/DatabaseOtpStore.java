@@ -0,0 +1,107 @@
+package com.campus.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campus.entity.OtpToken;
+import com.campus.repository.OtpTokenRepository;
+import com.campus.service.OtpStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OTP store on the {@code otp_tokens} table. The latest unverified, unexpired row of
+ * a phone is its live code, read under a row lock so that the attempt counter cannot
+ * lose updates to concurrent guesses. Expired rows are purged in chunks on a schedule.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseOtpStore implements OtpStore {
+
+	private final OtpTokenRepository otpTokenRepository;
+
+	@Value("${app.otp.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${app.otp.purge-chunk-size:1000}")
+	private int purgeChunkSize;
+
+	@Override
+	@Transactional
+	public void save(String phone, String otp, Instant expiresAt) {
+		otpTokenRepository.save(OtpToken.builder()
+				.phone(phone)
+				.otp(otp)
+				.verified(false)
+				.expiresAt(expiresAt)
+				.build());
+	}
+
+	@Override
+	@Transactional
+	public Result check(String phone, String otp) {
+		return match(phone, otp, false);
+	}
+
+	@Override
+	@Transactional
+	public Result verify(String phone, String otp) {
+		return match(phone, otp, true);
+	}
+
+	private Result match(String phone, String otp, boolean consume) {
+		OtpToken token = otpTokenRepository
+				.findTopByPhoneAndVerifiedFalseAndExpiresAtAfterOrderByCreatedAtDesc(phone, Instant.now())
+				.orElse(null);
+		if (token == null) {
+			return Result.MISSING;
+		}
+		if (token.getAttempts() >= maxAttempts) {
+			return Result.LOCKED;
+		}
+		if (!MessageDigest.isEqual(token.getOtp().getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8))) {
+			token.setAttempts(token.getAttempts() + 1);
+			otpTokenRepository.save(token);
+			return token.getAttempts() >= maxAttempts ? Result.LOCKED : Result.MISMATCH;
+		}
+		if (consume) {
+			token.setVerified(true);
+			otpTokenRepository.save(token);
+		}
+		return Result.VERIFIED;
+	}
+
+	/**
+	 * Delete expired tokens a chunk at a time so that no single statement holds locks
+	 * on a large part of the table. The ids are selected first because JPQL has no
+	 * {@code delete ... limit}.
+	 */
+	@Scheduled(fixedDelayString = "${app.otp.purge-interval-ms:3600000}")
+	public void purgeExpired() {
+		Instant now = Instant.now();
+		int total = 0;
+		List<UUID> expired;
+		do {
+			expired = otpTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeChunkSize));
+			if (!expired.isEmpty()) {
+				total += otpTokenRepository.deleteByIdIn(expired);
+			}
+		} while (expired.size() == purgeChunkSize);
+		if (total > 0) {
+			log.info("Purged {} expired OTP tokens", total);
+		}
+	}
+}
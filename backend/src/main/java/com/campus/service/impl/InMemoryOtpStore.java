@@ -0,0 +1,121 @@
+package com.campus.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.campus.service.OtpStore;
+
+/**
+ * OTP store on the heap for single-node deployments. Codes live in a map keyed by
+ * phone; expiry is driven by a hashed timing wheel, so saving a code and expiring it
+ * are both O(1) and no scan over all codes is ever needed. Codes are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// Phones bucketed by the tick their code expires at, modulo the wheel size
+	private final Set<String>[] wheel;
+	private final long tickMs;
+	private final int maxAttempts;
+
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	public InMemoryOtpStore(
+			@Value("${app.otp.memory.tick-ms:1000}") long tickMs,
+			@Value("${app.otp.memory.wheel-size:512}") int wheelSize,
+			@Value("${app.otp.max-attempts:5}") int maxAttempts) {
+		this.tickMs = Math.max(1, tickMs);
+		this.wheel = new Set[Math.max(1, wheelSize)];
+		for (int i = 0; i < wheel.length; i++) {
+			wheel[i] = ConcurrentHashMap.newKeySet();
+		}
+		this.maxAttempts = maxAttempts;
+		this.currentTick = System.currentTimeMillis() / this.tickMs;
+	}
+
+	@Override
+	public void save(String phone, String otp, Instant expiresAt) {
+		long expiryTick = Math.floorDiv(expiresAt.toEpochMilli() + tickMs - 1, tickMs);
+		entries.put(phone, new Entry(otp, expiresAt, expiryTick, 0));
+		wheel[slot(expiryTick)].add(phone);
+	}
+
+	@Override
+	public Result check(String phone, String otp) {
+		return match(phone, otp, false);
+	}
+
+	@Override
+	public Result verify(String phone, String otp) {
+		return match(phone, otp, true);
+	}
+
+	private Result match(String phone, String otp, boolean consume) {
+		Instant now = Instant.now();
+		Result[] result = new Result[1];
+		entries.compute(phone, (key, entry) -> {
+			// Checked here as well, the wheel may lag behind by up to one tick
+			if (entry == null || !entry.expiresAt().isAfter(now)) {
+				result[0] = Result.MISSING;
+				return null;
+			}
+			if (entry.attempts() >= maxAttempts) {
+				result[0] = Result.LOCKED;
+				return entry;
+			}
+			if (MessageDigest.isEqual(entry.otp().getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8))) {
+				result[0] = Result.VERIFIED;
+				return consume ? null : entry;
+			}
+			Entry failed = new Entry(entry.otp(), entry.expiresAt(), entry.expiryTick(), entry.attempts() + 1);
+			result[0] = failed.attempts() >= maxAttempts ? Result.LOCKED : Result.MISMATCH;
+			return failed;
+		});
+		return result[0];
+	}
+
+	/**
+	 * Turn the wheel up to the current tick, dropping the codes that expired in each
+	 * slot passed. After a long pause every slot is visited once at most.
+	 */
+	@Scheduled(fixedRateString = "${app.otp.memory.tick-ms:1000}")
+	public synchronized void advance() {
+		long nowTick = System.currentTimeMillis() / tickMs;
+		for (long tick = Math.max(currentTick + 1, nowTick - wheel.length + 1); tick <= nowTick; tick++) {
+			expire(tick);
+		}
+		currentTick = Math.max(currentTick, nowTick);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void expire(long tick) {
+		wheel[slot(tick)].removeIf(phone -> {
+			Entry remaining = entries.computeIfPresent(phone, (key, entry) -> entry.expiryTick() <= tick ? null : entry);
+			// Keep the phone only while its current code still expires in this slot,
+			// in a later turn of the wheel
+			return remaining == null || slot(remaining.expiryTick()) != slot(tick);
+		});
+	}
+
+	private int slot(long tick) {
+		return (int) Math.floorMod(tick, (long) wheel.length);
+	}
+
+	private record Entry(String otp, Instant expiresAt, long expiryTick, int attempts) {
+	}
+}
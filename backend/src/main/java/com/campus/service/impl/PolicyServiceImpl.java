@@ -2,37 +2,87 @@ package com.campus.service.impl;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.campus.dto.request.UpdatePolicyRequest;
+import com.campus.dto.response.BookingPolicyResponse;
 import com.campus.dto.response.PolicyRemainingResponse;
 import com.campus.entity.BookingPolicy;
 import com.campus.entity.User;
-import com.campus.enums.ApprovalStage;
 import com.campus.enums.Role;
 import com.campus.exception.ResourceNotFoundException;
+import com.campus.mapper.BookingPolicyMapper;
 import com.campus.repository.BookingPolicyRepository;
-import com.campus.repository.BookingRepository;
 import com.campus.service.PolicyService;
+import com.campus.service.UsageLedgerService;
+import com.campus.service.UsageLedgerService.UsageSnapshot;
+import com.campus.util.TransactionUtil;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Booking policies are served from an immutable snapshot of the whole
+ * {@code booking_policy} table, loaded at startup and swapped after every edit made
+ * through this node. Because the snapshot holds every row, a role missing from it has
+ * no policy and is answered without going back to the database.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@Timed(value = "campus.service", histogram = true)
 public class PolicyServiceImpl implements PolicyService {
 
-	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED);
-
 	private final BookingPolicyRepository bookingPolicyRepository;
-	private final BookingRepository bookingRepository;
+	private final UsageLedgerService usageLedgerService;
+	private final BookingPolicyMapper bookingPolicyMapper;
+
+	private final Counter cacheHits;
+	private final Counter cacheMisses;
+
+	// Null until the first load; replaced wholesale on refresh
+	private volatile Map<Role, BookingPolicy> policies;
+
+	public PolicyServiceImpl(BookingPolicyRepository bookingPolicyRepository, UsageLedgerService usageLedgerService,
+			BookingPolicyMapper bookingPolicyMapper, MeterRegistry registry) {
+		this.bookingPolicyRepository = bookingPolicyRepository;
+		this.usageLedgerService = usageLedgerService;
+		this.bookingPolicyMapper = bookingPolicyMapper;
+		this.cacheHits = lookups(registry, "hit");
+		this.cacheMisses = lookups(registry, "miss");
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadPolicies() {
+		refreshPolicies();
+		log.info("Loaded {} booking policies", policies.size());
+	}
 
 	@Override
 	public BookingPolicy getPolicy(Role role) {
-		return bookingPolicyRepository.findById(role)
-				.orElseThrow(() -> new ResourceNotFoundException("Booking policy not found for role: " + role));
+		Map<Role, BookingPolicy> snapshot = policies;
+		if (snapshot == null) {
+			// Only before the startup load has run
+			cacheMisses.increment();
+			refreshPolicies();
+			snapshot = policies;
+		} else {
+			cacheHits.increment();
+		}
+		BookingPolicy policy = snapshot.get(role);
+		if (policy == null) {
+			throw new ResourceNotFoundException("Booking policy not found for role: " + role);
+		}
+		return policy;
 	}
 
 	@Override
@@ -43,15 +93,11 @@ public class PolicyServiceImpl implements PolicyService {
 		}
 
 		LocalDate today = LocalDate.now();
-		YearMonth ym = YearMonth.from(today);
-		LocalDate monthStart = ym.atDay(1);
-		LocalDate monthEnd = ym.atEndOfMonth();
-
-		long usedBookingsToday = bookingRepository.countByUserIdAndBookingDateAndApprovalStageNotIn(user.getId(), today, EXCLUDED_STAGES);
-		long usedBookingsMonth = bookingRepository.countByUserIdAndBookingDateBetweenAndApprovalStageNotIn(user.getId(), monthStart, monthEnd, EXCLUDED_STAGES);
-
-		long usedHoursToday = bookingRepository.sumHoursByUserAndDate(user.getId(), today, EXCLUDED_STAGES);
-		long usedHoursMonth = bookingRepository.sumHoursByUserAndDateRange(user.getId(), monthStart, monthEnd, EXCLUDED_STAGES);
+		UsageSnapshot usage = usageLedgerService.readUsage(user.getId(), today);
+		long usedBookingsToday = usage.day(today).bookings();
+		long usedBookingsMonth = usage.month(YearMonth.from(today)).bookings();
+		long usedHoursToday = usage.day(today).hours();
+		long usedHoursMonth = usage.month(YearMonth.from(today)).hours();
 
 		int remainingBookingsToday = Math.max(0, safe(policy.getMaxBookingsPerDay()) - (int) usedBookingsToday);
 		int remainingBookingsMonth = Math.max(0, safe(policy.getMaxBookingsPerMonth()) - (int) usedBookingsMonth);
@@ -61,6 +107,68 @@ public class PolicyServiceImpl implements PolicyService {
 		return new PolicyRemainingResponse(user.getRole(), false, remainingBookingsToday, remainingBookingsMonth, remainingHoursToday, remainingHoursMonth);
 	}
 
+	@Override
+	public List<BookingPolicyResponse> getAllPolicies() {
+		return bookingPolicyRepository.findAll().stream().map(bookingPolicyMapper::toResponse).toList();
+	}
+
+	@Override
+	@Transactional
+	public BookingPolicyResponse updatePolicy(Role role, UpdatePolicyRequest request) {
+		BookingPolicy policy = bookingPolicyRepository.findById(role)
+				.orElseGet(() -> BookingPolicy.builder().role(role).build());
+
+		if (request.getMaxBookingsPerDay() != null) {
+			policy.setMaxBookingsPerDay(request.getMaxBookingsPerDay());
+		}
+		if (request.getMaxBookingsPerMonth() != null) {
+			policy.setMaxBookingsPerMonth(request.getMaxBookingsPerMonth());
+		}
+		if (request.getMaxHoursPerDay() != null) {
+			policy.setMaxHoursPerDay(request.getMaxHoursPerDay());
+		}
+		if (request.getMaxHoursPerMonth() != null) {
+			policy.setMaxHoursPerMonth(request.getMaxHoursPerMonth());
+		}
+		if (request.getIsUnlimited() != null) {
+			policy.setIsUnlimited(request.getIsUnlimited());
+		}
+
+		BookingPolicy saved = bookingPolicyRepository.save(policy);
+		TransactionUtil.afterCommit(this::refreshPolicies);
+		return bookingPolicyMapper.toResponse(saved);
+	}
+
+	@Override
+	public void refreshPolicies() {
+		Map<Role, BookingPolicy> loaded = new EnumMap<>(Role.class);
+		for (BookingPolicy policy : bookingPolicyRepository.findAll()) {
+			loaded.put(policy.getRole(), copyOf(policy));
+		}
+		policies = Collections.unmodifiableMap(loaded);
+	}
+
+	/**
+	 * Detached copy so cached policies are never tied to a persistence context.
+	 */
+	private BookingPolicy copyOf(BookingPolicy policy) {
+		return BookingPolicy.builder()
+				.role(policy.getRole())
+				.maxBookingsPerDay(policy.getMaxBookingsPerDay())
+				.maxBookingsPerMonth(policy.getMaxBookingsPerMonth())
+				.maxHoursPerDay(policy.getMaxHoursPerDay())
+				.maxHoursPerMonth(policy.getMaxHoursPerMonth())
+				.isUnlimited(policy.getIsUnlimited())
+				.build();
+	}
+
+	private static Counter lookups(MeterRegistry registry, String result) {
+		return Counter.builder("campus.policy.cache")
+				.description("Booking policy lookups by whether the snapshot was loaded")
+				.tag("result", result)
+				.register(registry);
+	}
+
 	private int safe(Integer value) {
 		return value == null ? 0 : value;
 	}
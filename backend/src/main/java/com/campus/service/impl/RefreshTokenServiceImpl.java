@@ -0,0 +1,132 @@
+package com.campus.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campus.entity.RefreshToken;
+import com.campus.entity.User;
+import com.campus.enums.UserStatus;
+import com.campus.repository.RefreshTokenRepository;
+import com.campus.repository.UserRepository;
+import com.campus.service.RefreshTokenService;
+import com.campus.util.IdGenerator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refresh tokens are 256 random bits handed out once and kept only as a SHA-256
+ * hash, so renewing an access token costs two indexed lookups and a couple of writes
+ * rather than a BCrypt check.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private static final int TOKEN_BYTES = 32;
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final UserRepository userRepository;
+	private final IdGenerator idGenerator;
+
+	@Value("${app.auth.refresh.ttl-ms:604800000}")
+	private long ttlMs;
+
+	// Revoked families stay around this long so reuse alerts can still be traced
+	@Value("${app.auth.refresh.revoked-retention-ms:86400000}")
+	private long revokedRetentionMs;
+
+	@Override
+	@Transactional
+	public String issue(User user) {
+		return save(user, idGenerator.next());
+	}
+
+	@Override
+	@Transactional(noRollbackFor = BadCredentialsException.class)
+	public Rotation rotate(String rawToken) {
+		RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+				.orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+		Instant now = Instant.now();
+		// Before markUsed, so an expired token is neither consumed nor taken for a replay
+		if (token.getExpiresAt().isBefore(now)) {
+			throw new BadCredentialsException("Refresh token expired");
+		}
+		if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+			// Already rotated or revoked: someone is replaying an old token, so nothing
+			// issued from this login may be trusted any more
+			if (token.getRevokedAt() == null) {
+				log.warn("Refresh token reuse detected for user {}, revoking family {}", token.getUserId(), token.getFamilyId());
+			}
+			refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+			throw new BadCredentialsException("Invalid refresh token");
+		}
+
+		User user = userRepository.findById(token.getUserId())
+				.orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+		if (user.getStatus() != UserStatus.ACTIVE || token.getTokenVersion() != user.getTokenVersion()) {
+			refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+			throw new BadCredentialsException("Invalid refresh token");
+		}
+		return new Rotation(user, save(user, token.getFamilyId()));
+	}
+
+	@Override
+	@Transactional
+	public void revoke(String rawToken) {
+		refreshTokenRepository.findByTokenHash(hash(rawToken))
+				.ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+	}
+
+	/**
+	 * Delete tokens that can no longer be exchanged: expired ones, and revoked ones
+	 * once the retention has passed. Used tokens are kept until they expire, since
+	 * they are what reveals a replay.
+	 */
+	@Scheduled(fixedDelayString = "${app.auth.refresh.purge-interval-ms:3600000}")
+	@Transactional
+	public void purge() {
+		Instant now = Instant.now();
+		int deleted = refreshTokenRepository.deleteExpiredOrRevoked(now, now.minusMillis(revokedRetentionMs));
+		if (deleted > 0) {
+			log.info("Purged {} expired or revoked refresh tokens", deleted);
+		}
+	}
+
+	private String save(User user, UUID familyId) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		RANDOM.nextBytes(bytes);
+		String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		refreshTokenRepository.save(RefreshToken.builder()
+				.tokenHash(hash(rawToken))
+				.userId(user.getId())
+				.familyId(familyId)
+				.tokenVersion(user.getTokenVersion())
+				.expiresAt(Instant.now().plusMillis(ttlMs))
+				.build());
+		return rawToken;
+	}
+
+	private static String hash(String rawToken) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
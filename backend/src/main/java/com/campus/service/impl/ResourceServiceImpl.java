@@ -9,6 +9,8 @@ import com.campus.exception.ResourceNotFoundException;
 import com.campus.mapper.ResourceMapper;
 import com.campus.repository.ResourceRepository;
 import com.campus.service.ResourceService;
+import com.campus.util.BookingOccupancyIndex;
+import com.campus.util.DisplayNameCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,8 @@ public class ResourceServiceImpl implements ResourceService {
 
 	private final ResourceRepository resourceRepository;
 	private final ResourceMapper resourceMapper;
+	private final BookingOccupancyIndex occupancyIndex;
+	private final DisplayNameCache nameCache;
 
 	@Override
 	@Transactional
@@ -51,6 +55,7 @@ public class ResourceServiceImpl implements ResourceService {
 
 		if (request.getName() != null) {
 			resource.setName(request.getName());
+			nameCache.evictResource(id);
 		}
 		if (request.getType() != null) {
 			resource.setType(request.getType());
@@ -85,5 +90,7 @@ public class ResourceServiceImpl implements ResourceService {
 		Resource resource = resourceRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
 		resourceRepository.delete(resource);
+		occupancyIndex.evictResource(id);
+		nameCache.evictResource(id);
 	}
 }
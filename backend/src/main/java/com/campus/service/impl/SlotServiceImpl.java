@@ -3,33 +3,50 @@ package com.campus.service.impl;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.campus.dto.response.AvailabilityMatrixResponse;
+import com.campus.dto.response.ResourceAvailabilityResponse;
 import com.campus.dto.response.TimeSlotResponse;
 import com.campus.entity.Booking;
 import com.campus.entity.Resource;
 import com.campus.enums.ApprovalStage;
 import com.campus.enums.ResourceStatus;
+import com.campus.exception.BadRequestException;
 import com.campus.exception.ConflictException;
 import com.campus.exception.ResourceNotFoundException;
 import com.campus.repository.BookingRepository;
 import com.campus.repository.ResourceRepository;
 import com.campus.service.SlotService;
+import com.campus.util.BookingOccupancyIndex;
+import com.campus.util.BookingOccupancyIndex.DaySnapshot;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "campus.service", histogram = true)
 @RequiredArgsConstructor
 public class SlotServiceImpl implements SlotService {
 
 	private final ResourceRepository resourceRepository;
 	private final BookingRepository bookingRepository;
+	private final BookingOccupancyIndex occupancyIndex;
 
 	// Operating hours: 9 AM to 4 PM
 	private static final LocalTime OPERATING_START = LocalTime.of(9, 0);
@@ -42,16 +59,21 @@ public class SlotServiceImpl implements SlotService {
 	// Slot duration in minutes
 	private static final int SLOT_DURATION_MINUTES = 60;
 
-	// Stages that count as "booked" (not rejected/cancelled)
-	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(
-		ApprovalStage.REJECTED, 
-		ApprovalStage.CANCELLED
-	);
-
 	private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
 
+	// Built once: the grid only depends on the operating-hours constants above
+	private static final List<SlotTemplate> DAY_TEMPLATE = buildDayTemplate();
+
+	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED);
+
+	@Value("${app.slots.matrix.max-days:31}")
+	private int matrixMaxDays;
+
+	@Value("${app.slots.matrix.max-resources:100}")
+	private int matrixMaxResources;
+
 	@Override
-	public List<TimeSlotResponse> getAvailableSlots(UUID resourceId, LocalDate date) {
+	public SlotAvailability getSlotAvailability(UUID resourceId, LocalDate date) {
 		// Validate resource exists and is available
 		Resource resource = resourceRepository.findById(resourceId)
 				.orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
@@ -61,77 +83,177 @@ public class SlotServiceImpl implements SlotService {
 		}
 
 		// Don't allow booking for past dates
-		if (date.isBefore(LocalDate.now())) {
+		LocalDate today = LocalDate.now();
+		if (date.isBefore(today)) {
 			throw new ConflictException("Cannot book for past dates");
 		}
 
-		// Generate all possible slots for the day
-		List<TimeSlotResponse> slots = generateDaySlots();
+		int startedSlots = startedSlots(date, today, currentMinute());
+		DaySnapshot day = occupancyIndex.snapshot(resourceId, date);
+		long mask = availabilityMask(day.minutes(), startedSlots);
+
+		List<TimeSlotResponse> slots = new ArrayList<>(DAY_TEMPLATE.size());
+		for (int i = 0; i < DAY_TEMPLATE.size(); i++) {
+			slots.add(DAY_TEMPLATE.get(i).toResponse((mask & (1L << i)) != 0));
+		}
+
+		// The answer only changes with the day's bookings, the resource status and, for
+		// today, the number of slots that have already started
+		String etag = day.version() == DaySnapshot.UNVERSIONED
+				? null
+				: "\"" + day.version() + "-" + resource.getStatus() + "-" + startedSlots + "\"";
+		return new SlotAvailability(etag, slots);
+	}
+
+	@Override
+	public AvailabilityMatrixResponse getAvailabilityMatrix(Collection<UUID> resourceIds, String type,
+			LocalDate startDate, LocalDate endDate, boolean bitmask) {
+		if (startDate.isAfter(endDate)) {
+			throw new BadRequestException("Start date must not be after end date");
+		}
+		if (ChronoUnit.DAYS.between(startDate, endDate) >= matrixMaxDays) {
+			throw new BadRequestException("Date range cannot exceed " + matrixMaxDays + " days");
+		}
+
+		List<Resource> resources;
+		if (resourceIds != null && !resourceIds.isEmpty()) {
+			Collection<UUID> distinctIds = new LinkedHashSet<>(resourceIds);
+			requireWithinResourceLimit(distinctIds.size());
+			resources = new ArrayList<>(resourceRepository.findAllById(distinctIds));
+			resources.sort(Comparator.comparing(Resource::getName));
+		} else if (type != null && !type.isBlank()) {
+			// One row past the limit is enough to tell that the type has too many
+			resources = resourceRepository.findByTypeOrderByNameAsc(type, PageRequest.of(0, matrixMaxResources + 1));
+			requireWithinResourceLimit(resources.size());
+		} else {
+			throw new BadRequestException("Either resourceIds or type is required");
+		}
+
+		// One range query for every resource-day in the matrix
+		Map<UUID, Map<LocalDate, BitSet>> occupied = new HashMap<>();
+		if (!resources.isEmpty()) {
+			List<UUID> ids = resources.stream().map(Resource::getId).toList();
+			for (Booking booking : bookingRepository.findByResourceIdInAndBookingDateBetweenAndApprovalStageNotIn(
+					ids, startDate, endDate, EXCLUDED_STAGES)) {
+				occupied.computeIfAbsent(booking.getResourceId(), id -> new HashMap<>())
+						.computeIfAbsent(booking.getBookingDate(), date -> new BitSet())
+						.set(BookingOccupancyIndex.toMinute(booking.getStartTime()), BookingOccupancyIndex.toMinute(booking.getEndTime()));
+			}
+		}
+
+		LocalDate today = LocalDate.now();
+		int nowMinute = currentMinute();
+		BitSet free = new BitSet();
+		List<ResourceAvailabilityResponse> rows = new ArrayList<>(resources.size());
+		for (Resource resource : resources) {
+			Map<LocalDate, BitSet> days = occupied.getOrDefault(resource.getId(), Map.of());
+			List<Long> masks = new ArrayList<>();
+			for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+				boolean bookable = resource.getStatus() == ResourceStatus.AVAILABLE && !date.isBefore(today);
+				masks.add(bookable ? availabilityMask(days.getOrDefault(date, free), startedSlots(date, today, nowMinute)) : 0L);
+			}
+			ResourceAvailabilityResponse.ResourceAvailabilityResponseBuilder row = ResourceAvailabilityResponse.builder()
+					.resourceId(resource.getId())
+					.resourceName(resource.getName())
+					.status(resource.getStatus());
+			rows.add(bitmask ? row.masks(masks).build() : row.days(masks.stream().map(SlotServiceImpl::toFlags).toList()).build());
+		}
+
+		return AvailabilityMatrixResponse.builder()
+				.startDate(startDate)
+				.endDate(endDate)
+				.slots(DAY_TEMPLATE.stream().map(template -> template.toResponse(true)).toList())
+				.resources(rows)
+				.build();
+	}
 
-		// Get existing bookings for this resource and date (excluding rejected/cancelled)
-		List<Booking> existingBookings = bookingRepository.findByResourceIdAndBookingDateAndApprovalStageNotIn(
-			resourceId, date, EXCLUDED_STAGES
-		);
+	private void requireWithinResourceLimit(int count) {
+		if (count > matrixMaxResources) {
+			throw new BadRequestException("Cannot query more than " + matrixMaxResources + " resources at once");
+		}
+	}
 
-		// Mark slots as unavailable if they overlap with existing bookings
-		for (TimeSlotResponse slot : slots) {
-			for (Booking booking : existingBookings) {
-				if (isOverlapping(slot.getStartTime(), slot.getEndTime(), 
-						booking.getStartTime(), booking.getEndTime())) {
-					slot.setAvailable(false);
-					break;
-				}
+	/**
+	 * Bit i is set when template slot i has not started yet and overlaps no booking.
+	 */
+	private static long availabilityMask(BitSet occupiedMinutes, int startedSlots) {
+		long mask = 0;
+		for (int i = startedSlots; i < DAY_TEMPLATE.size(); i++) {
+			SlotTemplate template = DAY_TEMPLATE.get(i);
+			if (!BookingOccupancyIndex.overlaps(occupiedMinutes, template.startMinute(), template.endMinute())) {
+				mask |= 1L << i;
 			}
 		}
+		return mask;
+	}
 
-		// If booking for today, disable past slots
-		if (date.equals(LocalDate.now())) {
-			LocalTime now = LocalTime.now();
-			for (TimeSlotResponse slot : slots) {
-				if (slot.getStartTime().isBefore(now)) {
-					slot.setAvailable(false);
-				}
+	/**
+	 * Number of leading slots that are no longer bookable because they already started.
+	 */
+	private static int startedSlots(LocalDate date, LocalDate today, int nowMinute) {
+		if (!date.equals(today)) {
+			return 0;
+		}
+		int started = 0;
+		for (SlotTemplate template : DAY_TEMPLATE) {
+			if (template.startMinute() < nowMinute) {
+				started++;
 			}
 		}
+		return started;
+	}
 
-		return slots;
+	private static int currentMinute() {
+		return BookingOccupancyIndex.toMinute(LocalTime.now());
+	}
+
+	private static List<Boolean> toFlags(long mask) {
+		List<Boolean> flags = new ArrayList<>(DAY_TEMPLATE.size());
+		for (int i = 0; i < DAY_TEMPLATE.size(); i++) {
+			flags.add((mask & (1L << i)) != 0);
+		}
+		return flags;
 	}
 
 	/**
 	 * Generate all time slots for a day based on operating hours.
 	 * Excludes lunch break time.
 	 */
-	private List<TimeSlotResponse> generateDaySlots() {
-		List<TimeSlotResponse> slots = new ArrayList<>();
+	private static List<SlotTemplate> buildDayTemplate() {
+		List<SlotTemplate> slots = new ArrayList<>();
 		LocalTime current = OPERATING_START;
 
 		while (current.plusMinutes(SLOT_DURATION_MINUTES).compareTo(OPERATING_END) <= 0) {
 			LocalTime slotEnd = current.plusMinutes(SLOT_DURATION_MINUTES);
 			
 			// Check if this slot overlaps with lunch break
-			boolean overlapsLunch = isOverlapping(current, slotEnd, LUNCH_START, LUNCH_END);
+			boolean overlapsLunch = current.isBefore(LUNCH_END) && LUNCH_START.isBefore(slotEnd);
 			
 			if (!overlapsLunch) {
 				String label = current.format(TIME_FORMATTER) + " - " + slotEnd.format(TIME_FORMATTER);
-				slots.add(TimeSlotResponse.builder()
-						.startTime(current)
-						.endTime(slotEnd)
-						.available(true)
-						.label(label)
-						.build());
+				slots.add(new SlotTemplate(current, slotEnd,
+						BookingOccupancyIndex.toMinute(current), BookingOccupancyIndex.toMinute(slotEnd), label.intern()));
 			}
 			
 			current = slotEnd;
 		}
 
-		return slots;
+		// Availability is packed into a long, one bit per slot
+		if (slots.size() > Long.SIZE) {
+			throw new IllegalStateException("Operating hours yield more than " + Long.SIZE + " slots per day");
+		}
+		return List.copyOf(slots);
 	}
 
-	/**
-	 * Check if two time ranges overlap.
-	 */
-	private boolean isOverlapping(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-		// Two ranges overlap if start1 < end2 AND start2 < end1
-		return start1.isBefore(end2) && start2.isBefore(end1);
+	private record SlotTemplate(LocalTime startTime, LocalTime endTime, int startMinute, int endMinute, String label) {
+
+		TimeSlotResponse toResponse(boolean available) {
+			return TimeSlotResponse.builder()
+					.startTime(startTime)
+					.endTime(endTime)
+					.available(available)
+					.label(label)
+					.build();
+		}
 	}
 }
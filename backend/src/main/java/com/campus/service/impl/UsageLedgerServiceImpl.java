@@ -0,0 +1,181 @@
+package com.campus.service.impl;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campus.entity.UsageLedgerEntry;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.UsagePeriod;
+import com.campus.repository.BookingRepository;
+import com.campus.repository.UsageLedgerRepository;
+import com.campus.repository.UserRepository;
+import com.campus.repository.projection.BookingUsage;
+import com.campus.repository.projection.DailyUsage;
+import com.campus.service.UsageLedgerService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rows are created lazily: the first time a (user, period) is needed its totals are
+ * computed from the bookings table, after which they only change by increments. The
+ * user's row lock is held whenever a row is seeded or changed, so a seed can never
+ * miss a change that is committing at the same time.
+ */
+@Service
+@RequiredArgsConstructor
+public class UsageLedgerServiceImpl implements UsageLedgerService {
+
+	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED);
+
+	private final UsageLedgerRepository ledgerRepository;
+	private final BookingRepository bookingRepository;
+	private final UserRepository userRepository;
+
+	@Override
+	@Transactional
+	public UsageSnapshot lockUsage(UUID userId, Collection<LocalDate> dates) {
+		userRepository.lockAllById(List.of(userId));
+
+		Set<Key> keys = new TreeSet<>();
+		for (LocalDate date : dates) {
+			keys.add(Key.day(date));
+			keys.add(Key.month(date));
+		}
+		Map<Key, UsageLedgerEntry> entries = new HashMap<>();
+		for (UsageLedgerEntry entry : ledgerRepository.findByUserIdAndPeriodStartIn(userId,
+				keys.stream().map(Key::start).collect(Collectors.toSet()))) {
+			entries.put(new Key(entry.getPeriod(), entry.getPeriodStart()), entry);
+		}
+
+		List<Key> missing = keys.stream().filter(key -> !entries.containsKey(key)).toList();
+		if (!missing.isEmpty()) {
+			// One grouped query covers every missing day and month
+			LocalDate from = missing.stream().map(Key::start).min(LocalDate::compareTo).orElseThrow().withDayOfMonth(1);
+			LocalDate to = YearMonth.from(missing.stream().map(Key::start).max(LocalDate::compareTo).orElseThrow()).atEndOfMonth();
+			List<DailyUsage> usage = bookingRepository.dailyUsageByUser(userId, from, to, EXCLUDED_STAGES);
+			List<UsageLedgerEntry> seeded = new ArrayList<>();
+			for (Key key : missing) {
+				seeded.add(seed(userId, key, usage));
+			}
+			ledgerRepository.saveAll(seeded).forEach(entry -> entries.put(new Key(entry.getPeriod(), entry.getPeriodStart()), entry));
+		}
+
+		Map<LocalDate, Totals> days = new HashMap<>();
+		Map<YearMonth, Totals> months = new HashMap<>();
+		entries.forEach((key, entry) -> {
+			Totals totals = new Totals(entry.getBookings(), entry.getHours());
+			if (key.period() == UsagePeriod.DAY) {
+				days.put(key.start(), totals);
+			} else {
+				months.put(YearMonth.from(key.start()), totals);
+			}
+		});
+		return new UsageSnapshot(days, months);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public UsageSnapshot readUsage(UUID userId, LocalDate date) {
+		Key day = Key.day(date);
+		Key month = Key.month(date);
+		Totals dayTotals = null;
+		Totals monthTotals = null;
+		for (UsageLedgerEntry entry : ledgerRepository.findByUserIdAndPeriodStartIn(userId, Set.of(day.start(), month.start()))) {
+			Key key = new Key(entry.getPeriod(), entry.getPeriodStart());
+			if (key.equals(day)) {
+				dayTotals = new Totals(entry.getBookings(), entry.getHours());
+			} else if (key.equals(month)) {
+				monthTotals = new Totals(entry.getBookings(), entry.getHours());
+			}
+		}
+		if (dayTotals == null || monthTotals == null) {
+			// Not seeded yet: answer from the bookings table without creating rows
+			YearMonth ym = YearMonth.from(date);
+			BookingUsage usage = bookingRepository.usageByUserForDateAndRange(userId, date, ym.atDay(1), ym.atEndOfMonth(), EXCLUDED_STAGES);
+			dayTotals = new Totals(usage.getBookingsDay(), usage.getHoursDay());
+			monthTotals = new Totals(usage.getBookingsRange(), usage.getHoursRange());
+		}
+		return new UsageSnapshot(Map.of(date, dayTotals), Map.of(YearMonth.from(date), monthTotals));
+	}
+
+	@Override
+	@Transactional
+	public void record(List<Change> changes) {
+		if (changes.isEmpty()) {
+			return;
+		}
+		Map<UUID, Map<Key, Totals>> deltas = new LinkedHashMap<>();
+		for (Change change : changes) {
+			Map<Key, Totals> userDeltas = deltas.computeIfAbsent(change.userId(), id -> new HashMap<>());
+			userDeltas.merge(Key.day(change.date()), new Totals(change.bookings(), change.hours()), UsageLedgerServiceImpl::sum);
+			userDeltas.merge(Key.month(change.date()), new Totals(change.bookings(), change.hours()), UsageLedgerServiceImpl::sum);
+		}
+		userRepository.lockAllById(deltas.keySet());
+
+		List<UsageLedgerEntry> seeded = new ArrayList<>();
+		deltas.forEach((userId, userDeltas) -> userDeltas.forEach((key, delta) -> {
+			if (ledgerRepository.addUsage(userId, key.period(), key.start(), delta.bookings(), delta.hours()) == 0) {
+				// The bookings table already includes this change, so the seed does too
+				LocalDate to = key.period() == UsagePeriod.DAY ? key.start() : YearMonth.from(key.start()).atEndOfMonth();
+				seeded.add(seed(userId, key, bookingRepository.dailyUsageByUser(userId, key.start(), to, EXCLUDED_STAGES)));
+			}
+		}));
+		ledgerRepository.saveAll(seeded);
+	}
+
+	private static UsageLedgerEntry seed(UUID userId, Key key, List<DailyUsage> usage) {
+		long bookings = 0;
+		long hours = 0;
+		for (DailyUsage day : usage) {
+			if (key.covers(day.getBookingDate())) {
+				bookings += day.getBookings();
+				hours += day.getHours();
+			}
+		}
+		return UsageLedgerEntry.builder()
+				.userId(userId)
+				.period(key.period())
+				.periodStart(key.start())
+				.bookings(bookings)
+				.hours(hours)
+				.build();
+	}
+
+	private static Totals sum(Totals a, Totals b) {
+		return new Totals(a.bookings() + b.bookings(), a.hours() + b.hours());
+	}
+
+	private record Key(UsagePeriod period, LocalDate start) implements Comparable<Key> {
+
+		static Key day(LocalDate date) {
+			return new Key(UsagePeriod.DAY, date);
+		}
+
+		static Key month(LocalDate date) {
+			return new Key(UsagePeriod.MONTH, date.withDayOfMonth(1));
+		}
+
+		boolean covers(LocalDate date) {
+			return period == UsagePeriod.DAY ? start.equals(date) : YearMonth.from(start).equals(YearMonth.from(date));
+		}
+
+		@Override
+		public int compareTo(Key other) {
+			int byStart = start.compareTo(other.start);
+			return byStart != 0 ? byStart : period.compareTo(other.period);
+		}
+	}
+}
@@ -16,7 +16,10 @@ import com.campus.exception.ConflictException;
 import com.campus.exception.ResourceNotFoundException;
 import com.campus.mapper.UserMapper;
 import com.campus.repository.UserRepository;
+import com.campus.repository.projection.StatusCount;
+import com.campus.security.TokenVersionRegistry;
 import com.campus.service.UserService;
+import com.campus.util.DisplayNameCache;
 import com.campus.util.SecurityUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,8 @@ public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 	private final UserMapper userMapper;
+	private final TokenVersionRegistry tokenVersions;
+	private final DisplayNameCache nameCache;
 
 	@Override
 	public List<UserResponse> getAllUsers() {
@@ -43,21 +48,28 @@ public class UserServiceImpl implements UserService {
 
 		if (request.getName() != null) {
 			user.setName(request.getName());
+			nameCache.evictUser(user.getId());
 		}
 		if (request.getPhone() != null) {
 			user.setPhone(request.getPhone());
 		}
-		if (request.getRole() != null) {
+		if (request.getRole() != null && request.getRole() != user.getRole()) {
 			user.setRole(request.getRole());
+			bumpTokenVersion(user);
 		}
-		if (request.getAdvisorId() != null) {
+		if (request.getAdvisorId() != null && !request.getAdvisorId().equals(user.getAdvisorId())) {
 			user.setAdvisorId(request.getAdvisorId());
+			// Who may approve the student's bookings changes with the advisor
+			bumpTokenVersion(user);
 		}
-		if (request.getStatus() != null) {
+		if (request.getStatus() != null && request.getStatus() != user.getStatus()) {
 			user.setStatus(request.getStatus());
+			bumpTokenVersion(user);
 		}
 
-		return userMapper.toResponse(userRepository.save(user));
+		User saved = userRepository.save(user);
+		tokenVersions.bumped(saved.getId(), saved.getTokenVersion());
+		return userMapper.toResponse(saved);
 	}
 
 	@Override
@@ -66,7 +78,9 @@ public class UserServiceImpl implements UserService {
 		User user = userRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
 		user.setStatus(UserStatus.INACTIVE);
+		bumpTokenVersion(user);
 		userRepository.save(user);
+		tokenVersions.bumped(user.getId(), user.getTokenVersion());
 	}
 
 	@Override
@@ -87,9 +101,17 @@ public class UserServiceImpl implements UserService {
 			throw new ConflictException("Only STAFF can view student stats");
 		}
 		
-		long total = userRepository.countByAdvisorId(staff.getId());
-		long active = userRepository.countByAdvisorIdAndStatus(staff.getId(), UserStatus.ACTIVE);
-		long inactive = userRepository.countByAdvisorIdAndStatus(staff.getId(), UserStatus.INACTIVE);
+		long total = 0;
+		long active = 0;
+		long inactive = 0;
+		for (StatusCount count : userRepository.countByStatusForAdvisor(staff.getId())) {
+			total += count.getTotal();
+			if (count.getStatus() == UserStatus.ACTIVE) {
+				active = count.getTotal();
+			} else if (count.getStatus() == UserStatus.INACTIVE) {
+				inactive = count.getTotal();
+			}
+		}
 		
 		return StudentStatsResponse.builder()
 				.totalStudents(total)
@@ -98,9 +120,11 @@ public class UserServiceImpl implements UserService {
 				.build();
 	}
 
+	private void bumpTokenVersion(User user) {
+		user.setTokenVersion(user.getTokenVersion() + 1);
+	}
+
 	private User currentUser() {
-		String email = SecurityUtil.requireCurrentUsername();
-		return userRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		return SecurityUtil.requireCurrentUser();
 	}
 }
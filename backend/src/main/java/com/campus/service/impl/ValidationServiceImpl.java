@@ -4,22 +4,34 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import com.campus.dto.request.CreateBookingRequest;
+import com.campus.entity.Booking;
 import com.campus.entity.BookingPolicy;
 import com.campus.entity.Resource;
 import com.campus.entity.User;
 import com.campus.enums.ApprovalStage;
+import com.campus.enums.OccurrenceStatus;
 import com.campus.exception.BookingLimitExceededException;
 import com.campus.exception.ConflictException;
 import com.campus.exception.ResourceNotFoundException;
 import com.campus.repository.BookingRepository;
 import com.campus.repository.ResourceRepository;
 import com.campus.service.PolicyService;
+import com.campus.service.UsageLedgerService;
+import com.campus.service.UsageLedgerService.Totals;
+import com.campus.service.UsageLedgerService.UsageSnapshot;
 import com.campus.service.ValidationService;
+import com.campus.util.BookingMetrics;
+import com.campus.util.BookingOccupancyIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,13 +54,21 @@ public class ValidationServiceImpl implements ValidationService {
 	private final ResourceRepository resourceRepository;
 	private final BookingRepository bookingRepository;
 	private final PolicyService policyService;
+	private final UsageLedgerService usageLedgerService;
+	private final BookingOccupancyIndex occupancyIndex;
+	private final BookingMetrics bookingMetrics;
 
 	@Override
 	public int calculateDurationHours(CreateBookingRequest request) {
-		if (request.getStartTime() == null || request.getEndTime() == null) {
+		return calculateDurationHours(request.getStartTime(), request.getEndTime());
+	}
+
+	@Override
+	public int calculateDurationHours(LocalTime startTime, LocalTime endTime) {
+		if (startTime == null || endTime == null) {
 			throw new ConflictException("startTime and endTime are required");
 		}
-		long minutes = Duration.between(request.getStartTime(), request.getEndTime()).toMinutes();
+		long minutes = Duration.between(startTime, endTime).toMinutes();
 		if (minutes <= 0) {
 			throw new ConflictException("endTime must be after startTime");
 		}
@@ -72,35 +92,25 @@ public class ValidationServiceImpl implements ValidationService {
 			throw new ConflictException("Cannot book for past dates");
 		}
 
-		// Validate operating hours
 		LocalTime startTime = request.getStartTime();
 		LocalTime endTime = request.getEndTime();
-		
-		if (startTime.isBefore(OPERATING_START)) {
-			throw new ConflictException("Booking cannot start before " + OPERATING_START + " (9:00 AM)");
-		}
-		if (endTime.isAfter(OPERATING_END)) {
-			throw new ConflictException("Booking cannot end after " + OPERATING_END + " (4:00 PM)");
-		}
-
-		// Validate lunch break - check if booking overlaps with lunch
-		if (isOverlapping(startTime, endTime, LUNCH_START, LUNCH_END)) {
-			throw new ConflictException("Booking cannot overlap with lunch break (12:00 PM - 1:00 PM)");
-		}
+		validateTimeWindow(startTime, endTime);
 
 		// If booking for today, ensure start time is not in the past
 		if (request.getBookingDate().equals(LocalDate.now()) && startTime.isBefore(LocalTime.now())) {
 			throw new ConflictException("Cannot book a slot that has already passed");
 		}
 
-		Resource resource = resourceRepository.findById(request.getResourceId())
-				.orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
-
-		if (!resource.getStatus().name().equals("AVAILABLE")) {
-			throw new ConflictException("Resource is not available for booking");
-		}
+		requireAvailableResource(request.getResourceId());
 
-		boolean conflict = bookingRepository.existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
+		// The index only holds this node's bookings; under the resource row lock the
+		// table check also sees bookings committed through other nodes
+		boolean conflict = occupancyIndex.isOccupied(
+			request.getResourceId(),
+			request.getBookingDate(),
+			request.getStartTime(),
+			request.getEndTime()
+		) || bookingRepository.existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
 			request.getResourceId(),
 			request.getBookingDate(),
 			request.getEndTime(),
@@ -108,6 +118,7 @@ public class ValidationServiceImpl implements ValidationService {
 			EXCLUDED_STAGES
 		);
 		if (conflict) {
+			bookingMetrics.conflict();
 			throw new ConflictException("Resource already booked for the selected time range");
 		}
 
@@ -117,43 +128,152 @@ public class ValidationServiceImpl implements ValidationService {
 		}
 
 		LocalDate date = request.getBookingDate();
-		YearMonth ym = YearMonth.from(date);
-		LocalDate monthStart = ym.atDay(1);
-		LocalDate monthEnd = ym.atEndOfMonth();
+		UsageSnapshot usage = usageLedgerService.lockUsage(user.getId(), List.of(date));
+		Totals day = usage.day(date);
+		Totals month = usage.month(YearMonth.from(date));
+		String violation = quotaViolation(policy, durationHours, day.bookings(), day.hours(), month.bookings(), month.hours());
+		if (violation != null) {
+			bookingMetrics.limitExceeded();
+			throw new BookingLimitExceededException(violation);
+		}
+	}
 
-		long usedBookingsDay = bookingRepository.countByUserIdAndBookingDateAndApprovalStageNotIn(user.getId(), date, EXCLUDED_STAGES);
-		long usedBookingsMonth = bookingRepository.countByUserIdAndBookingDateBetweenAndApprovalStageNotIn(user.getId(), monthStart, monthEnd, EXCLUDED_STAGES);
+	@Override
+	public List<OccurrenceVerdict> validateOccurrences(User user, UUID resourceId, List<LocalDate> dates,
+			LocalTime startTime, LocalTime endTime, int durationHours) {
+		if (dates.isEmpty()) {
+			return List.of();
+		}
+		validateTimeWindow(startTime, endTime);
+		requireAvailableResource(resourceId);
 
-		long usedHoursDay = bookingRepository.sumHoursByUserAndDate(user.getId(), date, EXCLUDED_STAGES);
-		long usedHoursMonth = bookingRepository.sumHoursByUserAndDateRange(user.getId(), monthStart, monthEnd, EXCLUDED_STAGES);
+		LocalDate first = dates.get(0);
+		LocalDate last = dates.get(dates.size() - 1);
 
+		// One range query for conflicts on every occurrence date
+		Map<LocalDate, BitSet> occupied = new HashMap<>();
+		for (Booking booking : bookingRepository.findByResourceIdInAndBookingDateBetweenAndApprovalStageNotIn(
+				List.of(resourceId), first, last, EXCLUDED_STAGES)) {
+			occupied.computeIfAbsent(booking.getBookingDate(), date -> new BitSet())
+					.set(BookingOccupancyIndex.toMinute(booking.getStartTime()), BookingOccupancyIndex.toMinute(booking.getEndTime()));
+		}
+
+		// Current usage of every occurrence day and month, read from the ledger at once
+		BookingPolicy policy = policyService.getPolicy(user.getRole());
+		boolean unlimited = Boolean.TRUE.equals(policy.getIsUnlimited());
+		Map<LocalDate, Usage> dailyUsage = new HashMap<>();
+		Map<YearMonth, Usage> monthlyUsage = new HashMap<>();
+		if (!unlimited) {
+			UsageSnapshot usage = usageLedgerService.lockUsage(user.getId(), dates);
+			usage.days().forEach((date, totals) -> dailyUsage.computeIfAbsent(date, d -> new Usage()).add(totals.bookings(), totals.hours()));
+			usage.months().forEach((month, totals) -> monthlyUsage.computeIfAbsent(month, m -> new Usage()).add(totals.bookings(), totals.hours()));
+		}
+
+		int startMinute = BookingOccupancyIndex.toMinute(startTime);
+		int endMinute = BookingOccupancyIndex.toMinute(endTime);
+		LocalDate today = LocalDate.now();
+		LocalTime now = LocalTime.now();
+		List<OccurrenceVerdict> verdicts = new ArrayList<>(dates.size());
+		for (LocalDate date : dates) {
+			if (date.isBefore(today)) {
+				verdicts.add(new OccurrenceVerdict(date, OccurrenceStatus.INVALID, "Cannot book for past dates"));
+				continue;
+			}
+			if (date.equals(today) && startTime.isBefore(now)) {
+				verdicts.add(new OccurrenceVerdict(date, OccurrenceStatus.INVALID, "Cannot book a slot that has already passed"));
+				continue;
+			}
+			BitSet minutes = occupied.get(date);
+			if (minutes != null && BookingOccupancyIndex.overlaps(minutes, startMinute, endMinute)) {
+				bookingMetrics.conflict();
+				verdicts.add(new OccurrenceVerdict(date, OccurrenceStatus.CONFLICT, "Resource already booked for the selected time range"));
+				continue;
+			}
+			if (!unlimited) {
+				Usage day = dailyUsage.computeIfAbsent(date, d -> new Usage());
+				Usage month = monthlyUsage.computeIfAbsent(YearMonth.from(date), m -> new Usage());
+				String violation = quotaViolation(policy, durationHours, day.bookings, day.hours, month.bookings, month.hours);
+				if (violation != null) {
+					bookingMetrics.limitExceeded();
+					verdicts.add(new OccurrenceVerdict(date, OccurrenceStatus.LIMIT_EXCEEDED, violation));
+					continue;
+				}
+				// Accepted occurrences count towards the quota of the ones after them
+				day.add(1, durationHours);
+				month.add(1, durationHours);
+			}
+			verdicts.add(new OccurrenceVerdict(date, OccurrenceStatus.CREATED, null));
+		}
+		return verdicts;
+	}
+
+	/**
+	 * Validate operating hours and the lunch break.
+	 */
+	private void validateTimeWindow(LocalTime startTime, LocalTime endTime) {
+		if (startTime.isBefore(OPERATING_START)) {
+			throw new ConflictException("Booking cannot start before " + OPERATING_START + " (9:00 AM)");
+		}
+		if (endTime.isAfter(OPERATING_END)) {
+			throw new ConflictException("Booking cannot end after " + OPERATING_END + " (4:00 PM)");
+		}
+
+		// Validate lunch break - check if booking overlaps with lunch
+		if (startTime.isBefore(LUNCH_END) && LUNCH_START.isBefore(endTime)) {
+			throw new ConflictException("Booking cannot overlap with lunch break (12:00 PM - 1:00 PM)");
+		}
+	}
+
+	/**
+	 * Load the resource and lock its row until commit. Concurrent admissions for the
+	 * resource, from this node or any other, then run their conflict checks one at a time.
+	 */
+	private void requireAvailableResource(UUID resourceId) {
+		Resource resource = resourceRepository.findForUpdateById(resourceId)
+				.orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+
+		if (!resource.getStatus().name().equals("AVAILABLE")) {
+			throw new ConflictException("Resource is not available for booking");
+		}
+	}
+
+	/**
+	 * Return the message of the first limit one more booking would exceed, or null.
+	 */
+	private String quotaViolation(BookingPolicy policy, int durationHours,
+			long usedBookingsDay, long usedHoursDay, long usedBookingsMonth, long usedHoursMonth) {
 		int maxBookingsDay = safe(policy.getMaxBookingsPerDay());
 		int maxBookingsMonth = safe(policy.getMaxBookingsPerMonth());
 		int maxHoursDay = safe(policy.getMaxHoursPerDay());
 		int maxHoursMonth = safe(policy.getMaxHoursPerMonth());
 
 		if (maxBookingsDay > 0 && usedBookingsDay + 1 > maxBookingsDay) {
-			throw new BookingLimitExceededException("Daily booking limit exceeded");
+			return "Daily booking limit exceeded";
 		}
 		if (maxBookingsMonth > 0 && usedBookingsMonth + 1 > maxBookingsMonth) {
-			throw new BookingLimitExceededException("Monthly booking limit exceeded");
+			return "Monthly booking limit exceeded";
 		}
 		if (maxHoursDay > 0 && usedHoursDay + durationHours > maxHoursDay) {
-			throw new BookingLimitExceededException("Daily hours limit exceeded");
+			return "Daily hours limit exceeded";
 		}
 		if (maxHoursMonth > 0 && usedHoursMonth + durationHours > maxHoursMonth) {
-			throw new BookingLimitExceededException("Monthly hours limit exceeded");
+			return "Monthly hours limit exceeded";
 		}
-	}
-
-	/**
-	 * Check if two time ranges overlap.
-	 */
-	private boolean isOverlapping(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-		return start1.isBefore(end2) && start2.isBefore(end1);
+		return null;
 	}
 
 	private int safe(Integer value) {
 		return value == null ? 0 : value;
 	}
+
+	private static final class Usage {
+
+		private long bookings;
+		private long hours;
+
+		void add(long bookings, long hours) {
+			this.bookings += bookings;
+			this.hours += hours;
+		}
+	}
 }
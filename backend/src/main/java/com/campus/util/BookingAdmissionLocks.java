@@ -0,0 +1,117 @@
+package com.campus.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.campus.exception.ConflictException;
+
+/**
+ * Striped locks that serialize booking admission per (resource, date) within this
+ * JVM, so bookings for other resources or days keep going in parallel.
+ * <p>
+ * Admission is taken before the booking transaction opens and held until it has
+ * completed: requests queued on a busy stripe wait without holding a pooled
+ * connection, and the stripe is only handed on once the winner's booking is
+ * committed and visible in {@link BookingOccupancyIndex}. The locks only order
+ * requests on one node; the booking transaction itself locks the resource row and
+ * re-checks the bookings table, which is what keeps several nodes from double
+ * booking.
+ */
+@Component
+public class BookingAdmissionLocks {
+
+	private final ReentrantLock[] stripes;
+	private final long timeoutMs;
+
+	public BookingAdmissionLocks(
+			@Value("${app.booking.admission.stripes:256}") int stripes,
+			@Value("${app.booking.admission.timeout-ms:5000}") long timeoutMs) {
+		int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+		this.stripes = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new ReentrantLock();
+		}
+		this.timeoutMs = timeoutMs;
+	}
+
+	/**
+	 * Lock the stripe for a resource-day until the returned admission is closed.
+	 */
+	public Admission acquire(UUID resourceId, LocalDate date) {
+		return acquireAll(resourceId, List.of(date));
+	}
+
+	/**
+	 * Lock the stripes for several days of one resource until the returned admission
+	 * is closed. Stripes are taken in index order so that two multi-day requests can
+	 * never wait on each other in a cycle.
+	 */
+	public Admission acquireAll(UUID resourceId, Collection<LocalDate> dates) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Booking admission must be taken before the transaction opens");
+		}
+		SortedSet<Integer> indexes = new TreeSet<>();
+		for (LocalDate date : dates) {
+			indexes.add(stripeIndex(resourceId, date));
+		}
+		Admission admission = new Admission(indexes.size());
+		try {
+			for (int index : indexes) {
+				ReentrantLock lock = stripes[index];
+				if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+					throw new ConflictException("Resource is busy, please try again");
+				}
+				admission.held.add(lock);
+			}
+		} catch (InterruptedException e) {
+			admission.close();
+			Thread.currentThread().interrupt();
+			throw new ConflictException("Booking request was interrupted");
+		} catch (RuntimeException e) {
+			admission.close();
+			throw e;
+		}
+		return admission;
+	}
+
+	ReentrantLock stripeFor(UUID resourceId, LocalDate date) {
+		return stripes[stripeIndex(resourceId, date)];
+	}
+
+	private int stripeIndex(UUID resourceId, LocalDate date) {
+		int h = Objects.hash(resourceId, date);
+		return (h ^ (h >>> 16)) & (stripes.length - 1);
+	}
+
+	/**
+	 * The stripes held for one request; closing releases them on the thread that took them.
+	 */
+	public static final class Admission implements AutoCloseable {
+
+		private final List<ReentrantLock> held;
+
+		private Admission(int size) {
+			this.held = new ArrayList<>(size);
+		}
+
+		@Override
+		public void close() {
+			for (int i = held.size() - 1; i >= 0; i--) {
+				held.get(i).unlock();
+			}
+			held.clear();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.campus.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.campus.enums.ApprovalTransition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Business counters next to the latency timers: bookings turned away for a slot
+ * conflict or a policy limit, and approval transitions by the stage they lead to.
+ */
+@Component
+public class BookingMetrics {
+
+	private final Counter conflicts;
+	private final Counter limitRejections;
+	private final Map<ApprovalTransition, Counter> transitions = new EnumMap<>(ApprovalTransition.class);
+
+	public BookingMetrics(MeterRegistry registry) {
+		this.conflicts = rejections(registry, "conflict");
+		this.limitRejections = rejections(registry, "limit_exceeded");
+		for (ApprovalTransition transition : ApprovalTransition.values()) {
+			transitions.put(transition, Counter.builder("campus.booking.transitions")
+					.description("Bookings moved between approval stages")
+					.tag("transition", transition.name())
+					.tag("stage", transition.getTo().name())
+					.register(registry));
+		}
+	}
+
+	public void conflict() {
+		conflicts.increment();
+	}
+
+	public void limitExceeded() {
+		limitRejections.increment();
+	}
+
+	/**
+	 * Count bookings moved by a transition once the surrounding transaction commits.
+	 */
+	public void transitioned(ApprovalTransition transition, int count) {
+		if (count <= 0) {
+			return;
+		}
+		Counter counter = transitions.get(transition);
+		TransactionUtil.afterCommit(() -> counter.increment(count));
+	}
+
+	private static Counter rejections(MeterRegistry registry, String reason) {
+		return Counter.builder("campus.booking.rejections")
+				.description("Booking requests refused by validation")
+				.tag("reason", reason)
+				.register(registry);
+	}
+}
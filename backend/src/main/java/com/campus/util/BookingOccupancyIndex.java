@@ -0,0 +1,232 @@
+package com.campus.util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.campus.entity.Booking;
+import com.campus.enums.ApprovalStage;
+import com.campus.repository.BookingRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-through, in-memory view of which minutes of each resource-day are taken by
+ * active (not rejected/cancelled) bookings. Conflict checks are answered from a
+ * per-day bitset instead of querying the bookings table. Until the index has been
+ * rebuilt at startup, lookups fall back to the database.
+ * <p>
+ * Every change to a resource-day stamps it with a new version from a counter seeded
+ * with the rebuild time, so a version never repeats across restarts and can back an
+ * HTTP validator for that day.
+ * <p>
+ * The index only sees bookings written by this JVM, so it assumes a single
+ * application node; see {@link BookingAdmissionLocks}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingOccupancyIndex {
+
+	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED);
+
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
+	private final BookingRepository bookingRepository;
+
+	private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+	// Serializes changes with the swap at the end of a rebuild
+	private final Object writeLock = new Object();
+
+	private volatile Map<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+
+	// Changes made while a rebuild is loading, replayed onto the rebuilt map
+	private List<Consumer<Map<DayKey, DayOccupancy>>> pending;
+
+	private volatile boolean ready;
+
+	/**
+	 * Load the active bookings into a fresh map and swap it in. Changes committed while
+	 * the query runs are applied to the live map and replayed onto the new one, so none
+	 * of them is lost with the old map.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		synchronized (writeLock) {
+			pending = new ArrayList<>();
+		}
+		Map<DayKey, DayOccupancy> rebuilt = new ConcurrentHashMap<>();
+		List<Booking> active;
+		try {
+			active = bookingRepository.findByBookingDateGreaterThanEqualAndApprovalStageNotIn(LocalDate.now(), EXCLUDED_STAGES);
+			active.forEach(booking -> add(rebuilt, booking));
+		} catch (RuntimeException e) {
+			synchronized (writeLock) {
+				pending = null;
+			}
+			throw e;
+		}
+		synchronized (writeLock) {
+			pending.forEach(change -> change.accept(rebuilt));
+			pending = null;
+			days = rebuilt;
+			ready = true;
+		}
+		log.info("Booking occupancy index rebuilt with {} bookings across {} resource-days", active.size(), rebuilt.size());
+	}
+
+	/**
+	 * Check whether any active booking overlaps the given time range.
+	 */
+	public boolean isOccupied(UUID resourceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+		if (!ready) {
+			return bookingRepository.existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
+					resourceId, date, endTime, startTime, EXCLUDED_STAGES);
+		}
+		DayOccupancy day = days.get(new DayKey(resourceId, date));
+		return day != null && day.overlaps(toMinute(startTime), toMinute(endTime));
+	}
+
+	/**
+	 * Copy the occupied minutes of a resource-day together with its version. The
+	 * version is {@link DaySnapshot#UNVERSIONED} while the index is not ready yet, and
+	 * 0 for a day that has never held a booking.
+	 */
+	public DaySnapshot snapshot(UUID resourceId, LocalDate date) {
+		if (!ready) {
+			BitSet minutes = new BitSet(MINUTES_PER_DAY);
+			bookingRepository.findByResourceIdAndBookingDateAndApprovalStageNotIn(resourceId, date, EXCLUDED_STAGES)
+					.forEach(booking -> minutes.set(toMinute(booking.getStartTime()), toMinute(booking.getEndTime())));
+			return new DaySnapshot(DaySnapshot.UNVERSIONED, minutes);
+		}
+		DayOccupancy day = days.get(new DayKey(resourceId, date));
+		return day == null ? new DaySnapshot(0, new BitSet()) : day.snapshot();
+	}
+
+	/**
+	 * Record a newly created booking once the current transaction commits.
+	 */
+	public void occupy(Booking booking) {
+		TransactionUtil.afterCommit(() -> add(booking));
+	}
+
+	/**
+	 * Free the slot held by a booking once the current transaction commits.
+	 */
+	public void release(UUID bookingId, UUID resourceId, LocalDate date) {
+		TransactionUtil.afterCommit(() -> remove(bookingId, resourceId, date));
+	}
+
+	public void evictResource(UUID resourceId) {
+		change(map -> map.keySet().removeIf(key -> key.resourceId().equals(resourceId)));
+	}
+
+	@Scheduled(cron = "0 5 0 * * *")
+	public void evictPastDays() {
+		LocalDate today = LocalDate.now();
+		change(map -> map.keySet().removeIf(key -> key.date().isBefore(today)));
+	}
+
+	private void add(Booking booking) {
+		change(map -> add(map, booking));
+	}
+
+	private void remove(UUID bookingId, UUID resourceId, LocalDate date) {
+		change(map -> {
+			DayOccupancy day = map.get(new DayKey(resourceId, date));
+			if (day != null) {
+				day.remove(bookingId, versions.incrementAndGet());
+			}
+		});
+	}
+
+	private void change(Consumer<Map<DayKey, DayOccupancy>> change) {
+		synchronized (writeLock) {
+			change.accept(days);
+			if (pending != null) {
+				pending.add(change);
+			}
+		}
+	}
+
+	private void add(Map<DayKey, DayOccupancy> map, Booking booking) {
+		map.computeIfAbsent(new DayKey(booking.getResourceId(), booking.getBookingDate()), key -> new DayOccupancy())
+				.add(booking.getId(), toMinute(booking.getStartTime()), toMinute(booking.getEndTime()), versions.incrementAndGet());
+	}
+
+	public static int toMinute(LocalTime time) {
+		return time.toSecondOfDay() / 60;
+	}
+
+	/**
+	 * Check whether any minute in [start, end) is set.
+	 */
+	public static boolean overlaps(BitSet minutes, int start, int end) {
+		int next = minutes.nextSetBit(start);
+		return next >= 0 && next < end;
+	}
+
+	private record DayKey(UUID resourceId, LocalDate date) {
+	}
+
+	/**
+	 * Point-in-time copy of one resource-day.
+	 */
+	public record DaySnapshot(long version, BitSet minutes) {
+
+		public static final long UNVERSIONED = -1;
+
+		public boolean overlaps(int start, int end) {
+			return BookingOccupancyIndex.overlaps(minutes, start, end);
+		}
+	}
+
+	/**
+	 * Minute-resolution occupancy of one resource-day. The booking ranges are kept so a
+	 * released booking can be removed without disturbing its neighbours.
+	 */
+	private static final class DayOccupancy {
+
+		private final BitSet minutes = new BitSet(MINUTES_PER_DAY);
+		private final Map<UUID, int[]> ranges = new HashMap<>();
+		private long version;
+
+		synchronized boolean overlaps(int start, int end) {
+			return BookingOccupancyIndex.overlaps(minutes, start, end);
+		}
+
+		synchronized DaySnapshot snapshot() {
+			return new DaySnapshot(version, (BitSet) minutes.clone());
+		}
+
+		synchronized void add(UUID bookingId, int start, int end, long newVersion) {
+			ranges.put(bookingId, new int[] { start, end });
+			minutes.set(start, end);
+			version = newVersion;
+		}
+
+		synchronized void remove(UUID bookingId, long newVersion) {
+			if (ranges.remove(bookingId) == null) {
+				return;
+			}
+			version = newVersion;
+			minutes.clear();
+			ranges.values().forEach(range -> minutes.set(range[0], range[1]));
+		}
+	}
+}
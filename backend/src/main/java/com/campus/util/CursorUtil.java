@@ -0,0 +1,66 @@
+package com.campus.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.exception.BadRequestException;
+
+/**
+ * Opaque (createdAt, id) cursors for keyset pagination of newest-first listings.
+ */
+public final class CursorUtil {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 200;
+
+	private CursorUtil() {
+	}
+
+	public record Cursor(Instant createdAt, UUID id) {
+	}
+
+	public static String encode(Instant createdAt, UUID id) {
+		String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a cursor, returning null for the first page.
+	 */
+	public static Cursor decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+			Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+			return new Cursor(createdAt, UUID.fromString(parts[2]));
+		} catch (RuntimeException e) {
+			throw new BadRequestException("Invalid cursor");
+		}
+	}
+
+	public static int pageSize(Integer limit) {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		return Math.min(limit, MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * Build a page from rows fetched with one extra row beyond the page size; the
+	 * extra row only signals that another page exists.
+	 */
+	public static <T> CursorPageResponse<T> toPage(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+		if (rows.size() <= pageSize) {
+			return new CursorPageResponse<>(rows, null);
+		}
+		List<T> items = rows.subList(0, pageSize);
+		return new CursorPageResponse<>(items, cursorOf.apply(items.get(pageSize - 1)));
+	}
+}
@@ -0,0 +1,112 @@
+package com.campus.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.campus.repository.ResourceRepository;
+import com.campus.repository.UserRepository;
+import com.campus.repository.projection.IdName;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Id to display-name cache for users and resources. Only names are held; misses are
+ * loaded in bulk as (id, name) projections and entries are evicted when a name changes.
+ * Each cache is a size-bounded Caffeine cache, so a full cache drops its least used
+ * names instead of emptying.
+ */
+@Component
+public class DisplayNameCache {
+
+	private final UserRepository userRepository;
+	private final ResourceRepository resourceRepository;
+
+	private final Names userNames;
+	private final Names resourceNames;
+
+	public DisplayNameCache(
+			UserRepository userRepository,
+			ResourceRepository resourceRepository,
+			@Value("${app.cache.display-names.max-size:50000}") int maxSize) {
+		this.userRepository = userRepository;
+		this.resourceRepository = resourceRepository;
+		this.userNames = new Names(maxSize);
+		this.resourceNames = new Names(maxSize);
+	}
+
+	public Map<UUID, String> userNames(Collection<UUID> ids) {
+		return resolve(ids, userNames, userRepository::findNamesByIdIn);
+	}
+
+	public Map<UUID, String> resourceNames(Collection<UUID> ids) {
+		return resolve(ids, resourceNames, resourceRepository::findNamesByIdIn);
+	}
+
+	public void evictUser(UUID id) {
+		TransactionUtil.afterCommit(() -> userNames.evict(id));
+	}
+
+	public void evictResource(UUID id) {
+		TransactionUtil.afterCommit(() -> resourceNames.evict(id));
+	}
+
+	private Map<UUID, String> resolve(Collection<UUID> ids, Names names,
+			Function<Collection<UUID>, List<IdName>> loader) {
+		Set<UUID> wanted = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+		Map<UUID, String> result = new HashMap<>(names.cache.getAllPresent(wanted));
+		wanted.removeAll(result.keySet());
+
+		if (!wanted.isEmpty()) {
+			long generation = names.generation.get();
+			Map<UUID, String> loaded = new HashMap<>();
+			for (IdName row : loader.apply(wanted)) {
+				if (row.getName() != null) {
+					loaded.put(row.getId(), row.getName());
+				}
+			}
+			result.putAll(loaded);
+			names.fill(loaded, generation);
+		}
+		return result;
+	}
+
+	/**
+	 * One bounded cache plus a generation counter that every eviction bumps. A bulk
+	 * load remembers the generation it started at; if an eviction lands while it
+	 * runs, the loaded names may predate the change and are taken back out.
+	 */
+	private static final class Names {
+
+		private final Cache<UUID, String> cache;
+		private final AtomicLong generation = new AtomicLong();
+
+		private Names(int maxSize) {
+			this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+		}
+
+		private void evict(UUID id) {
+			generation.incrementAndGet();
+			cache.invalidate(id);
+		}
+
+		private void fill(Map<UUID, String> loaded, long startedAt) {
+			cache.putAll(loaded);
+			// Checked after the put: an eviction that bumped the generation before this
+			// read either removed the entry already or is undone here
+			if (generation.get() != startedAt) {
+				cache.invalidateAll(loaded.keySet());
+			}
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.campus.util;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for new entities and of other generated ids. The
+ * implementation is picked with {@code app.ids.generator} (see JpaConfig): {@code v7}
+ * for time-ordered {@link UuidV7} ids, the default, or {@code v4} for random ones.
+ */
+public interface IdGenerator {
+
+	UUID next();
+
+	static IdGenerator of(String name) {
+		return switch (name.toLowerCase()) {
+			case "v7" -> new UuidV7(System::currentTimeMillis);
+			case "v4" -> UUID::randomUUID;
+			default -> throw new IllegalStateException("app.ids.generator must be v7 or v4, got " + name);
+		};
+	}
+}
@@ -1,6 +1,8 @@
 package com.campus.util;
 
+import com.campus.entity.User;
 import com.campus.exception.ConflictException;
+import com.campus.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -16,4 +18,18 @@ public final class SecurityUtil {
 		}
 		return authentication.getName();
 	}
+
+	/**
+	 * The user resolved by the authentication filter for the current request. Only
+	 * its id, email and role are guaranteed current: changing them, the status or the
+	 * advisor bumps the token version and retires the request's token. Load the entity
+	 * for decisions that depend on any other field.
+	 */
+	public static User requireCurrentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+			throw new ConflictException("Unauthenticated request");
+		}
+		return principal.getUser();
+	}
 }
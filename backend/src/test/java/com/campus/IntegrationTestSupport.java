@@ -0,0 +1,79 @@
+package com.campus;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.campus.dto.request.UpdatePolicyRequest;
+import com.campus.entity.Resource;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.repository.ResourceRepository;
+import com.campus.repository.UserRepository;
+import com.campus.security.UserPrincipal;
+import com.campus.service.PolicyService;
+
+/**
+ * Base for tests against the full application on the in-memory database. Every
+ * helper creates fresh rows, so tests sharing the context do not see each other's data.
+ */
+@SpringBootTest
+public abstract class IntegrationTestSupport {
+
+	@Autowired
+	protected UserRepository userRepository;
+
+	@Autowired
+	protected ResourceRepository resourceRepository;
+
+	@Autowired
+	protected PolicyService policyService;
+
+	@AfterEach
+	void signOut() {
+		SecurityContextHolder.clearContext();
+	}
+
+	protected User user(Role role) {
+		return user(role, null);
+	}
+
+	protected User user(Role role, UUID advisorId) {
+		String name = role.name().toLowerCase() + "-" + UUID.randomUUID();
+		return userRepository.save(User.builder()
+				.name(name)
+				.email(name + "@campus.test")
+				.password("unused")
+				.role(role)
+				.advisorId(advisorId)
+				.build());
+	}
+
+	protected Resource resource() {
+		return resourceRepository.save(Resource.builder()
+				.name("room-" + UUID.randomUUID())
+				.type("LAB")
+				.capacity(10)
+				.build());
+	}
+
+	protected void signIn(User user) {
+		UserPrincipal principal = UserPrincipal.from(user);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	protected void policy(Role role, Integer maxBookingsPerDay, Integer maxBookingsPerMonth, Integer maxHoursPerDay, Integer maxHoursPerMonth) {
+		UpdatePolicyRequest request = new UpdatePolicyRequest();
+		request.setMaxBookingsPerDay(maxBookingsPerDay);
+		request.setMaxBookingsPerMonth(maxBookingsPerMonth);
+		request.setMaxHoursPerDay(maxHoursPerDay);
+		request.setMaxHoursPerMonth(maxHoursPerMonth);
+		request.setIsUnlimited(false);
+		policyService.updatePolicy(role, request);
+	}
+}
@@ -0,0 +1,179 @@
+package com.campus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.campus.dto.request.LoginRequest;
+import com.campus.dto.request.RefreshTokenRequest;
+import com.campus.dto.response.AuthResponse;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.repository.UserRepository;
+import com.campus.service.AuthService;
+
+/**
+ * Compares the two ways a student can keep a session alive through a day of
+ * short-lived access tokens: signing in again with the password, as before refresh
+ * tokens, or rotating the refresh token. Not part of the regular build; run it with
+ * {@code mvn test -Dtest=RefreshRotationLoadTest -Dloadtest=true}.
+ * <p>
+ * The application runs against the in-memory database and the calls go straight to
+ * {@link AuthService}, so HTTP handling and rate limiting stay out of the numbers.
+ * Every student renews {@code loadtest.renewals} times (96 is a five-minute token
+ * over eight hours), all students at once. CPU is the whole process's, so it
+ * includes the hash pool and the garbage collector. Tunables:
+ * {@code loadtest.students}, {@code loadtest.renewals} and
+ * {@code loadtest.bcrypt-strength}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class RefreshRotationLoadTest {
+
+	private static final int STUDENTS = Integer.getInteger("loadtest.students", 20);
+	private static final int RENEWALS = Integer.getInteger("loadtest.renewals", 96);
+	private static final int BCRYPT_STRENGTH = Integer.getInteger("loadtest.bcrypt-strength", 10);
+	private static final String PASSWORD = "Student-pass-1";
+
+	@Test
+	void compareSessionRenewal() throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CampusApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:refresh-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+						"app.security.bcrypt.strength=" + BCRYPT_STRENGTH,
+						"logging.level.root=WARN")
+				.run()) {
+			AuthService authService = context.getBean(AuthService.class);
+			List<String> emails = students(context.getBean(UserRepository.class), context.getBean(PasswordEncoder.class));
+
+			UnaryOperator<String> signIn = email -> {
+				authService.login(login(email));
+				return email;
+			};
+			UnaryOperator<String> rotate = refreshToken -> authService.refresh(refresh(refreshToken)).getRefreshToken();
+
+			// Warm both paths up before measuring
+			drive(emails, signIn, 2);
+			drive(sessions(authService, emails), rotate, 20);
+
+			Result passwords = drive(emails, signIn, RENEWALS);
+			Result refreshTokens = drive(sessions(authService, emails), rotate, RENEWALS);
+
+			System.out.printf("%d students x %d renewals, bcrypt strength %d, %d cores%n",
+					STUDENTS, RENEWALS, BCRYPT_STRENGTH, Runtime.getRuntime().availableProcessors());
+			System.out.println("sign in again:  " + passwords);
+			System.out.println("rotate refresh: " + refreshTokens);
+			System.out.printf("CPU per renewal %.1fx lower with refresh tokens%n",
+					passwords.cpuMicrosPerRenewal() / refreshTokens.cpuMicrosPerRenewal());
+			assertEquals(0, passwords.failed() + refreshTokens.failed());
+		}
+	}
+
+	/**
+	 * Every student renews the given number of times, each carrying forward the value
+	 * the last renewal handed back.
+	 */
+	private static Result drive(List<String> start, UnaryOperator<String> renew, int renewals) throws InterruptedException {
+		LongAdder failed = new LongAdder();
+		List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		long cpuBefore = processCpuNanos();
+		long started = System.nanoTime();
+
+		try (ExecutorService students = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (String first : start) {
+				students.execute(() -> {
+					String current = first;
+					for (int i = 0; i < renewals; i++) {
+						long begun = System.nanoTime();
+						try {
+							current = renew.apply(current);
+							latencies.add(System.nanoTime() - begun);
+						} catch (RuntimeException e) {
+							failed.increment();
+							return;
+						}
+					}
+				});
+			}
+		}
+
+		long wallNanos = System.nanoTime() - started;
+		long cpuNanos = processCpuNanos() - cpuBefore;
+		List<Long> sorted = new ArrayList<>(latencies);
+		Collections.sort(sorted);
+		return new Result(sorted.size(), failed.sum(), wallNanos, cpuNanos, percentile(sorted, 0.5), percentile(sorted, 0.99));
+	}
+
+	private static List<String> sessions(AuthService authService, List<String> emails) {
+		return emails.stream().map(email -> authService.login(login(email))).map(AuthResponse::getRefreshToken).toList();
+	}
+
+	private static List<String> students(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+		String hash = passwordEncoder.encode(PASSWORD);
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < STUDENTS; i++) {
+			String name = "student-" + UUID.randomUUID();
+			emails.add(userRepository.save(User.builder()
+					.name(name)
+					.email(name + "@campus.test")
+					.password(hash)
+					.role(Role.STUDENT)
+					.build()).getEmail());
+		}
+		return emails;
+	}
+
+	private static LoginRequest login(String email) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(PASSWORD);
+		request.setExpectedRole(Role.STUDENT);
+		return request;
+	}
+
+	private static RefreshTokenRequest refresh(String refreshToken) {
+		RefreshTokenRequest request = new RefreshTokenRequest();
+		request.setRefreshToken(refreshToken);
+		return request;
+	}
+
+	private static long processCpuNanos() {
+		return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+	}
+
+	private static long percentile(List<Long> sorted, double quantile) {
+		if (sorted.isEmpty()) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMicros(sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * quantile)));
+	}
+
+	private record Result(long ok, long failed, long wallNanos, long cpuNanos, long p50Micros, long p99Micros) {
+
+		double cpuMicrosPerRenewal() {
+			return cpuNanos / 1000.0 / Math.max(1, ok);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%,d ok, %,d failed in %,d ms, CPU %,d ms (%,.0f us per renewal), p50 %,d us, p99 %,d us",
+					ok, failed, TimeUnit.NANOSECONDS.toMillis(wallNanos), TimeUnit.NANOSECONDS.toMillis(cpuNanos),
+					cpuMicrosPerRenewal(), p50Micros, p99Micros);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package com.campus;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.repository.UserRepository;
+import com.campus.security.JwtTokenProvider;
+
+/**
+ * Compares platform and virtual request threads under many concurrent users. Not part
+ * of the regular build; run it with
+ * {@code mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true}.
+ * <p>
+ * Each run starts the application on a random port against the in-memory database,
+ * with every JDBC statement delayed by {@code loadtest.latency-ms} to stand in for the
+ * round trip to MySQL. Clients hit the staff stats endpoint, which runs several
+ * sequential queries, in a closed loop. Tunables: {@code loadtest.users},
+ * {@code loadtest.seconds}, {@code loadtest.latency-ms}, {@code loadtest.pool} and
+ * {@code loadtest.tomcat-threads}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 2000);
+	private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+	private static final long LATENCY_MS = Long.getLong("loadtest.latency-ms", 5);
+	private static final int POOL = Integer.getInteger("loadtest.pool", 50);
+	private static final int TOMCAT_THREADS = Integer.getInteger("loadtest.tomcat-threads", 200);
+
+	@Test
+	void compareRequestThreadModes() throws Exception {
+		Result platform = run(false);
+		Result virtual = run(true);
+
+		System.out.printf("%d users, %d s, %d ms per statement, pool %d, %d Tomcat threads%n",
+				USERS, SECONDS, LATENCY_MS, POOL, TOMCAT_THREADS);
+		System.out.println("platform: " + platform);
+		System.out.println("virtual:  " + virtual);
+		assertTrue(platform.ok() > 0 && virtual.ok() > 0);
+	}
+
+	private Result run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CampusApplication.class)
+				.initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new QueryLatency(LATENCY_MS)))
+				.properties(
+						"server.port=0",
+						"spring.threads.virtual.enabled=" + virtualThreads,
+						"spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads
+								+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+						"spring.datasource.hikari.maximum-pool-size=" + POOL,
+						"server.tomcat.threads.max=" + TOMCAT_THREADS,
+						"logging.level.root=WARN")
+				.run()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			String token = context.getBean(JwtTokenProvider.class).generateToken(staff(context.getBean(UserRepository.class)));
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/approvals/staff/stats"))
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+					.timeout(Duration.ofSeconds(60))
+					.build();
+
+			try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+				drive(client, request, Math.min(USERS, 50), 3);
+				return drive(client, request, USERS, SECONDS);
+			}
+		}
+	}
+
+	private static Result drive(HttpClient client, HttpRequest request, int users, int seconds) throws InterruptedException {
+		LongAdder ok = new LongAdder();
+		LongAdder shed = new LongAdder();
+		LongAdder failed = new LongAdder();
+		List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < users; i++) {
+				clients.execute(() -> {
+					while (System.nanoTime() < deadline) {
+						long started = System.nanoTime();
+						try {
+							int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+							if (status == 200) {
+								ok.increment();
+								latencies.add(System.nanoTime() - started);
+							} else if (status == 503) {
+								shed.increment();
+							} else {
+								failed.increment();
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						} catch (Exception e) {
+							failed.increment();
+						}
+					}
+				});
+			}
+		}
+
+		List<Long> sorted = new ArrayList<>(latencies);
+		Collections.sort(sorted);
+		return new Result(ok.sum(), shed.sum(), failed.sum(), seconds, percentile(sorted, 0.5), percentile(sorted, 0.99));
+	}
+
+	private static long percentile(List<Long> sorted, double quantile) {
+		if (sorted.isEmpty()) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * quantile)));
+	}
+
+	private static User staff(UserRepository userRepository) {
+		String name = "staff-" + UUID.randomUUID();
+		return userRepository.save(User.builder()
+				.name(name)
+				.email(name + "@campus.test")
+				.password("unused")
+				.role(Role.STAFF)
+				.build());
+	}
+
+	private record Result(long ok, long shed, long failed, int seconds, long p50Ms, long p99Ms) {
+
+		@Override
+		public String toString() {
+			return String.format("%,d ok (%,d req/s), %,d shed with 503, %,d failed, p50 %d ms, p99 %d ms",
+					ok, ok / seconds, shed, failed, p50Ms, p99Ms);
+		}
+	}
+
+	/**
+	 * Delays every statement execution, standing in for the network round trip to the
+	 * database that the in-memory one does not have.
+	 */
+	private record QueryLatency(long latencyMs) implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!(bean instanceof DataSource dataSource)) {
+				return bean;
+			}
+			return new DelegatingDataSource(dataSource) {
+				@Override
+				public Connection getConnection() throws SQLException {
+					return (Connection) delayed(super.getConnection(), Connection.class);
+				}
+			};
+		}
+
+		private Object delayed(Object target, Class<?> type) {
+			return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+				if (method.getName().startsWith("execute")) {
+					Thread.sleep(latencyMs);
+				}
+				Object result;
+				try {
+					result = method.invoke(target, args);
+				} catch (InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+				if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+					return delayed(result, method.getReturnType());
+				}
+				return result;
+			});
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.campus.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.security.JwtTokenProvider;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.threads.virtual.enabled=true",
+		"app.datasource.max-concurrent-connections=2",
+		"app.datasource.acquire-timeout-ms=100"
+})
+class ConnectionLimitingDataSourceTest extends IntegrationTestSupport {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void virtualThreadModeWrapsThePool() {
+		ConnectionLimitingDataSource limiter = assertInstanceOf(ConnectionLimitingDataSource.class, dataSource);
+		assertEquals(2, limiter.getMaxConnections());
+	}
+
+	@Test
+	void callerPastTheLimitTimesOutAndClosingTwiceReturnsOnePermit() throws Exception {
+		ConnectionLimitingDataSource limiter = (ConnectionLimitingDataSource) dataSource;
+		try (Connection first = limiter.getConnection()) {
+			Connection second = limiter.getConnection();
+			assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+
+			second.close();
+			second.close();
+			assertEquals(1, limiter.getActiveConnections());
+		}
+		assertEquals(0, limiter.getActiveConnections());
+	}
+
+	@Test
+	void saturatedDatabaseAnswers503WithRetryAfter() throws Exception {
+		User student = user(Role.STUDENT);
+		String token = tokenProvider.generateToken(student);
+
+		try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+			mockMvc.perform(get("/api/bookings/my").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+		}
+	}
+}
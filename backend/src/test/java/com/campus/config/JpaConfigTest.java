@@ -0,0 +1,45 @@
+package com.campus.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+
+class JpaConfigTest extends IntegrationTestSupport {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void uuidColumnsAreChar36InCharMode() {
+		List<Map<String, Object>> columns = jdbcTemplate.queryForList("select table_name, column_name, data_type, "
+				+ "character_maximum_length from information_schema.columns where table_schema = 'public' "
+				+ "and (column_name = 'id' or column_name like '%\\_id' escape '\\' "
+				+ "or column_name in ('staff_approved_by', 'admin_approved_by', 'changed_by'))");
+
+		assertTrue(columns.size() >= 10, columns.toString());
+		for (Map<String, Object> column : columns) {
+			String name = column.get("table_name") + "." + column.get("column_name");
+			assertEquals("character", String.valueOf(column.get("data_type")).toLowerCase(), name);
+			assertEquals(36L, ((Number) column.get("character_maximum_length")).longValue(), name);
+		}
+	}
+
+	@Test
+	void newEntitiesGetIdsFromTheConfiguredGenerator() {
+		User user = user(Role.STUDENT);
+
+		// v7 by default, assigned by the injected entity listener
+		assertEquals(7, user.getId().version());
+		assertEquals(user.getId(), userRepository.findById(user.getId()).orElseThrow().getId());
+	}
+}
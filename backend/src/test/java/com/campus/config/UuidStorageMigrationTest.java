@@ -0,0 +1,224 @@
+package com.campus.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs the conversion against a CHAR(36) schema laid out like the one before it, on
+ * a database of its own. H2 has no uuid_to_bin, so the test defines it with MySQL's
+ * semantics.
+ */
+class UuidStorageMigrationTest {
+
+	private static final String UUID_TO_BIN = """
+			create alias uuid_to_bin as $$
+			byte[] uuidToBin(String value) {
+				if (value == null) {
+					return null;
+				}
+				java.util.UUID id = java.util.UUID.fromString(value);
+				return java.nio.ByteBuffer.allocate(16)
+						.putLong(id.getMostSignificantBits())
+						.putLong(id.getLeastSignificantBits())
+						.array();
+			}
+			$$""";
+
+	private JdbcTemplate jdbcTemplate;
+
+	private final UUID advisor = UUID.randomUUID();
+	private final UUID student = UUID.randomUUID();
+	private final List<UUID> resources = List.of(UUID.randomUUID(), UUID.randomUUID());
+	private final Map<UUID, UUID> bookingOwners = new HashMap<>();
+
+	@BeforeEach
+	void seedCharSchema() {
+		jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:uuid-migration-" + UUID.randomUUID()
+				+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1"));
+		jdbcTemplate.execute(UUID_TO_BIN);
+		jdbcTemplate.execute("create table users (id char(36) not null, name varchar(50) not null, advisor_id char(36), "
+				+ "primary key (id))");
+		jdbcTemplate.execute("create index idx_user_advisor on users (advisor_id)");
+		jdbcTemplate.execute("alter table users add constraint fk_user_advisor foreign key (advisor_id) "
+				+ "references users (id) on delete set null");
+		jdbcTemplate.execute("create table resources (id char(36) not null, name varchar(50) not null, primary key (id))");
+		jdbcTemplate.execute("create table bookings (id char(36) not null, user_id char(36) not null, "
+				+ "resource_id char(36) not null, booking_date date not null, primary key (id))");
+		jdbcTemplate.execute("create index idx_booking_resource_date on bookings (resource_id, booking_date)");
+		jdbcTemplate.execute("alter table bookings add constraint fk_booking_user foreign key (user_id) references users (id)");
+		jdbcTemplate.execute("alter table bookings add constraint fk_booking_resource foreign key (resource_id) "
+				+ "references resources (id) on delete cascade");
+
+		jdbcTemplate.update("insert into users values (?, 'advisor', null)", advisor.toString());
+		jdbcTemplate.update("insert into users values (?, 'student', ?)", student.toString(), advisor.toString());
+		for (UUID resource : resources) {
+			jdbcTemplate.update("insert into resources values (?, 'room')", resource.toString());
+		}
+		// More rows than one chunk, so the fill walks several key ranges
+		for (int i = 0; i < 7; i++) {
+			UUID id = UUID.randomUUID();
+			UUID owner = i % 2 == 0 ? student : advisor;
+			bookingOwners.put(id, owner);
+			jdbcTemplate.update("insert into bookings values (?, ?, ?, ?)", id.toString(), owner.toString(),
+					resources.get(i % 2).toString(), LocalDate.now().plusDays(i));
+		}
+	}
+
+	@Test
+	void seededRowsReadBackAsTheSameUuids() {
+		migration().afterPropertiesSet();
+
+		assertEquals(Set.of(advisor, student), Set.copyOf(jdbcTemplate.query("select id from users",
+				(rs, rowNum) -> uuid(rs.getBytes(1)))));
+		assertEquals(advisor, jdbcTemplate.queryForObject("select advisor_id from users where id = ?",
+				(rs, rowNum) -> uuid(rs.getBytes(1)), (Object) bin(student)));
+		Map<UUID, UUID> owners = new HashMap<>();
+		jdbcTemplate.query("select b.id, u.id from bookings b join users u on u.id = b.user_id "
+				+ "join resources r on r.id = b.resource_id",
+				rs -> {
+					owners.put(uuid(rs.getBytes(1)), uuid(rs.getBytes(2)));
+				});
+		assertEquals(bookingOwners, owners);
+	}
+
+	@Test
+	void columnsKeysAndIndexesAreBinaryAfterwards() {
+		migration().afterPropertiesSet();
+
+		Map<String, Integer> types = columnTypes("bookings");
+		assertEquals(Types.BINARY, types.get("id"));
+		assertEquals(Types.BINARY, types.get("user_id"));
+		assertEquals(Types.BINARY, types.get("resource_id"));
+		assertFalse(types.containsKey("id__bin"));
+		assertEquals(Types.BINARY, columnTypes("users").get("advisor_id"));
+
+		assertEquals(List.of("id"), primaryKey("bookings"));
+		assertTrue(indexes("bookings").contains("idx_booking_resource_date"));
+		assertTrue(indexes("users").contains("idx_user_advisor"));
+		assertEquals(Set.of("fk_booking_user", "fk_booking_resource"), foreignKeys("bookings"));
+		assertEquals(Set.of("fk_user_advisor"), foreignKeys("users"));
+		assertFalse(tables().contains("uuid_migration_foreign_keys"));
+	}
+
+	@Test
+	void restoredForeignKeysStillEnforceTheirRules() {
+		migration().afterPropertiesSet();
+
+		jdbcTemplate.update("delete from resources where id = ?", (Object) bin(resources.get(0)));
+
+		// on delete cascade came back with the key
+		assertEquals(3, jdbcTemplate.queryForObject("select count(*) from bookings", Integer.class));
+	}
+
+	@Test
+	void secondRunFindsNothingLeftToConvert() {
+		migration().afterPropertiesSet();
+		migration().afterPropertiesSet();
+
+		assertEquals(7, jdbcTemplate.queryForObject("select count(*) from bookings", Integer.class));
+		assertEquals(Set.of("fk_booking_user", "fk_booking_resource"), foreignKeys("bookings"));
+	}
+
+	private UuidStorageMigration migration() {
+		return new UuidStorageMigration(jdbcTemplate, "BINARY", 2);
+	}
+
+	private Map<String, Integer> columnTypes(String table) {
+		return metaData(metaData -> {
+			Map<String, Integer> types = new HashMap<>();
+			try (ResultSet rs = metaData.getColumns(null, null, table, null)) {
+				while (rs.next()) {
+					types.put(rs.getString("COLUMN_NAME").toLowerCase(), rs.getInt("DATA_TYPE"));
+				}
+			}
+			return types;
+		});
+	}
+
+	private List<String> primaryKey(String table) {
+		return metaData(metaData -> {
+			List<String> columns = new ArrayList<>();
+			try (ResultSet rs = metaData.getPrimaryKeys(null, null, table)) {
+				while (rs.next()) {
+					columns.add(rs.getString("COLUMN_NAME").toLowerCase());
+				}
+			}
+			return columns;
+		});
+	}
+
+	private Set<String> indexes(String table) {
+		return metaData(metaData -> {
+			Set<String> names = new HashSet<>();
+			try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+				while (rs.next()) {
+					names.add(rs.getString("INDEX_NAME").toLowerCase());
+				}
+			}
+			return names;
+		});
+	}
+
+	private Set<String> foreignKeys(String table) {
+		return metaData(metaData -> {
+			Set<String> names = new HashSet<>();
+			try (ResultSet rs = metaData.getImportedKeys(null, null, table)) {
+				while (rs.next()) {
+					names.add(rs.getString("FK_NAME").toLowerCase());
+				}
+			}
+			return names;
+		});
+	}
+
+	private Set<String> tables() {
+		return metaData(metaData -> {
+			Set<String> names = new HashSet<>();
+			try (ResultSet rs = metaData.getTables(null, null, "%", new String[] {"TABLE"})) {
+				while (rs.next()) {
+					names.add(rs.getString("TABLE_NAME").toLowerCase());
+				}
+			}
+			return names;
+		});
+	}
+
+	private <T> T metaData(MetaDataQuery<T> query) {
+		return jdbcTemplate.execute((ConnectionCallback<T>) connection -> query.apply(connection.getMetaData()));
+	}
+
+	private static byte[] bin(UUID id) {
+		return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+	}
+
+	private static UUID uuid(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+
+	private interface MetaDataQuery<T> {
+
+		T apply(DatabaseMetaData metaData) throws SQLException;
+	}
+}
@@ -0,0 +1,47 @@
+package com.campus.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.exception.TooManyRequestsException;
+import com.campus.security.BoundedPasswordEncoder;
+
+@AutoConfigureMockMvc
+class AuthControllerTest extends IntegrationTestSupport {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoSpyBean
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@Test
+	void loginWhileHashingIsSaturatedAnswers429WithRetryAfter() throws Exception {
+		User student = user(Role.STUDENT);
+		doThrow(new TooManyRequestsException("Too many sign-in requests, please try again shortly", 3))
+				.when(passwordEncoder).matches(any(), anyString());
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + student.getEmail() + "\",\"password\":\"secret\",\"expectedRole\":\"STUDENT\"}"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+				.andExpect(jsonPath("$.status").value(429));
+	}
+}
@@ -0,0 +1,173 @@
+package com.campus.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.dto.request.CreateBookingRequest;
+import com.campus.entity.Resource;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.security.JwtTokenProvider;
+import com.campus.service.BookingService;
+
+@AutoConfigureMockMvc
+class BookingControllerTest extends IntegrationTestSupport {
+
+	// Default of app.slots.matrix.max-resources
+	private static final int MATRIX_MAX_RESOURCES = 100;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	void slotsAnswer304WhileTheDayIsUnchanged() throws Exception {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		LocalDate date = LocalDate.now().plusDays(5);
+
+		String etag = mockMvc.perform(slots(student, resource, date))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(slots(student, resource, date).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void bookingTheDayChangesTheEtag() throws Exception {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		LocalDate date = LocalDate.now().plusDays(6);
+		policy(Role.STUDENT, 10, 100, 20, 200);
+
+		String before = mockMvc.perform(slots(student, resource, date))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(before);
+
+		signIn(student);
+		CreateBookingRequest request = new CreateBookingRequest();
+		request.setResourceId(resource.getId());
+		request.setBookingDate(date);
+		request.setStartTime(LocalTime.of(9, 0));
+		request.setEndTime(LocalTime.of(10, 0));
+		bookingService.createBooking(request);
+
+		String after = mockMvc.perform(slots(student, resource, date).header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(before, after);
+	}
+
+	@Test
+	void otherDaysKeepTheirEtag() throws Exception {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		LocalDate date = LocalDate.now().plusDays(7);
+		policy(Role.STUDENT, 10, 100, 20, 200);
+
+		String etag = mockMvc.perform(slots(student, resource, date))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		signIn(student);
+		CreateBookingRequest request = new CreateBookingRequest();
+		request.setResourceId(resource.getId());
+		request.setBookingDate(date.plusDays(1));
+		request.setStartTime(LocalTime.of(9, 0));
+		request.setEndTime(LocalTime.of(10, 0));
+		bookingService.createBooking(request);
+
+		mockMvc.perform(slots(student, resource, date).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void matrixWithInvertedDatesIsABadRequest() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(3);
+
+		mockMvc.perform(matrix(user(Role.STUDENT), date, date.minusDays(1)).param("type", "LAB"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void matrixWithoutResourcesOrTypeIsABadRequest() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(3);
+
+		mockMvc.perform(matrix(user(Role.STUDENT), date, date))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void matrixOverTheResourceLimitIsABadRequest() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(3);
+		MockHttpServletRequestBuilder request = matrix(user(Role.STUDENT), date, date);
+		for (int i = 0; i <= MATRIX_MAX_RESOURCES; i++) {
+			request.param("resourceIds", UUID.randomUUID().toString());
+		}
+
+		mockMvc.perform(request).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void matrixForATypeWithTooManyResourcesIsABadRequest() throws Exception {
+		String type = "T-" + UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i <= MATRIX_MAX_RESOURCES; i++) {
+			resourceRepository.save(Resource.builder().name("room-" + UUID.randomUUID()).type(type).capacity(1).build());
+		}
+		LocalDate date = LocalDate.now().plusDays(3);
+
+		mockMvc.perform(matrix(user(Role.STUDENT), date, date).param("type", type))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void matrixForATypeAtTheLimitIsServed() throws Exception {
+		String type = "T-" + UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i < MATRIX_MAX_RESOURCES; i++) {
+			resourceRepository.save(Resource.builder().name("room-" + UUID.randomUUID()).type(type).capacity(1).build());
+		}
+		LocalDate date = LocalDate.now().plusDays(3);
+
+		mockMvc.perform(matrix(user(Role.STUDENT), date, date).param("type", type))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.resources.length()").value(MATRIX_MAX_RESOURCES));
+	}
+
+	private MockHttpServletRequestBuilder matrix(User user, LocalDate startDate, LocalDate endDate) {
+		return get("/api/bookings/slots/matrix")
+				.param("startDate", startDate.toString())
+				.param("endDate", endDate.toString())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateToken(user));
+	}
+
+	private MockHttpServletRequestBuilder slots(User user, Resource resource, LocalDate date) {
+		return get("/api/bookings/slots/{resourceId}", resource.getId())
+				.param("date", date.toString())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateToken(user));
+	}
+}
@@ -0,0 +1,49 @@
+package com.campus.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.enums.Role;
+import com.campus.security.JwtTokenProvider;
+
+@AutoConfigureMockMvc
+class PolicyControllerTest extends IntegrationTestSupport {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void updateIsServedFromTheCacheOnceCommitted() throws Exception {
+		policy(Role.STAFF, 10, 1000, 20, 2000);
+		int before = policyService.getPolicy(Role.STAFF).getMaxHoursPerMonth();
+
+		mockMvc.perform(put("/api/policy/{role}", Role.STAFF)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateToken(user(Role.ADMIN)))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"maxHoursPerMonth\":" + (before + 7) + "}"))
+				.andExpect(status().isOk());
+
+		assertEquals(before + 7, policyService.getPolicy(Role.STAFF).getMaxHoursPerMonth());
+	}
+
+	@Test
+	void updateRequiresAdmin() throws Exception {
+		mockMvc.perform(put("/api/policy/{role}", Role.STAFF)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateToken(user(Role.STAFF)))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"maxHoursPerMonth\":1}"))
+				.andExpect(status().isForbidden());
+	}
+}
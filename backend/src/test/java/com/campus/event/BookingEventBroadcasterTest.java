@@ -0,0 +1,165 @@
+package com.campus.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.campus.dto.response.BookingResponse;
+import com.campus.entity.User;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.Role;
+
+class BookingEventBroadcasterTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private TestBroadcaster broadcaster;
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		broadcaster.destroy();
+	}
+
+	@Test
+	void slowSubscriberDoesNotBlockThePublisherOrOtherSubscribers() throws Exception {
+		broadcaster = new TestBroadcaster(64, 10_000);
+		RecordingEmitter slow = broadcaster.subscribe(admin(), Behaviour.BLOCK);
+		RecordingEmitter fast = broadcaster.subscribe(admin(), Behaviour.SEND);
+
+		long started = System.nanoTime();
+		broadcaster.onBookingChanged(pendingAdmin());
+		assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+
+		assertTrue(fast.delivered.await(5, TimeUnit.SECONDS));
+		assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+		assertEquals(2, broadcaster.subscriberCount());
+	}
+
+	@Test
+	void failingSendDropsTheSubscriber() throws Exception {
+		broadcaster = new TestBroadcaster(64, 10_000);
+		RecordingEmitter broken = broadcaster.subscribe(admin(), Behaviour.FAIL);
+
+		broadcaster.onBookingChanged(pendingAdmin());
+
+		assertInstanceOf(IOException.class, broken.failure.get(5, TimeUnit.SECONDS));
+		assertEquals(0, broadcaster.subscriberCount());
+	}
+
+	@Test
+	void sendStuckPastTheTimeoutIsDroppedOnHeartbeat() throws Exception {
+		broadcaster = new TestBroadcaster(64, 50);
+		RecordingEmitter stuck = broadcaster.subscribe(admin(), Behaviour.BLOCK);
+
+		broadcaster.onBookingChanged(pendingAdmin());
+		assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		broadcaster.heartbeat();
+
+		assertInstanceOf(TimeoutException.class, stuck.failure.get(5, TimeUnit.SECONDS));
+		assertEquals(0, broadcaster.subscriberCount());
+	}
+
+	@Test
+	void subscriberFallingTooFarBehindIsDropped() throws Exception {
+		broadcaster = new TestBroadcaster(2, 10_000);
+		RecordingEmitter behind = broadcaster.subscribe(admin(), Behaviour.BLOCK);
+
+		broadcaster.onBookingChanged(pendingAdmin());
+		assertTrue(behind.sending.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 3; i++) {
+			broadcaster.onBookingChanged(pendingAdmin());
+		}
+
+		assertInstanceOf(IllegalStateException.class, behind.failure.get(5, TimeUnit.SECONDS));
+		assertEquals(0, broadcaster.subscriberCount());
+	}
+
+	private static User admin() {
+		User user = User.builder().role(Role.ADMIN).build();
+		user.setId(UUID.randomUUID());
+		return user;
+	}
+
+	private static BookingChangedEvent pendingAdmin() {
+		BookingResponse booking = new BookingResponse();
+		booking.setId(UUID.randomUUID());
+		booking.setApprovalStage(ApprovalStage.PENDING_ADMIN);
+		return new BookingChangedEvent(booking, null, null);
+	}
+
+	private enum Behaviour {
+		SEND, BLOCK, FAIL
+	}
+
+	private final class TestBroadcaster extends BookingEventBroadcaster {
+
+		private Behaviour next;
+
+		TestBroadcaster(int maxPending, long sendTimeoutMs) {
+			super(10, 60_000, 2, 100, maxPending, sendTimeoutMs);
+		}
+
+		RecordingEmitter subscribe(User user, Behaviour behaviour) {
+			next = behaviour;
+			return (RecordingEmitter) subscribeApprovals(user);
+		}
+
+		@Override
+		SseEmitter newEmitter() {
+			return new RecordingEmitter(next);
+		}
+	}
+
+	/**
+	 * Emitter that lets the initial "connected" comment through and then behaves as told.
+	 */
+	private final class RecordingEmitter extends SseEmitter {
+
+		private final Behaviour behaviour;
+		private final AtomicInteger sends = new AtomicInteger();
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch delivered = new CountDownLatch(1);
+		private final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+
+		RecordingEmitter(Behaviour behaviour) {
+			this.behaviour = behaviour;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (sends.getAndIncrement() == 0) {
+				return;
+			}
+			sending.countDown();
+			switch (behaviour) {
+				case SEND -> delivered.countDown();
+				case FAIL -> throw new IOException("Broken pipe");
+				case BLOCK -> {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			failure.complete(ex);
+		}
+	}
+}
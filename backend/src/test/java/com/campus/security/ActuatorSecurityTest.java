@@ -0,0 +1,135 @@
+package com.campus.security;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.enums.Role;
+import com.campus.exception.TooManyRequestsException;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"management.endpoints.web.exposure.include=health,prometheus",
+		"management.defaults.metrics.export.enabled=true",
+		"management.prometheus.metrics.export.enabled=true",
+		"app.metrics.username=scraper",
+		"app.metrics.password=scrape-secret"
+})
+class ActuatorSecurityTest extends IntegrationTestSupport {
+
+	private static final String HELD = "held";
+	private static final CountDownLatch release = new CountDownLatch(1);
+
+	// One worker and one queue slot, so two held hashes fill the pool
+	@TestBean
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusNeedsTheScrapeAccount() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void applicationTokensDoNotOpenPrometheus() throws Exception {
+		String token = tokenProvider.generateToken(user(Role.ADMIN));
+
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void scrapeAccountReadsTheMetrics() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(Matchers.containsString("campus_booking_transitions")))
+				.andExpect(content().string(Matchers.containsString("campus_password_hash_seconds_count")));
+	}
+
+	@Test
+	void scrapeSucceedsWhileLoginsSaturateTheHashPool() throws Exception {
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(HELD, HELD));
+		await(() -> passwordEncoder.getActiveHashes() == 1);
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(HELD, HELD));
+		await(() -> passwordEncoder.getQueueDepth() == 1);
+		assertThrows(TooManyRequestsException.class, () -> passwordEncoder.matches("login", "login"));
+
+		try {
+			mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+					.andExpect(status().isOk());
+		} finally {
+			release.countDown();
+		}
+		assertTrue(running.get(5, TimeUnit.SECONDS));
+		assertTrue(queued.get(5, TimeUnit.SECONDS));
+	}
+
+	static BoundedPasswordEncoder passwordEncoder() {
+		return new BoundedPasswordEncoder(new HoldingEncoder(), 1, 1, 1);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Stand-in for BCrypt that holds its worker on the held password until the test
+	 * lets it go, and compares everything else as plain text.
+	 */
+	private static final class HoldingEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return rawPassword.toString();
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			if (HELD.contentEquals(rawPassword)) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return rawPassword.toString().equals(encodedPassword);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.campus.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.campus.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 7);
+
+	private final Timer hashTimer = Timer.builder("campus.password.hash").register(new SimpleMeterRegistry());
+
+	@BeforeEach
+	void setUp() {
+		encoder.recordHashesWith(hashTimer);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		encoder.destroy();
+	}
+
+	@Test
+	void fullQueueTurnsCallersAwayAtOnceWithRetryAfter() throws Exception {
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+		await(() -> encoder.getActiveHashes() == 1);
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+		await(() -> encoder.getQueueDepth() == 1);
+
+		long started = System.nanoTime();
+		TooManyRequestsException busy = assertThrows(TooManyRequestsException.class, () -> encoder.matches("c", "c"));
+		assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(7, busy.getRetryAfterSeconds());
+		assertEquals(1, encoder.getRejectedCount());
+
+		release.countDown();
+		assertTrue(running.get(5, TimeUnit.SECONDS));
+		assertTrue(queued.get(5, TimeUnit.SECONDS));
+		// Only the two admitted hashes were timed
+		assertEquals(2, hashTimer.count());
+	}
+
+	@Test
+	void admittedCallerWaitsForItsHashHoweverLongItTakes() throws Exception {
+		CompletableFuture<String> hash = CompletableFuture.supplyAsync(() -> encoder.encode("secret"));
+		await(() -> encoder.getActiveHashes() == 1);
+		Thread.sleep(200);
+		assertFalse(hash.isDone());
+
+		release.countDown();
+		assertEquals("hashed:secret", hash.get(5, TimeUnit.SECONDS));
+		assertEquals(0, encoder.getRejectedCount());
+		assertTrue(hashTimer.totalTime(TimeUnit.MILLISECONDS) >= 200);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Stand-in for BCrypt that holds its worker until the test lets it go.
+	 */
+	private final class BlockingEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			block();
+			return "hashed:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			block();
+			return rawPassword.toString().equals(encodedPassword);
+		}
+
+		private void block() {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.campus.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitStoreTest {
+
+	private static final RateLimitStore.Limit THREE_PER_100_MS = new RateLimitStore.Limit(3, Duration.ofMillis(100));
+
+	@Test
+	void bucketAllowsItsCapacityThenReportsTheWait() {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, 1000);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, store.tryConsume("key", THREE_PER_100_MS));
+		}
+		long waitMs = store.tryConsume("key", THREE_PER_100_MS);
+
+		assertTrue(waitMs > 0 && waitMs <= 100, "wait was " + waitMs);
+		assertEquals(0, store.tryConsume("other", THREE_PER_100_MS));
+	}
+
+	@Test
+	void tokensComeBackOnePerRefillPeriod() throws Exception {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, 1000);
+		for (int i = 0; i < 3; i++) {
+			store.tryConsume("key", THREE_PER_100_MS);
+		}
+
+		Thread.sleep(120);
+
+		assertEquals(0, store.tryConsume("key", THREE_PER_100_MS));
+		assertTrue(store.tryConsume("key", THREE_PER_100_MS) > 0);
+	}
+
+	@Test
+	void refilledBucketsAreEvicted() throws Exception {
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, 1000);
+		store.tryConsume("key", THREE_PER_100_MS);
+
+		Thread.sleep(120);
+		store.evictIdle();
+
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void fullMapMakesRoomFromRefilledBucketsOnly() throws Exception {
+		RateLimitStore.Limit slow = new RateLimitStore.Limit(1, Duration.ofMinutes(1));
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, 0);
+		store.tryConsume("draining", slow);
+		store.tryConsume("refilled", THREE_PER_100_MS);
+		Thread.sleep(120);
+
+		assertEquals(0, store.tryConsume("new", THREE_PER_100_MS));
+
+		assertEquals(2, store.size());
+		assertTrue(store.tryConsume("draining", slow) > 0);
+	}
+
+	@Test
+	void fullMapOfDrainingBucketsRefusesNewKeysInsteadOfResettingOldOnes() {
+		RateLimitStore.Limit slow = new RateLimitStore.Limit(1, Duration.ofMinutes(1));
+		InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, 1000);
+		store.tryConsume("first", slow);
+		store.tryConsume("second", slow);
+
+		assertEquals(Duration.ofMinutes(1).toMillis(), store.tryConsume("third", slow));
+
+		assertEquals(2, store.size());
+		assertTrue(store.tryConsume("first", slow) > 0);
+		assertTrue(store.tryConsume("second", slow) > 0);
+	}
+}
@@ -0,0 +1,118 @@
+package com.campus.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.repository.UserRepository;
+
+class JwtAuthenticationFilterTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+	private TokenVersionRegistry tokenVersions;
+	private JwtAuthenticationFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=");
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+		tokenProvider.init();
+		when(userRepository.findBumpedTokenVersions()).thenReturn(List.of());
+		tokenVersions = new TokenVersionRegistry(userRepository);
+		tokenVersions.afterPropertiesSet();
+		filter = new JwtAuthenticationFilter(tokenProvider, tokenVersions);
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void authenticatesFromClaimsWithoutReadingUsers() throws Exception {
+		User user = user(Role.STAFF, 0);
+
+		Authentication authentication = authenticate(tokenProvider.generateToken(user));
+
+		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+		assertEquals(user.getId(), principal.getId());
+		assertEquals(user.getEmail(), principal.getUsername());
+		assertEquals(Role.STAFF, principal.getUser().getRole());
+		assertEquals("ROLE_STAFF", authentication.getAuthorities().iterator().next().getAuthority());
+		verify(userRepository).findBumpedTokenVersions();
+		verifyNoMoreInteractions(userRepository);
+	}
+
+	@Test
+	void rejectsTokensIssuedBeforeAVersionBump() throws Exception {
+		User user = user(Role.STUDENT, 0);
+		String oldToken = tokenProvider.generateToken(user);
+
+		user.setTokenVersion(1);
+		tokenVersions.bumped(user.getId(), 1);
+
+		assertNull(authenticate(oldToken));
+		assertEquals(user.getId(), ((UserPrincipal) authenticate(tokenProvider.generateToken(user)).getPrincipal()).getId());
+	}
+
+	@Test
+	void versionsBumpedBeforeStartupAreLoaded() throws Exception {
+		User user = user(Role.STUDENT, 0);
+		String oldToken = tokenProvider.generateToken(user);
+		when(userRepository.findBumpedTokenVersions()).thenReturn(List.of(new Bumped(user.getId(), 2)));
+		TokenVersionRegistry restarted = new TokenVersionRegistry(userRepository);
+		restarted.afterPropertiesSet();
+		filter = new JwtAuthenticationFilter(tokenProvider, restarted);
+
+		assertNull(authenticate(oldToken));
+	}
+
+	@Test
+	void ignoresTamperedTokens() throws Exception {
+		String token = tokenProvider.generateToken(user(Role.STUDENT, 0));
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertNull(authenticate(tampered));
+	}
+
+	private Authentication authenticate(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/my");
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	private static User user(Role role, int tokenVersion) {
+		User user = User.builder()
+				.email(UUID.randomUUID() + "@campus.test")
+				.role(role)
+				.tokenVersion(tokenVersion)
+				.build();
+		user.setId(UUID.randomUUID());
+		return user;
+	}
+
+	private record Bumped(UUID getId, int getVersion) implements com.campus.repository.projection.IdVersion {
+	}
+}
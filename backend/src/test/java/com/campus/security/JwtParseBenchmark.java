@@ -0,0 +1,82 @@
+package com.campus.security;
+
+import java.security.Key;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.campus.entity.User;
+import com.campus.enums.Role;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Per-request token handling in the authentication filter: the old path built a
+ * parser for every call and parsed the token twice (validate, then read the subject);
+ * the current one parses once with the provider's shared parser. Both use the same
+ * pre-computed key, as the old provider did. Not part of the test run; start it with
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) com.campus.security.JwtParseBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class JwtParseBenchmark {
+
+	private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+
+	private JwtTokenProvider tokenProvider;
+	private Key key;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+		tokenProvider.init();
+		key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
+		User user = User.builder()
+				.email("student@campus.test")
+				.role(Role.STUDENT)
+				.build();
+		user.setId(UUID.randomUUID());
+		token = tokenProvider.generateToken(user);
+	}
+
+	@Benchmark
+	public String perCallParserParsedTwice() {
+		Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+	}
+
+	@Benchmark
+	public Object sharedParserParsedOnce() {
+		Claims claims = tokenProvider.parseClaims(token);
+		return claims.get(JwtTokenProvider.CLAIM_USER_ID);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtParseBenchmark.class.getSimpleName()).build()).run();
+	}
+}
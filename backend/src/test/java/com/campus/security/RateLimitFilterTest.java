@@ -0,0 +1,172 @@
+package com.campus.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class RateLimitFilterTest {
+
+	private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000, 1000);
+	private final RateLimitFilter filter = new RateLimitFilter(store, JsonMapper.builder().build(), new MockEnvironment()
+			.withProperty("app.rate-limit.login.capacity", "2")
+			.withProperty("app.rate-limit.login.refill-period-ms", "60000"));
+
+	@Test
+	void requestsOverTheLimitGet429WithRetryAfter() throws Exception {
+		assertEquals(200, login("10.0.0.1", "a@campus.test").getStatus());
+		assertEquals(200, login("10.0.0.1", "a@campus.test").getStatus());
+
+		MockHttpServletResponse rejected = login("10.0.0.1", "a@campus.test");
+
+		assertEquals(429, rejected.getStatus());
+		long retryAfter = Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+		assertTrue(retryAfter > 0 && retryAfter <= 60, "Retry-After was " + retryAfter);
+		assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+	}
+
+	@Test
+	void sameAccountIsLimitedAcrossAddresses() throws Exception {
+		login("10.0.0.1", "b@campus.test");
+		login("10.0.0.2", "B@campus.test ");
+
+		assertEquals(429, login("10.0.0.3", "b@campus.test").getStatus());
+		assertEquals(200, login("10.0.0.3", "c@campus.test").getStatus());
+	}
+
+	@Test
+	void controllerStillReadsTheWholeBody() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		String body = json("d@campus.test");
+
+		filter.doFilter(loginRequest("10.0.0.1", body), new MockHttpServletResponse(), chain);
+
+		assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void announcedOversizedBodyIsNotReadAndKeyedByAddressOnly() throws Exception {
+		String padding = "x".repeat(10_000);
+		MockHttpServletRequest request = loginRequest("10.0.0.4", json("e@campus.test", padding));
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertSame(request, chain.getRequest());
+		// The account key was never charged, so another address can still use it twice
+		assertEquals(200, login("10.0.0.5", "e@campus.test").getStatus());
+		assertEquals(200, login("10.0.0.5", "e@campus.test").getStatus());
+	}
+
+	@Test
+	void unannouncedOversizedBodyIsReplayedInFullAndKeyedByAddressOnly() throws Exception {
+		String body = json("f@campus.test", "y".repeat(10_000));
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(chunked(loginRequest("10.0.0.6", body)), new MockHttpServletResponse(), chain);
+
+		assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+		assertEquals(200, login("10.0.0.7", "f@campus.test").getStatus());
+		assertEquals(200, login("10.0.0.7", "f@campus.test").getStatus());
+	}
+
+	@Test
+	void readListenerGetsTheBufferedBody() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		String body = json("g@campus.test");
+		filter.doFilter(loginRequest("10.0.0.8", body), new MockHttpServletResponse(), chain);
+
+		ServletInputStream input = chain.getRequest().getInputStream();
+		List<String> events = new ArrayList<>();
+		StringBuilder read = new StringBuilder();
+		input.setReadListener(new ReadListener() {
+			@Override
+			public void onDataAvailable() throws IOException {
+				events.add("data");
+				while (input.isReady() && !input.isFinished()) {
+					int next = input.read();
+					if (next >= 0) {
+						read.append((char) next);
+					}
+				}
+			}
+
+			@Override
+			public void onAllDataRead() {
+				events.add("done");
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				events.add("error");
+			}
+		});
+
+		assertEquals(List.of("data", "done"), events);
+		assertEquals(body, read.toString());
+	}
+
+	@Test
+	void otherEndpointsAreNotFiltered() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/my");
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertSame(request, chain.getRequest());
+	}
+
+	private MockHttpServletResponse login(String address, String email) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(loginRequest(address, json(email)), response, new MockFilterChain());
+		return response;
+	}
+
+	private static MockHttpServletRequest loginRequest(String address, String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setRemoteAddr(address);
+		request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	private static HttpServletRequest chunked(MockHttpServletRequest request) {
+		return new HttpServletRequestWrapper(request) {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+
+			@Override
+			public int getContentLength() {
+				return -1;
+			}
+		};
+	}
+
+	private static String json(String email) {
+		return json(email, "");
+	}
+
+	private static String json(String email, String padding) {
+		return "{\"email\":\"" + email + "\",\"password\":\"secret" + padding + "\"}";
+	}
+}
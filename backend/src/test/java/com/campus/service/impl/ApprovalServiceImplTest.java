@@ -0,0 +1,270 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.dto.request.BulkDecisionRequest;
+import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.BulkDecisionResponse;
+import com.campus.dto.response.BulkDecisionResultResponse;
+import com.campus.entity.Booking;
+import com.campus.entity.User;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.ApprovalTransition;
+import com.campus.enums.BookingDecision;
+import com.campus.enums.DecisionStatus;
+import com.campus.enums.Role;
+import com.campus.enums.VisibilityType;
+import com.campus.exception.BadRequestException;
+import com.campus.exception.ConflictException;
+import com.campus.exception.ResourceNotFoundException;
+import com.campus.repository.BookingRepository;
+import com.campus.service.ApprovalService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+class ApprovalServiceImplTest extends IntegrationTestSupport {
+
+	// Spied so a test can commit a competing change just before the bulk update runs
+	@MockitoSpyBean
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApprovalService approvalService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void advisorApprovesAStudentBookingToPendingAdmin() {
+		User staff = user(Role.STAFF);
+		Booking booking = booking(user(Role.STUDENT, staff.getId()), ApprovalStage.PENDING_STAFF);
+		signIn(staff);
+
+		BookingResponse response = approvalService.staffApprove(booking.getId());
+
+		assertEquals(ApprovalStage.PENDING_ADMIN, response.getApprovalStage());
+		assertEquals(staff.getId(), response.getStaffApprovedBy());
+		assertNotNull(response.getStaffApprovedAt());
+		assertEquals(VisibilityType.PRIVATE, response.getVisibility());
+	}
+
+	@Test
+	void advisorRejectsAStudentBooking() {
+		User staff = user(Role.STAFF);
+		Booking booking = booking(user(Role.STUDENT, staff.getId()), ApprovalStage.PENDING_STAFF);
+		signIn(staff);
+
+		BookingResponse response = approvalService.staffReject(booking.getId());
+
+		assertEquals(ApprovalStage.REJECTED, response.getApprovalStage());
+		assertNull(response.getStaffApprovedBy());
+	}
+
+	@Test
+	void onlyTheAssignedAdvisorDecidesForAStudent() {
+		Booking booking = booking(user(Role.STUDENT, user(Role.STAFF).getId()), ApprovalStage.PENDING_STAFF);
+		signIn(user(Role.STAFF));
+
+		ConflictException error = assertThrows(ConflictException.class, () -> approvalService.staffApprove(booking.getId()));
+		assertEquals("Only the assigned advisor can approve this booking", error.getMessage());
+		assertEquals(ApprovalStage.PENDING_STAFF, stageOf(booking));
+	}
+
+	@Test
+	void adminApprovesAStaffBookingAsStaffOnly() {
+		Booking booking = booking(user(Role.STAFF), ApprovalStage.PENDING_ADMIN);
+		User admin = user(Role.ADMIN);
+		signIn(admin);
+
+		BookingResponse response = approvalService.adminApprove(booking.getId());
+
+		assertEquals(ApprovalStage.APPROVED_STAFF_ONLY, response.getApprovalStage());
+		assertEquals(VisibilityType.STAFF_ONLY, response.getVisibility());
+		assertEquals(admin.getId(), response.getAdminApprovedBy());
+	}
+
+	@Test
+	void adminApprovesAStudentBookingPublicly() {
+		Booking booking = booking(user(Role.STUDENT, user(Role.STAFF).getId()), ApprovalStage.PENDING_ADMIN);
+		signIn(user(Role.ADMIN));
+
+		BookingResponse response = approvalService.adminApprove(booking.getId());
+
+		assertEquals(ApprovalStage.APPROVED, response.getApprovalStage());
+		assertEquals(VisibilityType.PUBLIC, response.getVisibility());
+	}
+
+	@Test
+	void adminRejects() {
+		Booking booking = booking(user(Role.STAFF), ApprovalStage.PENDING_ADMIN);
+		signIn(user(Role.ADMIN));
+
+		assertEquals(ApprovalStage.REJECTED, approvalService.adminReject(booking.getId()).getApprovalStage());
+	}
+
+	@Test
+	void transitionsOnlyLeaveTheirOwnStage() {
+		User staff = user(Role.STAFF);
+		Booking pendingStaff = booking(user(Role.STUDENT, staff.getId()), ApprovalStage.PENDING_STAFF);
+		Booking approved = booking(user(Role.STAFF), ApprovalStage.APPROVED);
+
+		signIn(user(Role.ADMIN));
+		assertEquals("Booking is not pending admin approval",
+				assertThrows(ConflictException.class, () -> approvalService.adminApprove(pendingStaff.getId())).getMessage());
+		assertThrows(ConflictException.class, () -> approvalService.adminReject(approved.getId()));
+
+		signIn(staff);
+		assertEquals("Booking is not pending staff approval",
+				assertThrows(ConflictException.class, () -> approvalService.staffReject(approved.getId())).getMessage());
+	}
+
+	@Test
+	void eachTransitionBelongsToOneRole() {
+		Booking pendingStaff = booking(user(Role.STUDENT), ApprovalStage.PENDING_STAFF);
+		Booking pendingAdmin = booking(user(Role.STAFF), ApprovalStage.PENDING_ADMIN);
+
+		signIn(user(Role.ADMIN));
+		assertThrows(ConflictException.class, () -> approvalService.staffApprove(pendingStaff.getId()));
+		signIn(user(Role.STAFF));
+		assertThrows(ConflictException.class, () -> approvalService.adminApprove(pendingAdmin.getId()));
+		signIn(user(Role.STUDENT));
+		assertThrows(ConflictException.class, () -> approvalService.staffReject(pendingStaff.getId()));
+
+		assertEquals(ApprovalStage.PENDING_STAFF, stageOf(pendingStaff));
+		assertEquals(ApprovalStage.PENDING_ADMIN, stageOf(pendingAdmin));
+	}
+
+	@Test
+	void unknownBookingIsNotFound() {
+		signIn(user(Role.ADMIN));
+
+		assertThrows(ResourceNotFoundException.class, () -> approvalService.adminApprove(UUID.randomUUID()));
+	}
+
+	@Test
+	void onlyAppliedTransitionsAreCounted() {
+		Booking booking = booking(user(Role.STAFF), ApprovalStage.PENDING_ADMIN);
+		signIn(user(Role.ADMIN));
+		double staffOnly = transitions(ApprovalTransition.ADMIN_APPROVE_STAFF_BOOKING);
+		double publicApprovals = transitions(ApprovalTransition.ADMIN_APPROVE);
+
+		approvalService.adminApprove(booking.getId());
+		assertThrows(ConflictException.class, () -> approvalService.adminApprove(booking.getId()));
+
+		assertEquals(staffOnly + 1, transitions(ApprovalTransition.ADMIN_APPROVE_STAFF_BOOKING));
+		assertEquals(publicApprovals, transitions(ApprovalTransition.ADMIN_APPROVE));
+	}
+
+	@Test
+	void bulkDecisionReportsEachBookingOnItsOwn() {
+		User staff = user(Role.STAFF);
+		Booking advisee = booking(user(Role.STUDENT, staff.getId()), ApprovalStage.PENDING_STAFF);
+		Booking otherAdvisors = booking(user(Role.STUDENT, user(Role.STAFF).getId()), ApprovalStage.PENDING_STAFF);
+		Booking alreadyApproved = booking(user(Role.STUDENT, staff.getId()), ApprovalStage.PENDING_ADMIN);
+		UUID missing = UUID.randomUUID();
+		signIn(staff);
+
+		BulkDecisionResponse response = approvalService.staffDecideAll(
+				decision(BookingDecision.APPROVE, advisee.getId(), otherAdvisors.getId(), alreadyApproved.getId(), missing));
+
+		assertEquals(4, response.getRequestedCount());
+		assertEquals(1, response.getAppliedCount());
+		assertEquals(List.of(DecisionStatus.APPLIED, DecisionStatus.CONFLICT, DecisionStatus.CONFLICT, DecisionStatus.NOT_FOUND),
+				response.getResults().stream().map(BulkDecisionResultResponse::getStatus).toList());
+		assertEquals(ApprovalStage.PENDING_ADMIN, response.getResults().get(0).getBooking().getApprovalStage());
+		assertEquals(ApprovalStage.PENDING_ADMIN, stageOf(advisee));
+		assertEquals(ApprovalStage.PENDING_STAFF, stageOf(otherAdvisors));
+	}
+
+	@Test
+	void bulkDecisionReportsRowsAnotherDecisionMovedFirst() {
+		Booking first = booking(user(Role.STAFF), ApprovalStage.PENDING_ADMIN);
+		Booking raced = booking(user(Role.STUDENT), ApprovalStage.PENDING_ADMIN);
+		Booking last = booking(user(Role.STUDENT), ApprovalStage.PENDING_ADMIN);
+		TransactionTemplate competitor = new TransactionTemplate(transactionManager);
+		competitor.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		doAnswer(invocation -> {
+			competitor.executeWithoutResult(status -> {
+				Booking booking = bookingRepository.findById(raced.getId()).orElseThrow();
+				booking.setApprovalStage(ApprovalStage.REJECTED);
+				bookingRepository.save(booking);
+			});
+			// Repositories are interface proxies: the spy's default answer delegates to the real one
+			return mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+		}).when(bookingRepository).transitionAll(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+		signIn(user(Role.ADMIN));
+
+		BulkDecisionResponse response = approvalService.adminDecideAll(
+				decision(BookingDecision.REJECT, first.getId(), raced.getId(), last.getId()));
+
+		assertEquals(2, response.getAppliedCount());
+		assertEquals(List.of(DecisionStatus.APPLIED, DecisionStatus.CONFLICT, DecisionStatus.APPLIED),
+				response.getResults().stream().map(BulkDecisionResultResponse::getStatus).toList());
+		assertEquals("Booking was changed concurrently, please try again", response.getResults().get(1).getMessage());
+	}
+
+	@Test
+	void bulkDecisionOverTheCapIsABadRequest() {
+		signIn(user(Role.ADMIN));
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			ids.add(UUID.randomUUID());
+		}
+
+		assertThrows(BadRequestException.class,
+				() -> approvalService.adminDecideAll(decision(BookingDecision.APPROVE, ids.toArray(UUID[]::new))));
+	}
+
+	private static BulkDecisionRequest decision(BookingDecision decision, UUID... ids) {
+		BulkDecisionRequest request = new BulkDecisionRequest();
+		request.setDecision(decision);
+		request.setBookingIds(List.of(ids));
+		return request;
+	}
+
+	private double transitions(ApprovalTransition transition) {
+		Counter counter = meterRegistry.find("campus.booking.transitions").tag("transition", transition.name()).counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private ApprovalStage stageOf(Booking booking) {
+		return bookingRepository.findById(booking.getId()).orElseThrow().getApprovalStage();
+	}
+
+	private Booking booking(User owner, ApprovalStage stage) {
+		return bookingRepository.save(Booking.builder()
+				.userId(owner.getId())
+				.resourceId(resource().getId())
+				.bookingDate(LocalDate.now().plusDays(10))
+				.startTime(LocalTime.of(9, 0))
+				.endTime(LocalTime.of(10, 0))
+				.durationHours(1)
+				.approvalStage(stage)
+				.visibility(VisibilityType.PRIVATE)
+				.build());
+	}
+}
@@ -0,0 +1,91 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.dto.request.ForgotPasswordRequest;
+import com.campus.dto.request.ResetPasswordRequest;
+import com.campus.dto.request.VerifyOtpRequest;
+import com.campus.entity.OtpToken;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.exception.ConflictException;
+import com.campus.repository.OtpTokenRepository;
+import com.campus.service.AuthService;
+
+class AuthServiceImplTest extends IntegrationTestSupport {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private OtpTokenRepository otpTokenRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void resetWithoutALiveMatchingCodeChangesNothing() {
+		User student = withPhone(user(Role.STUDENT));
+		String code = sendOtp(student);
+		String wrong = code.equals("000000") ? "000001" : "000000";
+
+		assertThrows(ConflictException.class, () -> authService.resetPassword(reset(student, wrong)));
+
+		User after = userRepository.findById(student.getId()).orElseThrow();
+		assertEquals("unused", after.getPassword());
+		assertEquals(student.getTokenVersion(), after.getTokenVersion());
+		assertEquals(1, otpToken(student).getAttempts());
+	}
+
+	@Test
+	void checkedCodeIsRedeemedByTheResetExactlyOnce() {
+		User student = withPhone(user(Role.STUDENT));
+		String code = sendOtp(student);
+
+		VerifyOtpRequest verify = new VerifyOtpRequest();
+		verify.setPhone(student.getPhone());
+		verify.setOtp(code);
+		authService.verifyOtp(verify);
+		authService.resetPassword(reset(student, code));
+
+		User after = userRepository.findById(student.getId()).orElseThrow();
+		assertTrue(passwordEncoder.matches("new-password", after.getPassword()));
+		assertEquals(student.getTokenVersion() + 1, after.getTokenVersion());
+		assertThrows(ConflictException.class, () -> authService.resetPassword(reset(student, code)));
+	}
+
+	private User withPhone(User user) {
+		user.setPhone(String.format("8%09d", ThreadLocalRandom.current().nextInt(1_000_000_000)));
+		return userRepository.save(user);
+	}
+
+	private String sendOtp(User user) {
+		ForgotPasswordRequest request = new ForgotPasswordRequest();
+		request.setPhone(user.getPhone());
+		authService.sendOtp(request);
+		return otpToken(user).getOtp();
+	}
+
+	private OtpToken otpToken(User user) {
+		return otpTokenRepository.findAll().stream()
+				.filter(token -> token.getPhone().equals(user.getPhone()))
+				.findFirst().orElseThrow();
+	}
+
+	private static ResetPasswordRequest reset(User user, String otp) {
+		ResetPasswordRequest request = new ResetPasswordRequest();
+		request.setPhone(user.getPhone());
+		request.setOtp(otp);
+		request.setNewPassword("new-password");
+		return request;
+	}
+}
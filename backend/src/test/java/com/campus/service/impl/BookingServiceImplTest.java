@@ -0,0 +1,348 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.dto.request.CreateBookingRequest;
+import com.campus.dto.request.CreateRecurringBookingRequest;
+import com.campus.dto.response.BookingResponse;
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.dto.response.OccurrenceResultResponse;
+import com.campus.dto.response.RecurringBookingResponse;
+import com.campus.entity.Booking;
+import com.campus.entity.Resource;
+import com.campus.entity.User;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.OccurrenceStatus;
+import com.campus.enums.RecurrenceFrequency;
+import com.campus.enums.Role;
+import com.campus.enums.VisibilityType;
+import com.campus.exception.BadRequestException;
+import com.campus.exception.ConflictException;
+import com.campus.repository.BookingRepository;
+import com.campus.service.BookingService;
+
+class BookingServiceImplTest extends IntegrationTestSupport {
+
+	private static final int CONCURRENT_CREATES = 100;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void cursorPagesWalkEveryBookingNewestFirstIncludingTies() {
+		User student = user(Role.STUDENT);
+		List<Booking> bookings = insertWithTies(student, resource(), 5);
+		signIn(student);
+
+		List<UUID> walked = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageResponse<BookingResponse> page = bookingService.getMyBookingsPage(cursor, 2);
+			page.getItems().forEach(response -> walked.add(response.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		List<UUID> expected = bookingService.getMyBookings().stream().map(BookingResponse::getId).toList();
+		assertEquals(bookings.size(), walked.size());
+		assertEquals(expected, walked);
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		User student = user(Role.STUDENT);
+		insertWithTies(student, resource(), 2);
+		signIn(student);
+
+		CursorPageResponse<BookingResponse> page = bookingService.getMyBookingsPage(null, 2);
+
+		assertEquals(2, page.getItems().size());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void invalidCursorIsABadRequest() {
+		signIn(user(Role.STUDENT));
+
+		assertThrows(BadRequestException.class, () -> bookingService.getMyBookingsPage("not-a-cursor", 10));
+	}
+
+	@Test
+	void exportWritesEveryBookingOncePerLine() throws Exception {
+		List<Booking> bookings = insertWithTies(user(Role.STUDENT), resource(), 4);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bookingService.exportAllBookings(out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals(bookingRepository.count(), lines.size());
+		for (Booking booking : bookings) {
+			assertEquals(1, lines.stream().filter(line -> line.contains(booking.getId().toString())).count());
+		}
+	}
+
+	@Test
+	void weeklySeriesExpandsToEveryMatchingDate() {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate start = LocalDate.now().plusDays(14);
+		signIn(student);
+
+		RecurringBookingResponse response = bookingService.createRecurringBooking(
+				recurring(resource, start, start.plusDays(20), RecurrenceFrequency.WEEKLY, 9, 10));
+
+		assertEquals(List.of(start, start.plusDays(7), start.plusDays(14)), dates(response));
+		assertEquals(3, response.getRequestedCount());
+		assertEquals(3, response.getCreatedCount());
+		response.getOccurrences().forEach(occurrence -> {
+			assertEquals(OccurrenceStatus.CREATED, occurrence.getStatus());
+			assertNotNull(occurrence.getBooking());
+		});
+		assertEquals(3, bookingsOf(student).size());
+	}
+
+	@Test
+	void dailySeriesIncludesTheUntilDate() {
+		User student = user(Role.STUDENT);
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate start = LocalDate.now().plusDays(40);
+		signIn(student);
+
+		RecurringBookingResponse response = bookingService.createRecurringBooking(
+				recurring(resource(), start, start.plusDays(2), RecurrenceFrequency.DAILY, 9, 10));
+
+		assertEquals(List.of(start, start.plusDays(1), start.plusDays(2)), dates(response));
+	}
+
+	@Test
+	void seriesLongerThanTheCapIsRejectedWhole() {
+		User student = user(Role.STUDENT);
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate start = LocalDate.now().plusDays(1);
+		signIn(student);
+
+		// Default cap is 60 occurrences; 61 daily dates is one too many
+		assertThrows(ConflictException.class, () -> bookingService.createRecurringBooking(
+				recurring(resource(), start, start.plusDays(60), RecurrenceFrequency.DAILY, 9, 10)));
+		assertEquals(0, bookingsOf(student).size());
+	}
+
+	@Test
+	void seriesAtTheCapIsAccepted() {
+		User staff = user(Role.STAFF);
+		policy(Role.STAFF, 10, 1000, 20, 2000);
+		LocalDate start = LocalDate.now().plusDays(1);
+		signIn(staff);
+
+		RecurringBookingResponse response = bookingService.createRecurringBooking(
+				recurring(resource(), start, start.plusDays(59), RecurrenceFrequency.DAILY, 14, 15));
+
+		assertEquals(60, response.getRequestedCount());
+	}
+
+	@Test
+	void invalidSeriesCreatesNothing() {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate start = LocalDate.now().plusDays(21);
+		signIn(student);
+
+		// Overlapping the lunch break fails the series as a whole, not per occurrence
+		assertThrows(ConflictException.class, () -> bookingService.createRecurringBooking(
+				recurring(resource, start, start.plusDays(3), RecurrenceFrequency.DAILY, 11, 13)));
+		assertThrows(ConflictException.class, () -> bookingService.createRecurringBooking(
+				recurring(resource, start, start.minusDays(1), RecurrenceFrequency.DAILY, 9, 10)));
+		assertEquals(0, bookingsOf(student).size());
+	}
+
+	@Test
+	void conflictsAndQuotaAreReportedPerOccurrence() {
+		User staff = user(Role.STAFF);
+		Resource resource = resource();
+		policy(Role.STAFF, 10, 3, 20, 200);
+		LocalDate start = LocalDate.now().plusMonths(2).withDayOfMonth(1);
+		insertOn(user(Role.STUDENT), resource, start.plusDays(1), 9, 10);
+		signIn(staff);
+
+		RecurringBookingResponse response = bookingService.createRecurringBooking(
+				recurring(resource, start, start.plusDays(4), RecurrenceFrequency.DAILY, 9, 10));
+
+		assertEquals(List.of(OccurrenceStatus.CREATED, OccurrenceStatus.CONFLICT, OccurrenceStatus.CREATED,
+				OccurrenceStatus.CREATED, OccurrenceStatus.LIMIT_EXCEEDED),
+				response.getOccurrences().stream().map(OccurrenceResultResponse::getStatus).toList());
+		assertEquals(3, response.getCreatedCount());
+		assertEquals(Stream.of(0, 2, 3).map(start::plusDays).toList(),
+				bookingsOf(staff).stream().map(Booking::getBookingDate).sorted().toList());
+	}
+
+	@Test
+	void concurrentCreatesForOneSlotStoreExactlyOneBooking() throws Exception {
+		Resource resource = resource();
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate date = LocalDate.now().plusDays(30);
+		List<User> students = new ArrayList<>();
+		for (int i = 0; i < CONCURRENT_CREATES; i++) {
+			students.add(user(Role.STUDENT));
+		}
+
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> runs = new ArrayList<>();
+		for (User student : students) {
+			runs.add(pool.submit(() -> {
+				signIn(student);
+				try {
+					start.await();
+					bookingService.createBooking(request(resource, date, 9, 10));
+					created.incrementAndGet();
+				} catch (ConflictException e) {
+					conflicts.incrementAndGet();
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> run : runs) {
+			run.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertEquals(1, created.get());
+		assertEquals(CONCURRENT_CREATES - 1, conflicts.get());
+		assertEquals(1, bookingRepository.findByResourceIdAndBookingDateAndApprovalStageNotIn(
+				resource.getId(), date, List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED)).size());
+	}
+
+	@Test
+	void bookingTheOccupancyIndexHasNotSeenIsStillAConflict() {
+		Resource resource = resource();
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate date = LocalDate.now().plusDays(31);
+		// Saved straight through the repository, as a booking made through another node would be
+		insertOn(user(Role.STAFF), resource, date, 9, 11);
+		User student = user(Role.STUDENT);
+		signIn(student);
+
+		assertThrows(ConflictException.class, () -> bookingService.createBooking(request(resource, date, 10, 11)));
+		assertEquals(0, bookingsOf(student).size());
+	}
+
+	@Test
+	void createInsideACallersTransactionIsRejected() {
+		Resource resource = resource();
+		signIn(user(Role.STUDENT));
+
+		// Admission has to be taken before a transaction holds a connection
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status ->
+				bookingService.createBooking(request(resource, LocalDate.now().plusDays(32), 9, 10))));
+	}
+
+	private static CreateBookingRequest request(Resource resource, LocalDate date, int startHour, int endHour) {
+		CreateBookingRequest request = new CreateBookingRequest();
+		request.setResourceId(resource.getId());
+		request.setBookingDate(date);
+		request.setStartTime(LocalTime.of(startHour, 0));
+		request.setEndTime(LocalTime.of(endHour, 0));
+		return request;
+	}
+
+	private static CreateRecurringBookingRequest recurring(Resource resource, LocalDate startDate, LocalDate untilDate,
+			RecurrenceFrequency frequency, int startHour, int endHour) {
+		CreateRecurringBookingRequest request = new CreateRecurringBookingRequest();
+		request.setResourceId(resource.getId());
+		request.setStartDate(startDate);
+		request.setUntilDate(untilDate);
+		request.setFrequency(frequency);
+		request.setStartTime(LocalTime.of(startHour, 0));
+		request.setEndTime(LocalTime.of(endHour, 0));
+		return request;
+	}
+
+	private static List<LocalDate> dates(RecurringBookingResponse response) {
+		return response.getOccurrences().stream().map(OccurrenceResultResponse::getBookingDate).toList();
+	}
+
+	private List<Booking> bookingsOf(User user) {
+		return bookingRepository.findAll().stream()
+				.filter(booking -> booking.getUserId().equals(user.getId()))
+				.toList();
+	}
+
+	private Booking insertOn(User user, Resource resource, LocalDate date, int startHour, int endHour) {
+		return bookingRepository.save(Booking.builder()
+				.userId(user.getId())
+				.resourceId(resource.getId())
+				.bookingDate(date)
+				.startTime(LocalTime.of(startHour, 0))
+				.endTime(LocalTime.of(endHour, 0))
+				.durationHours(endHour - startHour)
+				.approvalStage(ApprovalStage.PENDING_STAFF)
+				.visibility(VisibilityType.PRIVATE)
+				.build());
+	}
+
+	/**
+	 * Insert bookings whose first three share one createdAt, so paging has to break
+	 * ties on the id.
+	 */
+	private List<Booking> insertWithTies(User user, Resource resource, int count) {
+		LocalDate day = LocalDate.now().plusDays(3);
+		Instant tie = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+		List<Booking> bookings = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Booking booking = bookingRepository.save(Booking.builder()
+					.userId(user.getId())
+					.resourceId(resource.getId())
+					.bookingDate(day)
+					.startTime(LocalTime.of(8 + i, 0))
+					.endTime(LocalTime.of(9 + i, 0))
+					.durationHours(1)
+					.approvalStage(ApprovalStage.PENDING_STAFF)
+					.visibility(VisibilityType.PRIVATE)
+					.build());
+			if (i < 3) {
+				booking.setCreatedAt(tie);
+				booking = bookingRepository.save(booking);
+			}
+			bookings.add(booking);
+		}
+		return bookings;
+	}
+}
@@ -0,0 +1,84 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.entity.OtpToken;
+import com.campus.repository.OtpTokenRepository;
+import com.campus.service.OtpStore.Result;
+
+class DatabaseOtpStoreTest extends IntegrationTestSupport {
+
+	@Autowired
+	private DatabaseOtpStore otpStore;
+
+	@Autowired
+	private OtpTokenRepository otpTokenRepository;
+
+	@Test
+	void concurrentWrongGuessesAreEachCounted() throws Exception {
+		String phone = phone();
+		otpStore.save(phone, "123456", Instant.now().plusSeconds(300));
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Result>> guesses = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			String guess = String.format("%06d", i);
+			guesses.add(pool.submit(() -> {
+				start.await();
+				return otpStore.check(phone, guess);
+			}));
+		}
+		start.countDown();
+		for (Future<Result> guess : guesses) {
+			guess.get();
+		}
+		pool.shutdown();
+
+		OtpToken token = otpTokenRepository.findAll().stream()
+				.filter(candidate -> candidate.getPhone().equals(phone))
+				.findFirst().orElseThrow();
+		assertEquals(5, token.getAttempts());
+		assertEquals(Result.LOCKED, otpStore.verify(phone, "123456"));
+	}
+
+	@Test
+	void purgeDeletesExpiredTokensChunkByChunk() {
+		String phone = phone();
+		for (int i = 0; i < 5; i++) {
+			otpStore.save(phone, "12345" + i, Instant.now().minusSeconds(60));
+		}
+		otpStore.save(phone, "999999", Instant.now().plusSeconds(300));
+		ReflectionTestUtils.setField(otpStore, "purgeChunkSize", 2);
+		try {
+			otpStore.purgeExpired();
+		} finally {
+			ReflectionTestUtils.setField(otpStore, "purgeChunkSize", 1000);
+		}
+
+		List<OtpToken> left = otpTokenRepository.findAll().stream()
+				.filter(token -> token.getPhone().equals(phone))
+				.toList();
+		assertEquals(1, left.size());
+		assertTrue(left.get(0).getExpiresAt().isAfter(Instant.now()));
+	}
+
+	private static String phone() {
+		return String.format("9%09d", ThreadLocalRandom.current().nextInt(1_000_000_000));
+	}
+}
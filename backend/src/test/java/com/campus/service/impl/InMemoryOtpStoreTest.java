@@ -0,0 +1,101 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.campus.service.OtpStore.Result;
+
+class InMemoryOtpStoreTest {
+
+	// 10 ms ticks on a 4-slot wheel: one turn is 40 ms
+	private final InMemoryOtpStore store = new InMemoryOtpStore(10, 4, 3);
+
+	@Test
+	void codeIsDroppedOnceTheWheelPassesItsTick() throws Exception {
+		store.save("100", "123456", inMillis(30));
+		store.advance();
+		assertEquals(1, store.size());
+
+		Thread.sleep(60);
+		store.advance();
+
+		assertEquals(0, store.size());
+		assertEquals(Result.MISSING, store.verify("100", "123456"));
+	}
+
+	@Test
+	void codeDueInALaterTurnSurvivesPassesOverItsSlot() throws Exception {
+		store.save("200", "123456", inMillis(300));
+
+		// Several full turns go by, each visiting the code's slot
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(30);
+			store.advance();
+		}
+		assertEquals(1, store.size());
+
+		Thread.sleep(250);
+		store.advance();
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void replacingACodeIsNotUndoneByTheOldCodesSlot() throws Exception {
+		store.save("300", "111111", inMillis(20));
+		store.save("300", "222222", inMillis(500));
+
+		Thread.sleep(60);
+		store.advance();
+
+		assertEquals(1, store.size());
+		assertEquals(Result.MISMATCH, store.check("300", "111111"));
+		assertEquals(Result.VERIFIED, store.verify("300", "222222"));
+	}
+
+	@Test
+	void longPauseStillExpiresEverythingDue() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			store.save("4" + i, "123456", inMillis(10 + i * 7L));
+		}
+
+		Thread.sleep(400);
+		store.advance();
+
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void expiredCodeIsRejectedBeforeTheWheelCatchesUp() throws Exception {
+		store.save("500", "123456", inMillis(20));
+
+		Thread.sleep(40);
+
+		assertEquals(Result.MISSING, store.verify("500", "123456"));
+	}
+
+	@Test
+	void checkKeepsTheCodeAndVerifyConsumesIt() {
+		store.save("600", "123456", inMillis(60_000));
+
+		assertEquals(Result.VERIFIED, store.check("600", "123456"));
+		assertEquals(Result.VERIFIED, store.verify("600", "123456"));
+		assertEquals(Result.MISSING, store.verify("600", "123456"));
+	}
+
+	@Test
+	void wrongGuessesLockTheCode() {
+		store.save("700", "123456", inMillis(60_000));
+
+		assertEquals(Result.MISMATCH, store.check("700", "000000"));
+		assertEquals(Result.MISMATCH, store.verify("700", "000001"));
+		assertEquals(Result.LOCKED, store.verify("700", "000002"));
+		assertEquals(Result.LOCKED, store.verify("700", "123456"));
+	}
+
+	private static Instant inMillis(long millis) {
+		return Instant.now().plusMillis(millis);
+	}
+}
@@ -0,0 +1,81 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.campus.entity.BookingPolicy;
+import com.campus.enums.Role;
+import com.campus.exception.ResourceNotFoundException;
+import com.campus.mapper.BookingPolicyMapper;
+import com.campus.repository.BookingPolicyRepository;
+import com.campus.service.UsageLedgerService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PolicyServiceImplTest {
+
+	private final BookingPolicyRepository repository = mock(BookingPolicyRepository.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final PolicyServiceImpl service = new PolicyServiceImpl(repository, mock(UsageLedgerService.class),
+			mock(BookingPolicyMapper.class), registry);
+
+	@Test
+	void loadedPoliciesAreServedFromTheSnapshot() {
+		when(repository.findAll()).thenReturn(List.of(policy(Role.STUDENT, 2)));
+		service.loadPolicies();
+
+		BookingPolicy first = service.getPolicy(Role.STUDENT);
+		BookingPolicy second = service.getPolicy(Role.STUDENT);
+
+		assertEquals(2, first.getMaxBookingsPerDay());
+		assertSame(first, second);
+		verify(repository, times(1)).findAll();
+		assertEquals(2, count("hit"));
+		assertEquals(0, count("miss"));
+	}
+
+	@Test
+	void lookupBeforeTheStartupLoadRefreshesOnce() {
+		when(repository.findAll()).thenReturn(List.of(policy(Role.STAFF, 5)));
+
+		assertEquals(5, service.getPolicy(Role.STAFF).getMaxBookingsPerDay());
+		assertEquals(5, service.getPolicy(Role.STAFF).getMaxBookingsPerDay());
+
+		verify(repository, times(1)).findAll();
+		assertEquals(1, count("miss"));
+		assertEquals(1, count("hit"));
+	}
+
+	@Test
+	void roleWithoutAPolicyIsAnsweredWithoutQuerying() {
+		when(repository.findAll()).thenReturn(List.of(policy(Role.STUDENT, 2)));
+		service.loadPolicies();
+
+		for (int i = 0; i < 3; i++) {
+			assertThrows(ResourceNotFoundException.class, () -> service.getPolicy(Role.ADMIN));
+		}
+
+		verify(repository, times(1)).findAll();
+	}
+
+	private double count(String result) {
+		return registry.get("campus.policy.cache").tag("result", result).counter().count();
+	}
+
+	private static BookingPolicy policy(Role role, int maxBookingsPerDay) {
+		return BookingPolicy.builder()
+				.role(role)
+				.maxBookingsPerDay(maxBookingsPerDay)
+				.isUnlimited(false)
+				.build();
+	}
+}
@@ -0,0 +1,129 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.entity.RefreshToken;
+import com.campus.entity.User;
+import com.campus.enums.Role;
+import com.campus.repository.RefreshTokenRepository;
+import com.campus.service.RefreshTokenService.Rotation;
+
+class RefreshTokenServiceImplTest extends IntegrationTestSupport {
+
+	@Autowired
+	private RefreshTokenServiceImpl refreshTokenService;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Test
+	void rotationHandsOutTheNextTokenOfTheFamily() {
+		User student = user(Role.STUDENT);
+		String first = refreshTokenService.issue(student);
+
+		Rotation second = refreshTokenService.rotate(first);
+		Rotation third = refreshTokenService.rotate(second.refreshToken());
+
+		assertEquals(student.getId(), third.user().getId());
+		assertNotEquals(first, second.refreshToken());
+		assertNotEquals(second.refreshToken(), third.refreshToken());
+		List<RefreshToken> tokens = tokensOf(student);
+		assertEquals(3, tokens.size());
+		assertEquals(1, tokens.stream().map(RefreshToken::getFamilyId).distinct().count());
+		assertEquals(2, tokens.stream().filter(token -> token.getUsedAt() != null).count());
+	}
+
+	@Test
+	void replayingARotatedTokenRevokesTheWholeFamily() {
+		User student = user(Role.STUDENT);
+		String first = refreshTokenService.issue(student);
+		String second = refreshTokenService.rotate(first).refreshToken();
+
+		assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(first));
+
+		assertTrue(tokensOf(student).stream().allMatch(token -> token.getRevokedAt() != null));
+		assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(second));
+	}
+
+	@Test
+	void replayRevokesOnlyItsOwnFamily() {
+		User student = user(Role.STUDENT);
+		String laptop = refreshTokenService.issue(student);
+		String phone = refreshTokenService.issue(student);
+		refreshTokenService.rotate(laptop);
+
+		assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(laptop));
+
+		assertNotNull(refreshTokenService.rotate(phone).refreshToken());
+	}
+
+	@Test
+	void expiredTokenIsRejectedWithoutBeingConsumed() {
+		User student = user(Role.STUDENT);
+		String raw = refreshTokenService.issue(student);
+		RefreshToken expired = tokensOf(student).get(0);
+		expired.setExpiresAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+		refreshTokenRepository.save(expired);
+
+		BadCredentialsException rejected = assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(raw));
+
+		assertEquals("Refresh token expired", rejected.getMessage());
+		RefreshToken after = refreshTokenRepository.findById(expired.getId()).orElseThrow();
+		assertNull(after.getUsedAt());
+		assertNull(after.getRevokedAt());
+	}
+
+	@Test
+	void purgeDropsExpiredAndLongRevokedTokensButKeepsLiveAndUsedOnes() {
+		User student = user(Role.STUDENT);
+		String used = refreshTokenService.issue(student);
+		refreshTokenService.rotate(used);
+		String revoked = refreshTokenService.issue(student);
+		refreshTokenService.revoke(revoked);
+		refreshTokenService.issue(student);
+
+		Instant longAgo = Instant.now().minus(2, ChronoUnit.DAYS);
+		RefreshToken expired = refreshTokenRepository.save(RefreshToken.builder()
+				.tokenHash(UUID.randomUUID().toString().replace("-", ""))
+				.userId(student.getId())
+				.familyId(UUID.randomUUID())
+				.tokenVersion(student.getTokenVersion())
+				.expiresAt(longAgo)
+				.build());
+		tokensOf(student).stream()
+				.filter(token -> token.getRevokedAt() != null)
+				.forEach(token -> {
+					token.setRevokedAt(longAgo);
+					refreshTokenRepository.save(token);
+				});
+
+		refreshTokenService.purge();
+
+		List<RefreshToken> left = tokensOf(student);
+		assertEquals(3, left.size());
+		assertTrue(left.stream().noneMatch(token -> token.getId().equals(expired.getId())));
+		assertTrue(left.stream().allMatch(token -> token.getRevokedAt() == null));
+		assertEquals(1, left.stream().filter(token -> token.getUsedAt() != null).count());
+	}
+
+	private List<RefreshToken> tokensOf(User user) {
+		return refreshTokenRepository.findAll().stream()
+				.filter(token -> token.getUserId().equals(user.getId()))
+				.toList();
+	}
+}
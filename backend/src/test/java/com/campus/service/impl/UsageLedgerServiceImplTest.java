@@ -0,0 +1,140 @@
+package com.campus.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.campus.IntegrationTestSupport;
+import com.campus.dto.request.CreateBookingRequest;
+import com.campus.dto.response.BookingResponse;
+import com.campus.entity.Booking;
+import com.campus.entity.Resource;
+import com.campus.entity.User;
+import com.campus.enums.ApprovalStage;
+import com.campus.enums.Role;
+import com.campus.enums.VisibilityType;
+import com.campus.repository.BookingRepository;
+import com.campus.repository.projection.BookingUsage;
+import com.campus.service.ApprovalService;
+import com.campus.service.BookingService;
+import com.campus.service.UsageLedgerService;
+import com.campus.service.UsageLedgerService.Totals;
+import com.campus.service.UsageLedgerService.UsageSnapshot;
+
+class UsageLedgerServiceImplTest extends IntegrationTestSupport {
+
+	private static final List<ApprovalStage> EXCLUDED_STAGES = List.of(ApprovalStage.REJECTED, ApprovalStage.CANCELLED);
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ApprovalService approvalService;
+
+	@Autowired
+	private UsageLedgerService usageLedgerService;
+
+	@Test
+	void aggregateMatchesCountingRowByRow() {
+		User student = user(Role.STUDENT);
+		Resource resource = resource();
+		LocalDate day = LocalDate.now().plusMonths(1).withDayOfMonth(10);
+		insert(student, resource, day, 9, 11, ApprovalStage.PENDING_STAFF);
+		insert(student, resource, day, 13, 14, ApprovalStage.APPROVED);
+		insert(student, resource, day, 14, 16, ApprovalStage.REJECTED);
+		insert(student, resource, day.plusDays(3), 9, 12, ApprovalStage.PENDING_ADMIN);
+		insert(student, resource, day.plusDays(4), 10, 11, ApprovalStage.CANCELLED);
+		insert(student, resource, day.plusMonths(1), 9, 10, ApprovalStage.APPROVED);
+		insert(user(Role.STUDENT), resource, day, 10, 11, ApprovalStage.APPROVED);
+
+		for (LocalDate date : List.of(day, day.plusDays(3), day.plusDays(4), day.plusMonths(1))) {
+			YearMonth month = YearMonth.from(date);
+			BookingUsage usage = bookingRepository.usageByUserForDateAndRange(student.getId(), date, month.atDay(1), month.atEndOfMonth(), EXCLUDED_STAGES);
+
+			List<Booking> active = bookingRepository.findAll().stream()
+					.filter(booking -> booking.getUserId().equals(student.getId()))
+					.filter(booking -> !EXCLUDED_STAGES.contains(booking.getApprovalStage()))
+					.toList();
+			List<Booking> sameDay = active.stream().filter(booking -> booking.getBookingDate().equals(date)).toList();
+			List<Booking> sameMonth = active.stream().filter(booking -> YearMonth.from(booking.getBookingDate()).equals(month)).toList();
+
+			assertEquals(sameDay.size(), usage.getBookingsDay(), "bookings on " + date);
+			assertEquals(hours(sameDay), usage.getHoursDay(), "hours on " + date);
+			assertEquals(sameMonth.size(), usage.getBookingsRange(), "bookings in " + month);
+			assertEquals(hours(sameMonth), usage.getHoursRange(), "hours in " + month);
+		}
+	}
+
+	@Test
+	void ledgerSeedsFromExistingBookingsAndFollowsCreateAndReject() {
+		User staff = user(Role.STAFF);
+		User student = user(Role.STUDENT, staff.getId());
+		Resource resource = resource();
+		policy(Role.STUDENT, 10, 100, 20, 200);
+		LocalDate day = LocalDate.now().plusDays(2);
+		// Written before the ledger has a row for this user
+		insert(student, resource, day, 9, 10, ApprovalStage.PENDING_STAFF);
+
+		assertEquals(new Totals(1, 1), readDay(student, day));
+
+		signIn(student);
+		BookingResponse created = bookingService.createBooking(request(resource, day, 13, 15));
+		assertEquals(new Totals(2, 3), readDay(student, day));
+		assertEquals(aggregateMonth(student, day), readMonth(student, day));
+
+		signIn(staff);
+		approvalService.staffReject(created.getId());
+		assertEquals(new Totals(1, 1), readDay(student, day));
+		assertEquals(aggregateMonth(student, day), readMonth(student, day));
+	}
+
+	private Totals readDay(User user, LocalDate date) {
+		return usageLedgerService.readUsage(user.getId(), date).day(date);
+	}
+
+	private Totals readMonth(User user, LocalDate date) {
+		UsageSnapshot usage = usageLedgerService.readUsage(user.getId(), date);
+		return usage.month(YearMonth.from(date));
+	}
+
+	private Totals aggregateMonth(User user, LocalDate date) {
+		YearMonth month = YearMonth.from(date);
+		BookingUsage usage = bookingRepository.usageByUserForDateAndRange(user.getId(), date, month.atDay(1), month.atEndOfMonth(), EXCLUDED_STAGES);
+		return new Totals(usage.getBookingsRange(), usage.getHoursRange());
+	}
+
+	private static long hours(List<Booking> bookings) {
+		return bookings.stream().mapToLong(Booking::getDurationHours).sum();
+	}
+
+	private static CreateBookingRequest request(Resource resource, LocalDate date, int startHour, int endHour) {
+		CreateBookingRequest request = new CreateBookingRequest();
+		request.setResourceId(resource.getId());
+		request.setBookingDate(date);
+		request.setStartTime(LocalTime.of(startHour, 0));
+		request.setEndTime(LocalTime.of(endHour, 0));
+		return request;
+	}
+
+	private Booking insert(User user, Resource resource, LocalDate date, int startHour, int endHour, ApprovalStage stage) {
+		return bookingRepository.save(Booking.builder()
+				.userId(user.getId())
+				.resourceId(resource.getId())
+				.bookingDate(date)
+				.startTime(LocalTime.of(startHour, 0))
+				.endTime(LocalTime.of(endHour, 0))
+				.durationHours(endHour - startHour)
+				.approvalStage(stage)
+				.visibility(VisibilityType.PRIVATE)
+				.build());
+	}
+}
@@ -0,0 +1,174 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.campus.exception.ConflictException;
+import com.campus.util.BookingAdmissionLocks.Admission;
+
+class BookingAdmissionLocksTest {
+
+	private static final int REQUESTS = 5000;
+
+	@Test
+	void thousandsOfConcurrentCreatesForOneSlotAdmitExactlyOne() throws Exception {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(256, 30_000);
+		UUID resourceId = UUID.randomUUID();
+		LocalDate date = LocalDate.now().plusDays(1);
+
+		// Deliberately unsynchronized stand-in for the bookings table
+		List<Integer> bookedSlots = new ArrayList<>();
+		AtomicInteger admitted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		ExecutorService pool = Executors.newFixedThreadPool(200);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(REQUESTS);
+		for (int i = 0; i < REQUESTS; i++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+					try (Admission admission = locks.acquire(resourceId, date)) {
+						if (bookedSlots.contains(9)) {
+							rejected.incrementAndGet();
+						} else {
+							Thread.yield();
+							bookedSlots.add(9);
+							admitted.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		start.countDown();
+		assertTrue(done.await(60, TimeUnit.SECONDS));
+		pool.shutdown();
+
+		assertEquals(1, admitted.get());
+		assertEquals(REQUESTS - 1, rejected.get());
+		assertEquals(List.of(9), bookedSlots);
+	}
+
+	@Test
+	void stripeIsReleasedWhenAdmissionCloses() {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(16, 100);
+		UUID resourceId = UUID.randomUUID();
+		LocalDate date = LocalDate.now();
+
+		try (Admission admission = locks.acquire(resourceId, date)) {
+			assertTrue(locks.stripeFor(resourceId, date).isHeldByCurrentThread());
+		}
+
+		assertFalse(locks.stripeFor(resourceId, date).isLocked());
+	}
+
+	@Test
+	void acquireInsideTransactionIsRejected() {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(16, 100);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			assertThrows(IllegalStateException.class, () -> locks.acquire(UUID.randomUUID(), LocalDate.now()));
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+	}
+
+	@Test
+	void seriesTakeStripesInOneOrderSoOpposingRequestsCannotDeadlock() throws Exception {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(64, 30_000);
+		UUID resourceId = UUID.randomUUID();
+		List<LocalDate> dates = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			dates.add(LocalDate.now().plusDays(i));
+		}
+		List<LocalDate> reversed = new ArrayList<>(dates);
+		Collections.reverse(reversed);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> runs = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			List<LocalDate> order = i % 2 == 0 ? dates : reversed;
+			runs.add(pool.submit(() -> {
+				start.await();
+				try (Admission admission = locks.acquireAll(resourceId, order)) {
+					Thread.yield();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> run : runs) {
+			// A lock-order cycle would hang here until the 30s lock timeout
+			run.get(10, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	void seriesHoldsEveryStripeUntilAdmissionCloses() {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(256, 100);
+		UUID resourceId = UUID.randomUUID();
+		List<LocalDate> dates = List.of(LocalDate.now(), LocalDate.now().plusDays(7), LocalDate.now().plusDays(14));
+
+		try (Admission admission = locks.acquireAll(resourceId, dates)) {
+			dates.forEach(date -> assertTrue(locks.stripeFor(resourceId, date).isHeldByCurrentThread()));
+		}
+
+		dates.forEach(date -> assertFalse(locks.stripeFor(resourceId, date).isLocked()));
+	}
+
+	@Test
+	void timeoutPartWayReleasesTheStripesAlreadyTaken() throws Exception {
+		BookingAdmissionLocks locks = new BookingAdmissionLocks(256, 50);
+		UUID resourceId = UUID.randomUUID();
+		List<LocalDate> dates = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			dates.add(LocalDate.now().plusDays(i));
+		}
+		LocalDate busy = dates.get(5);
+
+		CountDownLatch held = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> {
+			try (Admission admission = locks.acquire(resourceId, busy)) {
+				held.countDown();
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		holder.start();
+		held.await();
+
+		assertThrows(ConflictException.class, () -> locks.acquireAll(resourceId, dates));
+		for (LocalDate date : dates) {
+			if (locks.stripeFor(resourceId, date) != locks.stripeFor(resourceId, busy)) {
+				assertFalse(locks.stripeFor(resourceId, date).isLocked(), date.toString());
+			}
+		}
+		release.countDown();
+		holder.join();
+	}
+}
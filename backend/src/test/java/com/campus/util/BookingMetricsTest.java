@@ -0,0 +1,63 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.campus.enums.ApprovalTransition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingMetricsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final BookingMetrics metrics = new BookingMetrics(registry);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void everyTransitionHasItsCounterFromTheStart() {
+		assertEquals(ApprovalTransition.values().length, registry.find("campus.booking.transitions").counters().size());
+	}
+
+	@Test
+	void transitionsReuseTheirCounter() {
+		ApprovalTransition transition = ApprovalTransition.values()[0];
+		Counter before = counter(transition);
+
+		metrics.transitioned(transition, 2);
+		metrics.transitioned(transition, 3);
+
+		assertSame(before, counter(transition));
+		assertEquals(5, counter(transition).count());
+	}
+
+	@Test
+	void transitionsCountOnlyOnceCommitted() {
+		ApprovalTransition transition = ApprovalTransition.values()[0];
+		TransactionSynchronizationManager.initSynchronization();
+
+		metrics.transitioned(transition, 4);
+		assertEquals(0, counter(transition).count());
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		assertEquals(4, counter(transition).count());
+	}
+
+	private Counter counter(ApprovalTransition transition) {
+		return registry.get("campus.booking.transitions").tag("transition", transition.name()).counter();
+	}
+}
@@ -0,0 +1,115 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.campus.entity.Booking;
+import com.campus.repository.BookingRepository;
+
+class BookingOccupancyIndexTest {
+
+	private static final UUID RESOURCE = UUID.randomUUID();
+	private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+	private final BookingRepository repository = mock(BookingRepository.class);
+	private final BookingOccupancyIndex index = new BookingOccupancyIndex(repository);
+
+	@Test
+	void fallsBackToTheDatabaseUntilRebuilt() {
+		when(repository.existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
+				any(), any(), any(), any(), anyCollection())).thenReturn(true);
+
+		assertTrue(index.isOccupied(RESOURCE, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+		assertEquals(BookingOccupancyIndex.DaySnapshot.UNVERSIONED, index.snapshot(RESOURCE, DATE).version());
+	}
+
+	@Test
+	void answersOverlapsFromTheIndexOnceRebuilt() {
+		loadOnRebuild(booking(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+		index.rebuild();
+
+		assertTrue(index.isOccupied(RESOURCE, DATE, LocalTime.of(11, 0), LocalTime.of(13, 0)));
+		assertFalse(index.isOccupied(RESOURCE, DATE, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+		assertFalse(index.isOccupied(RESOURCE, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+		assertFalse(index.isOccupied(UUID.randomUUID(), DATE, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+		verify(repository, never()).existsByResourceIdAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThanAndApprovalStageNotIn(
+				any(), any(), any(), any(), anyCollection());
+	}
+
+	@Test
+	void releaseFreesOnlyThatBookingAndBumpsTheVersion() {
+		Booking morning = booking(LocalTime.of(9, 0), LocalTime.of(10, 0));
+		Booking late = booking(LocalTime.of(14, 0), LocalTime.of(15, 0));
+		loadOnRebuild(morning, late);
+		index.rebuild();
+		long before = index.snapshot(RESOURCE, DATE).version();
+
+		index.release(morning.getId(), RESOURCE, DATE);
+
+		assertFalse(index.isOccupied(RESOURCE, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+		assertTrue(index.isOccupied(RESOURCE, DATE, LocalTime.of(14, 0), LocalTime.of(15, 0)));
+		assertTrue(index.snapshot(RESOURCE, DATE).version() > before);
+	}
+
+	@Test
+	void bookingCommittedWhileRebuildingIsKept() {
+		Booking loaded = booking(LocalTime.of(9, 0), LocalTime.of(10, 0));
+		Booking concurrent = booking(LocalTime.of(14, 0), LocalTime.of(15, 0));
+		index.rebuild();
+		// The second booking commits after the rebuild query has read the table
+		when(repository.findByBookingDateGreaterThanEqualAndApprovalStageNotIn(any(), anyCollection())).thenAnswer(invocation -> {
+			index.occupy(concurrent);
+			return List.of(loaded);
+		});
+
+		index.rebuild();
+
+		assertTrue(index.isOccupied(RESOURCE, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+		assertTrue(index.isOccupied(RESOURCE, DATE, LocalTime.of(14, 0), LocalTime.of(15, 0)));
+	}
+
+	@Test
+	void releaseDuringRebuildIsReplayed() {
+		Booking cancelled = booking(LocalTime.of(9, 0), LocalTime.of(10, 0));
+		loadOnRebuild(cancelled);
+		index.rebuild();
+		when(repository.findByBookingDateGreaterThanEqualAndApprovalStageNotIn(any(), anyCollection())).thenAnswer(invocation -> {
+			index.release(cancelled.getId(), RESOURCE, DATE);
+			// Read before the cancellation committed
+			return List.of(cancelled);
+		});
+
+		index.rebuild();
+
+		assertFalse(index.isOccupied(RESOURCE, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+	}
+
+	private void loadOnRebuild(Booking... bookings) {
+		when(repository.findByBookingDateGreaterThanEqualAndApprovalStageNotIn(any(), anyCollection())).thenReturn(List.of(bookings));
+	}
+
+	private static Booking booking(LocalTime start, LocalTime end) {
+		Booking booking = Booking.builder()
+				.resourceId(RESOURCE)
+				.bookingDate(DATE)
+				.startTime(start)
+				.endTime(end)
+				.build();
+		booking.setId(UUID.randomUUID());
+		return booking;
+	}
+}
@@ -0,0 +1,64 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.campus.dto.response.CursorPageResponse;
+import com.campus.exception.BadRequestException;
+import com.campus.util.CursorUtil.Cursor;
+
+class CursorUtilTest {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		Instant createdAt = Instant.parse("2026-03-01T10:15:30.123456789Z");
+		UUID id = UUID.randomUUID();
+
+		assertEquals(new Cursor(createdAt, id), CursorUtil.decode(CursorUtil.encode(createdAt, id)));
+	}
+
+	@Test
+	void blankCursorIsTheFirstPage() {
+		assertNull(CursorUtil.decode(null));
+		assertNull(CursorUtil.decode(" "));
+	}
+
+	@Test
+	void malformedCursorsAreBadRequests() {
+		String notBase64 = "%%%";
+		String missingId = Base64.getUrlEncoder().encodeToString("1:2".getBytes(StandardCharsets.UTF_8));
+		String badUuid = Base64.getUrlEncoder().encodeToString("1:2:nope".getBytes(StandardCharsets.UTF_8));
+
+		for (String cursor : List.of(notBase64, missingId, badUuid)) {
+			assertThrows(BadRequestException.class, () -> CursorUtil.decode(cursor), cursor);
+		}
+	}
+
+	@Test
+	void pageSizeDefaultsAndCaps() {
+		assertEquals(CursorUtil.DEFAULT_PAGE_SIZE, CursorUtil.pageSize(null));
+		assertEquals(CursorUtil.DEFAULT_PAGE_SIZE, CursorUtil.pageSize(0));
+		assertEquals(7, CursorUtil.pageSize(7));
+		assertEquals(CursorUtil.MAX_PAGE_SIZE, CursorUtil.pageSize(CursorUtil.MAX_PAGE_SIZE + 1));
+	}
+
+	@Test
+	void extraRowOnlySignalsANextPage() {
+		CursorPageResponse<String> last = CursorUtil.toPage(List.of("a", "b"), 2, row -> "after-" + row);
+		assertEquals(List.of("a", "b"), last.getItems());
+		assertNull(last.getNextCursor());
+
+		CursorPageResponse<String> more = CursorUtil.toPage(List.of("a", "b", "c"), 2, row -> "after-" + row);
+		assertEquals(List.of("a", "b"), more.getItems());
+		assertEquals("after-b", more.getNextCursor());
+	}
+}
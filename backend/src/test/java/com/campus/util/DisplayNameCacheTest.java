@@ -0,0 +1,95 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.campus.repository.ResourceRepository;
+import com.campus.repository.UserRepository;
+import com.campus.repository.projection.IdName;
+
+class DisplayNameCacheTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final ResourceRepository resourceRepository = mock(ResourceRepository.class);
+
+	@Test
+	void servesRepeatLookupsFromTheCache() {
+		DisplayNameCache cache = new DisplayNameCache(userRepository, resourceRepository, 100);
+		UUID id = UUID.randomUUID();
+		when(userRepository.findNamesByIdIn(anyCollection())).thenReturn(List.of(row(id, "Ada")));
+
+		assertEquals(Map.of(id, "Ada"), cache.userNames(List.of(id)));
+		assertEquals(Map.of(id, "Ada"), cache.userNames(List.of(id)));
+
+		verify(userRepository, times(1)).findNamesByIdIn(anyCollection());
+	}
+
+	@Test
+	void evictionDuringABulkLoadKeepsTheLoadedNameOutOfTheCache() {
+		DisplayNameCache cache = new DisplayNameCache(userRepository, resourceRepository, 100);
+		UUID id = UUID.randomUUID();
+		// The rename commits and evicts while the first load is still reading the old name
+		when(userRepository.findNamesByIdIn(anyCollection()))
+				.thenAnswer(invocation -> {
+					cache.evictUser(id);
+					return List.of(row(id, "Old"));
+				})
+				.thenReturn(List.of(row(id, "New")));
+
+		assertEquals(Map.of(id, "Old"), cache.userNames(List.of(id)));
+		assertEquals(Map.of(id, "New"), cache.userNames(List.of(id)));
+	}
+
+	@Test
+	void fullCacheKeepsServingInsteadOfEmptying() {
+		DisplayNameCache cache = new DisplayNameCache(userRepository, resourceRepository, 10);
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			ids.add(UUID.randomUUID());
+		}
+		when(userRepository.findNamesByIdIn(anyCollection())).thenAnswer(invocation -> {
+			List<IdName> rows = new ArrayList<>();
+			for (Object id : invocation.getArgument(0, Collection.class)) {
+				rows.add(row((UUID) id, "name-" + id));
+			}
+			return rows;
+		});
+		UUID hot = ids.get(0);
+
+		for (UUID id : ids) {
+			cache.userNames(List.of(hot));
+			cache.userNames(List.of(id));
+		}
+		int loadsBefore = mockingDetails(userRepository).getInvocations().size();
+		cache.userNames(List.of(hot));
+
+		assertEquals(loadsBefore, mockingDetails(userRepository).getInvocations().size());
+	}
+
+	private static IdName row(UUID id, String name) {
+		return new IdName() {
+			@Override
+			public UUID getId() {
+				return id;
+			}
+
+			@Override
+			public String getName() {
+				return name;
+			}
+		};
+	}
+}
@@ -0,0 +1,116 @@
+package com.campus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class IdGeneratorTest {
+
+	private static final long NOW = 1_760_000_000_000L;
+
+	@Test
+	void idsAreVersion7WithTheRfcVariant() {
+		UUID id = IdGenerator.of("v7").next();
+
+		assertEquals(7, id.version());
+		assertEquals(2, id.variant());
+	}
+
+	@Test
+	void v4GeneratorGivesRandomIds() {
+		UUID id = IdGenerator.of("V4").next();
+
+		assertEquals(4, id.version());
+		assertEquals(2, id.variant());
+	}
+
+	@Test
+	void unknownGeneratorIsRejected() {
+		assertThrows(IllegalStateException.class, () -> IdGenerator.of("v1"));
+	}
+
+	@Test
+	void idsMintedInOneMillisecondAscend() {
+		UuidV7 generator = new UuidV7(() -> NOW);
+
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			ids.add(generator.next());
+		}
+
+		assertAscending(ids);
+		ids.forEach(id -> assertEquals(NOW, millis(id)));
+	}
+
+	@Test
+	void counterOverflowCarriesIntoTheMillisecondField() {
+		UuidV7 generator = new UuidV7(() -> NOW);
+
+		List<UUID> ids = new ArrayList<>();
+		// 4096 counter values fit in one millisecond; the next id borrows the following one
+		for (int i = 0; i < 4097; i++) {
+			ids.add(generator.next());
+		}
+
+		assertEquals(NOW, millis(ids.get(4095)));
+		assertEquals(0xFFF, counter(ids.get(4095)));
+		assertEquals(NOW + 1, millis(ids.get(4096)));
+		assertEquals(0, counter(ids.get(4096)));
+		assertAscending(ids);
+	}
+
+	@Test
+	void clockSteppingBackDoesNotBreakTheOrder() {
+		AtomicLong clock = new AtomicLong(NOW);
+		UuidV7 generator = new UuidV7(clock::get);
+
+		UUID before = generator.next();
+		clock.set(NOW - 5_000);
+		UUID after = generator.next();
+
+		assertAscending(List.of(before, after));
+		assertEquals(NOW, millis(after));
+	}
+
+	@Test
+	void laterMillisecondsSortAfterEarlierOnes() {
+		AtomicLong clock = new AtomicLong(NOW);
+		UuidV7 generator = new UuidV7(clock::get);
+
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			clock.addAndGet(i % 3);
+			ids.add(generator.next());
+		}
+
+		assertAscending(ids);
+	}
+
+	private static long millis(UUID id) {
+		return id.getMostSignificantBits() >>> 16;
+	}
+
+	private static long counter(UUID id) {
+		return id.getMostSignificantBits() & 0xFFF;
+	}
+
+	/**
+	 * Ascending both as text (CHAR storage) and as unsigned bytes (BINARY storage).
+	 */
+	private static void assertAscending(List<UUID> ids) {
+		for (int i = 1; i < ids.size(); i++) {
+			UUID previous = ids.get(i - 1);
+			UUID current = ids.get(i);
+			assertTrue(previous.toString().compareTo(current.toString()) < 0, previous + " before " + current);
+			assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits()) < 0,
+					previous + " before " + current);
+		}
+	}
+}